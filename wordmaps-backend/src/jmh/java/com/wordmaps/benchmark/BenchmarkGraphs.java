@@ -0,0 +1,78 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder;
+import com.wordmaps.service.GraphService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntBinaryOperator;
+
+/** Shipped and synthetic (10x, 100x) word graphs shared by the benchmarks of one fork. */
+final class BenchmarkGraphs {
+
+    private static final long SEED = 42L;
+    private static final Map<Integer, WordGraph> GRAPHS = new ConcurrentHashMap<>();
+
+    private BenchmarkGraphs() {
+    }
+
+    /** The shipped dictionary at {@code scale} 1, or a synthetic one {@code scale} times its size. */
+    static WordGraph graph(int scale) {
+        return GRAPHS.computeIfAbsent(scale, BenchmarkGraphs::load);
+    }
+
+    static List<String> words(int scale) {
+        WordGraph graph = graph(scale);
+        return graph.words(0, graph.vertexCount());
+    }
+
+    private static WordGraph load(int scale) {
+        if (scale == 1) {
+            GraphService service = new GraphService();
+            service.init();
+            return service.getGraph();
+        }
+        WordGraphBuilder builder = new WordGraphBuilder();
+        for (String word : SyntheticDictionary.scale(words(1), scale, SEED)) {
+            builder.addWord(word);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Up to {@code count} random same-length pairs of {@code length}-letter words whose ladder
+     * length, as reported by {@code steps} (-1 when unreachable), lies in {@code [minSteps, maxSteps]}.
+     * If the graph has too few such pairs, the longest reachable ones sampled are used instead.
+     */
+    static String[][] pairs(WordGraph graph, int length, int count, int minSteps, int maxSteps,
+            IntBinaryOperator steps) {
+        Random random = new Random(SEED);
+        int from = graph.firstIdOfLength(length);
+        int size = graph.endIdOfLength(length) - from;
+        List<String[]> matching = new ArrayList<>();
+        List<int[]> fallback = new ArrayList<>();
+        for (int attempt = 0; attempt < 200 * count && matching.size() < count; attempt++) {
+            int origin = from + random.nextInt(size);
+            int destination = from + random.nextInt(size);
+            int distance = steps.applyAsInt(origin, destination);
+            if (distance < 0)
+                continue;
+            if (distance >= minSteps && distance <= maxSteps) {
+                matching.add(new String[] { graph.word(origin), graph.word(destination) });
+            } else {
+                fallback.add(new int[] { distance, origin, destination });
+            }
+        }
+        fallback.sort((a, b) -> Integer.compare(b[0], a[0]));
+        for (int i = 0; matching.size() < count && i < fallback.size(); i++) {
+            matching.add(new String[] { graph.word(fallback.get(i)[1]), graph.word(fallback.get(i)[2]) });
+        }
+        if (matching.isEmpty())
+            throw new IllegalStateException("No reachable " + length + "-letter pairs in graph");
+        return matching.toArray(new String[0][]);
+    }
+}
@@ -0,0 +1,54 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** The {@link ClusterService} calls behind the /graph endpoints. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClusterBenchmark {
+
+    @Param({ "1", "10", "100" })
+    int scale;
+
+    private ClusterService clusterService;
+
+    @Setup
+    public void setUp() {
+        clusterService = new ClusterService(GraphService.of(BenchmarkGraphs.graph(scale)));
+    }
+
+    @Benchmark
+    public Map<String, Object> graphStats() {
+        return clusterService.getGraphStats();
+    }
+
+    @Benchmark
+    public List<String> topConnectedNodes() {
+        return clusterService.getTopConnectedNodes(10);
+    }
+
+    @Benchmark
+    public List<String> isolatedNodes() {
+        return clusterService.getIsolatedNodes();
+    }
+}
@@ -0,0 +1,38 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Full {@link GraphService#init()} of the shipped dictionary, from the snapshot or from the word lists. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DictionaryLoadBenchmark {
+
+    @Param({ "SNAPSHOT", "WORD_LISTS" })
+    String source;
+
+    @Benchmark
+    public WordGraph load() {
+        GraphService service = new GraphService(EdgeBuilder.BUCKET,
+                "SNAPSHOT".equals(source) ? "graph/wordgraph.bin" : "");
+        service.init();
+        return service.getGraph();
+    }
+}
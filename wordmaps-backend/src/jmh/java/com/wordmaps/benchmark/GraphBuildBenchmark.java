@@ -0,0 +1,56 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Edge construction for the words of one length with the default {@link EdgeBuilder#BUCKET} builder. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBuildBenchmark {
+
+    @Param({ "1", "10", "100" })
+    int scale;
+
+    @Param({ "3", "4", "5" })
+    int length;
+
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        WordGraph graph = BenchmarkGraphs.graph(scale);
+        words = graph.words(graph.firstIdOfLength(length), graph.endIdOfLength(length));
+    }
+
+    @Benchmark
+    public WordGraph bucket() {
+        return build(words, EdgeBuilder.BUCKET);
+    }
+
+    static WordGraph build(List<String> words, EdgeBuilder edgeBuilder) {
+        WordGraphBuilder builder = new WordGraphBuilder().edgeBuilder(edgeBuilder);
+        for (String word : words) {
+            builder.addWord(word);
+        }
+        return builder.build();
+    }
+}
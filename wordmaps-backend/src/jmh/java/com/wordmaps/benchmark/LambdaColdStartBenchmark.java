@@ -0,0 +1,35 @@
+package com.wordmaps.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static initialisation of each Lambda handler in a fresh JVM, the work done in a Lambda init
+ * phase. Every fork measures exactly one class initialisation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class LambdaColdStartBenchmark {
+
+    @Param({ "com.wordmaps.config.LambdaHandler", "com.wordmaps.config.LightweightLambdaHandler" })
+    String handlerClass;
+
+    @Benchmark
+    public Class<?> init() throws ClassNotFoundException {
+        return Class.forName(handlerClass);
+    }
+}
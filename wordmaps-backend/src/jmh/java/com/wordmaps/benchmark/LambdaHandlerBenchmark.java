@@ -0,0 +1,72 @@
+package com.wordmaps.benchmark;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm request latency of the Spring Boot {@code LambdaHandler} against
+ * {@code LightweightLambdaHandler}; p99 is among the SampleTime percentiles.
+ * See {@link LambdaColdStartBenchmark} for initialisation.
+ */
+@State(Scope.Benchmark)
+public class LambdaHandlerBenchmark {
+
+    // path, raw query string (read by the Spring handler), decoded parameters (read by the lightweight one)
+    private static final String[][] REQUESTS = {
+            { "/api/routes/fastest", "origin=COLD&destination=WARM", "{\"origin\":\"COLD\",\"destination\":\"WARM\"}" },
+            { "/api/words/cat/neighbors", "", null },
+            { "/api/graph/stats", "", null },
+            { "/api/words/search", "pattern=C%3FT", "{\"pattern\":\"C?T\"}" },
+    };
+
+    @Param({ "com.wordmaps.config.LambdaHandler", "com.wordmaps.config.LightweightLambdaHandler" })
+    String handlerClass;
+
+    private RequestStreamHandler handler;
+    private byte[][] events;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        handler = (RequestStreamHandler) Class.forName(handlerClass).getDeclaredConstructor().newInstance();
+        events = new byte[REQUESTS.length][];
+        for (int i = 0; i < REQUESTS.length; i++) {
+            String[] request = REQUESTS[i];
+            events[i] = ("{\"version\":\"2.0\",\"routeKey\":\"$default\",\"rawPath\":\"" + request[0]
+                    + "\",\"rawQueryString\":\"" + request[1] + "\""
+                    + (request[2] == null ? "" : ",\"queryStringParameters\":" + request[2])
+                    + ",\"headers\":{\"accept\":\"application/json\"}"
+                    + ",\"requestContext\":{\"http\":{\"method\":\"GET\",\"path\":\"/api\",\"sourceIp\":\"127.0.0.1\"},"
+                    + "\"stage\":\"$default\",\"requestId\":\"benchmark\"},\"isBase64Encoded\":false}")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public byte[] request() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+        handler.handleRequest(new ByteArrayInputStream(events[next++ % events.length]), output, null);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edge construction with the original {@link EdgeBuilder#PAIRWISE} comparison. It is quadratic
+ * in the number of words, so the 100x dictionary is left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PairwiseBuildBenchmark {
+
+    @Param({ "1", "10" })
+    int scale;
+
+    @Param({ "3", "4", "5" })
+    int length;
+
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        WordGraph graph = BenchmarkGraphs.graph(scale);
+        words = graph.words(graph.firstIdOfLength(length), graph.endIdOfLength(length));
+    }
+
+    @Benchmark
+    public WordGraph pairwise() {
+        return GraphBuildBenchmark.build(words, EdgeBuilder.PAIRWISE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder;
+import com.wordmaps.service.GraphService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup graph construction on 1, 2 or all ({@code 0}) threads. {@code shipped} is
+ * {@link GraphService#init()} from the word lists (snapshot disabled); {@code synthetic} builds
+ * the ~194k-word synthetic dictionary (scale 50) plus its pattern and landmark indexes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBuildBenchmark {
+
+    @Param({ "1", "2", "0" })
+    int threads;
+
+    private List<String> syntheticWords;
+
+    @Setup
+    public void setUp() {
+        syntheticWords = BenchmarkGraphs.words(50);
+    }
+
+    @Benchmark
+    public WordGraph shipped() {
+        GraphService service = new GraphService(EdgeBuilder.BUCKET, "", threads);
+        service.init();
+        return service.getGraph();
+    }
+
+    @Benchmark
+    public WordGraph synthetic() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = poolSize > 1 ? new ForkJoinPool(poolSize) : null;
+        try {
+            WordGraphBuilder builder = new WordGraphBuilder().forkJoinPool(pool);
+            for (String word : syntheticWords) {
+                builder.addWord(word);
+            }
+            WordGraph graph = builder.build();
+            graph.patternIndex();
+            graph.landmarks();
+            return graph;
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+}
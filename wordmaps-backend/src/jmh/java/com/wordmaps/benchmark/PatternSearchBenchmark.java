@@ -0,0 +1,49 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.service.GraphService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** {@link GraphService#findWordsByPattern} with the positional index and with the regex scan. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternSearchBenchmark {
+
+    private static final String[] PATTERNS = { "C?T", "?O?", "B??D", "??NE", "S??RE", "?A?E?", "????S", "GR?A?" };
+
+    @Param({ "1", "10", "100" })
+    int scale;
+
+    @Param({ "INDEX", "REGEX" })
+    GraphService.SearchMode mode;
+
+    private GraphService graphService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graphService = GraphService.of(BenchmarkGraphs.graph(scale));
+        graphService.getGraph().patternIndex();
+    }
+
+    @Benchmark
+    public List<String> findWordsByPattern() {
+        return graphService.findWordsByPattern(PATTERNS[next++ % PATTERNS.length], 0, mode);
+    }
+}
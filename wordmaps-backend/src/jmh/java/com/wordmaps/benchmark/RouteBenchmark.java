@@ -0,0 +1,75 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Route;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.ShortestPathTreeCache;
+import com.wordmaps.strategy.BFSStrategy;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RouteFinderService#findFastestRoute} end to end, including validation and the
+ * transformation list, for 5-letter pairs grouped by the service's difficulty bands.
+ * The shortest path tree cache is disabled so every call searches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteBenchmark {
+
+    @Param({ "1", "10", "100" })
+    int scale;
+
+    @Param({ "EASY", "MEDIUM", "HARD" })
+    String difficulty;
+
+    private RouteFinderService routeFinderService;
+    private String[][] pairs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        WordGraph graph = BenchmarkGraphs.graph(scale);
+        routeFinderService = new RouteFinderService(GraphService.of(graph), new BidirectionalBfsStrategy(),
+                new ShortestPathTreeCache(0, Integer.MAX_VALUE));
+        BFSStrategy bfs = new BFSStrategy();
+        int minSteps = switch (difficulty) {
+            case "EASY" -> 1;
+            case "MEDIUM" -> 4;
+            default -> 7;
+        };
+        int maxSteps = switch (difficulty) {
+            case "EASY" -> 3;
+            case "MEDIUM" -> 6;
+            default -> Integer.MAX_VALUE;
+        };
+        pairs = BenchmarkGraphs.pairs(graph, 5, 256, minSteps, maxSteps, (origin, destination) -> {
+            List<String> path = bfs.findPath(graph, graph.word(origin), graph.word(destination));
+            return path == null ? -1 : path.size() - 1;
+        });
+    }
+
+    @Benchmark
+    public Route findFastestRoute() {
+        String[] pair = pairs[next++ % pairs.length];
+        return routeFinderService.findFastestRoute(pair[0], pair[1]);
+    }
+}
@@ -0,0 +1,439 @@
+package com.wordmaps.benchmark;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.graph.ComponentIndex;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test of a Lambda handler: replays a seeded mix of fastest-route, neighbors,
+ * search and stats calls as synthetic HTTP API v2 events at a fixed arrival rate, then reports a
+ * latency histogram, throughput and GC activity, writes them as JSON and diffs them against a
+ * previous run.
+ * <p>
+ * Latency is measured from each request's scheduled send time, so time spent queued behind a
+ * slow request counts. Origins follow a Zipf distribution over a seeded shuffle of the 3 to 5
+ * letter words, destinations the same distribution over the words reachable from the origin. With the
+ * default single worker the handler sees one request at a time, as one Lambda instance does.
+ * <p>
+ * Arguments are {@code key=value}; see {@link #DEFAULTS}. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec@loadtest [-Dloadtest.args="rate=200 duration=60"]}.
+ */
+public final class RouteLoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("handler", "com.wordmaps.config.LambdaHandler");
+        DEFAULTS.put("rate", "100"); // requests per second
+        DEFAULTS.put("warmup", "10"); // seconds, not recorded
+        DEFAULTS.put("duration", "30"); // seconds
+        DEFAULTS.put("threads", "1");
+        DEFAULTS.put("mix", "fastest:70,neighbors:15,search:10,stats:5");
+        DEFAULTS.put("skew", "1.1"); // Zipf exponent of origins and destinations
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("out", "target/loadtest-result.json");
+        DEFAULTS.put("baseline", ""); // a previous result to diff against
+    }
+
+    private static final String[] ENDPOINTS = { "fastest", "neighbors", "search", "stats" };
+
+    // Histogram upper bounds in microseconds; the last bucket is unbounded
+    private static final long[] BUCKETS = { 250, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000,
+            200_000, 500_000, 1_000_000, 2_000_000, Long.MAX_VALUE };
+
+    private RouteLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0 || !DEFAULTS.containsKey(arg.substring(0, equals)))
+                throw new IllegalArgumentException("Unknown argument " + arg + "; expected key=value with key in "
+                        + DEFAULTS.keySet());
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        double rate = Double.parseDouble(options.get("rate"));
+        int warmupRequests = (int) (rate * Double.parseDouble(options.get("warmup")));
+        int requests = (int) (rate * Double.parseDouble(options.get("duration")));
+        int threads = Integer.parseInt(options.get("threads"));
+
+        Traffic traffic = new Traffic(options.get("mix"), Double.parseDouble(options.get("skew")),
+                Long.parseLong(options.get("seed")));
+        byte[][] warmupEvents = traffic.events(warmupRequests, null);
+        byte[] endpoints = new byte[requests];
+        byte[][] events = traffic.events(requests, endpoints);
+
+        long initStart = System.nanoTime();
+        RequestStreamHandler handler = (RequestStreamHandler) Class.forName(options.get("handler"))
+                .getDeclaredConstructor().newInstance();
+        System.out.printf("%s initialised in %d ms%n", options.get("handler"),
+                (System.nanoTime() - initStart) / 1_000_000);
+
+        System.out.printf("Warming up: %d requests at %.0f/s%n", warmupRequests, rate);
+        run(handler, warmupEvents, rate, threads, new long[warmupRequests], new int[warmupRequests]);
+
+        System.out.printf("Measuring: %d requests at %.0f/s on %d thread(s)%n", requests, rate, threads);
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        Map<String, long[]> gcBefore = gcCounts();
+        long elapsed = run(handler, events, rate, threads, latencies, statuses);
+        Map<String, long[]> gcAfter = gcCounts();
+
+        Map<String, Object> result = report(options, latencies, statuses, endpoints, elapsed, gcBefore, gcAfter);
+        print(result);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Path out = Path.of(options.get("out"));
+        if (out.getParent() != null)
+            Files.createDirectories(out.getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), result);
+        System.out.println("Result written to " + out);
+        if (!options.get("baseline").isEmpty())
+            diff(mapper.readTree(Path.of(options.get("baseline")).toFile()), mapper.valueToTree(result));
+        System.exit(0); // the Spring context keeps non-daemon threads
+    }
+
+    /**
+     * Sends {@code events[i]} at {@code i / rate} seconds after the start and records its latency
+     * from that instant and its status. Returns the nanoseconds from the start to the last response.
+     */
+    private static long run(RequestStreamHandler handler, byte[][] events, double rate, int threads,
+            long[] latencies, int[] statuses) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long[] finished = new long[events.length];
+        long start = System.nanoTime();
+        for (int i = 0; i < events.length; i++) {
+            long scheduled = start + (long) (i * 1e9 / rate);
+            for (long wait; (wait = scheduled - System.nanoTime()) > 0;) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            workers.execute(() -> {
+                ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+                int status;
+                try {
+                    handler.handleRequest(new ByteArrayInputStream(events[index]), output, null);
+                    status = statusOf(output.toString(StandardCharsets.UTF_8));
+                } catch (IOException | RuntimeException e) {
+                    status = -1;
+                }
+                finished[index] = System.nanoTime();
+                latencies[index] = (finished[index] - scheduled) / 1_000;
+                statuses[index] = status;
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.MINUTES))
+            throw new IllegalStateException("Requests still running after 10 minutes");
+        return events.length == 0 ? 0 : Arrays.stream(finished).max().getAsLong() - start;
+    }
+
+    private static int statusOf(String response) {
+        int at = response.indexOf("\"statusCode\":");
+        if (at < 0)
+            return -1;
+        int from = at + "\"statusCode\":".length();
+        int to = from;
+        while (to < response.length() && Character.isDigit(response.charAt(to))) {
+            to++;
+        }
+        return to == from ? -1 : Integer.parseInt(response.substring(from, to));
+    }
+
+    private static Map<String, long[]> gcCounts() {
+        Map<String, long[]> counts = new TreeMap<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            counts.put(collector.getName(), new long[] { collector.getCollectionCount(), collector.getCollectionTime() });
+        }
+        return counts;
+    }
+
+    private static Map<String, Object> report(Map<String, String> options, long[] latencies, int[] statuses,
+            byte[] endpoints, long elapsedNanos, Map<String, long[]> gcBefore, Map<String, long[]> gcAfter) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options);
+        result.put("requests", latencies.length);
+        result.put("throughput", elapsedNanos == 0 ? 0.0 : latencies.length * 1e9 / elapsedNanos);
+        result.put("latencyMicros", summary(latencies, statuses));
+
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        for (int e = 0; e < ENDPOINTS.length; e++) {
+            int count = 0;
+            for (byte endpoint : endpoints) {
+                if (endpoint == e)
+                    count++;
+            }
+            long[] endpointLatencies = new long[count];
+            int[] endpointStatuses = new int[count];
+            for (int i = 0, j = 0; i < endpoints.length; i++) {
+                if (endpoints[i] == e) {
+                    endpointLatencies[j] = latencies[i];
+                    endpointStatuses[j++] = statuses[i];
+                }
+            }
+            if (count > 0)
+                byEndpoint.put(ENDPOINTS[e], summary(endpointLatencies, endpointStatuses));
+        }
+        result.put("endpoints", byEndpoint);
+
+        long[] counts = new long[BUCKETS.length];
+        for (long latency : latencies) {
+            int bucket = 0;
+            while (latency > BUCKETS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        List<Map<String, Object>> histogram = new ArrayList<>();
+        for (int b = 0; b < BUCKETS.length; b++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("upToMicros", BUCKETS[b] == Long.MAX_VALUE ? null : BUCKETS[b]);
+            bucket.put("count", counts[b]);
+            histogram.add(bucket);
+        }
+        result.put("histogram", histogram);
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        long collections = 0;
+        long millis = 0;
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : gcAfter.entrySet()) {
+            long[] before = gcBefore.getOrDefault(entry.getKey(), new long[2]);
+            long count = entry.getValue()[0] - before[0];
+            long time = entry.getValue()[1] - before[1];
+            collectors.put(entry.getKey(), Map.of("collections", count, "millis", time));
+            collections += count;
+            millis += time;
+        }
+        gc.put("collections", collections);
+        gc.put("millis", millis);
+        gc.put("collectors", collectors);
+        result.put("gc", gc);
+        return result;
+    }
+
+    private static Map<String, Object> summary(long[] latencies, int[] statuses) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        Map<Integer, Integer> byStatus = new TreeMap<>();
+        for (int status : statuses) {
+            byStatus.merge(status, 1, Integer::sum);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        summary.put("mean", sorted.length == 0 ? 0 : Arrays.stream(sorted).sum() / sorted.length);
+        summary.put("p50", percentile(sorted, 0.50));
+        summary.put("p90", percentile(sorted, 0.90));
+        summary.put("p99", percentile(sorted, 0.99));
+        summary.put("p999", percentile(sorted, 0.999));
+        summary.put("max", sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        System.out.printf("%nThroughput: %.1f requests/s%n", (double) result.get("throughput"));
+        System.out.printf("%-10s %7s %9s %9s %9s %9s %9s  %s%n", "endpoint", "count", "p50 us", "p90 us",
+                "p99 us", "p99.9 us", "max us", "statuses");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) result.get("endpoints"));
+        rows.put("all", result.get("latencyMicros"));
+        for (Map.Entry<String, Object> row : rows.entrySet()) {
+            Map<String, Object> s = (Map<String, Object>) row.getValue();
+            System.out.printf("%-10s %7d %9d %9d %9d %9d %9d  %s%n", row.getKey(), s.get("count"), s.get("p50"),
+                    s.get("p90"), s.get("p99"), s.get("p999"), s.get("max"), s.get("statuses"));
+        }
+
+        System.out.println("\nLatency histogram:");
+        List<Map<String, Object>> histogram = (List<Map<String, Object>>) result.get("histogram");
+        long most = histogram.stream().mapToLong(bucket -> (long) bucket.get("count")).max().orElse(1);
+        for (Map<String, Object> bucket : histogram) {
+            Object bound = bucket.get("upToMicros");
+            long count = (long) bucket.get("count");
+            System.out.printf("  %12s %7d %s%n", bound == null ? "> 2 s" : "<= " + bound + " us", count,
+                    "#".repeat((int) (50 * count / Math.max(1, most))));
+        }
+
+        Map<String, Object> gc = (Map<String, Object>) result.get("gc");
+        System.out.printf("%nGC: %d collections, %d ms %s%n", gc.get("collections"), gc.get("millis"),
+                gc.get("collectors"));
+    }
+
+    /** Prints throughput, latency percentiles and GC activity of {@code current} against {@code baseline}. */
+    private static void diff(JsonNode baseline, JsonNode current) {
+        System.out.println("\nAgainst baseline:");
+        line("throughput /s", baseline.path("throughput"), current.path("throughput"));
+        line("gc collections", baseline.path("gc").path("collections"), current.path("gc").path("collections"));
+        line("gc ms", baseline.path("gc").path("millis"), current.path("gc").path("millis"));
+        List<String> rows = new ArrayList<>();
+        current.path("endpoints").fieldNames().forEachRemaining(rows::add);
+        rows.add("all");
+        for (String row : rows) {
+            JsonNode before = row.equals("all") ? baseline.path("latencyMicros") : baseline.path("endpoints").path(row);
+            JsonNode after = row.equals("all") ? current.path("latencyMicros") : current.path("endpoints").path(row);
+            for (String percentile : List.of("p50", "p90", "p99", "max")) {
+                line(row + " " + percentile + " us", before.path(percentile), after.path(percentile));
+            }
+        }
+    }
+
+    private static void line(String label, JsonNode before, JsonNode after) {
+        if (before.isMissingNode() || after.isMissingNode()) {
+            System.out.printf("  %-22s %12s -> %12s%n", label, before.isMissingNode() ? "-" : before.asText(),
+                    after.isMissingNode() ? "-" : after.asText());
+            return;
+        }
+        double a = before.asDouble();
+        double b = after.asDouble();
+        String change = a == 0 ? "" : String.format("%+.1f%%", 100 * (b - a) / a);
+        System.out.printf("  %-22s %12.1f -> %12.1f %8s%n", label, a, b, change);
+    }
+
+    /** Seeded request mix with Zipf-distributed origins and destinations. */
+    private static final class Traffic {
+        private final int[] weights = new int[ENDPOINTS.length];
+        private final int totalWeight;
+        private final Random random;
+        private final List<String> origins;
+        private final double[] originCdf;
+        private final Map<String, List<String>> reachable = new HashMap<>();
+        private final Map<List<String>, double[]> reachableCdf = new IdentityHashMap<>();
+
+        Traffic(String mix, double skew, long seed) {
+            for (String part : mix.split(",")) {
+                String[] entry = part.trim().split(":");
+                int endpoint = Arrays.asList(ENDPOINTS).indexOf(entry[0]);
+                if (entry.length != 2 || endpoint < 0)
+                    throw new IllegalArgumentException("Bad mix entry " + part + "; expected endpoint:weight with "
+                            + "endpoint in " + Arrays.toString(ENDPOINTS));
+                weights[endpoint] = Integer.parseInt(entry[1]);
+            }
+            totalWeight = Arrays.stream(weights).sum();
+            if (totalWeight <= 0)
+                throw new IllegalArgumentException("The mix has no weight: " + mix);
+            random = new Random(seed);
+
+            // The words are loaded outside the handler, so drop the graph before measuring
+            GraphService graphService = new GraphService();
+            graphService.init();
+            WordGraph graph = graphService.getGraph();
+            ComponentIndex components = graph.components();
+            List<String> words = new ArrayList<>();
+            Map<Integer, List<String>> byComponent = new HashMap<>();
+            for (int id = graph.firstIdOfLength(3); id < graph.endIdOfLength(5); id++) {
+                words.add(graph.word(id));
+                byComponent.computeIfAbsent(components.componentOf(id), c -> new ArrayList<>()).add(graph.word(id));
+            }
+            for (List<String> component : byComponent.values()) {
+                Collections.shuffle(component, random);
+                reachableCdf.put(component, zipf(component.size(), skew));
+                for (String word : component) {
+                    reachable.put(word, component);
+                }
+            }
+            Collections.shuffle(words, random);
+            origins = words;
+            originCdf = zipf(words.size(), skew);
+        }
+
+        /** {@code count} events; the endpoint index of each is stored in {@code endpoints} if given. */
+        byte[][] events(int count, byte[] endpoints) {
+            byte[][] events = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                int endpoint = endpoint();
+                if (endpoints != null)
+                    endpoints[i] = (byte) endpoint;
+                String origin = origins.get(sample(originCdf));
+                events[i] = switch (ENDPOINTS[endpoint]) {
+                    case "fastest" -> {
+                        List<String> destinations = reachable.get(origin);
+                        String destination = destinations.get(sample(reachableCdf.get(destinations)));
+                        yield event("/api/routes/fastest", "origin=" + origin + "&destination=" + destination,
+                                "{\"origin\":\"" + origin + "\",\"destination\":\"" + destination + "\"}");
+                    }
+                    case "neighbors" -> event("/api/words/" + origin + "/neighbors", "", null);
+                    case "search" -> {
+                        int blank = random.nextInt(origin.length());
+                        String pattern = origin.substring(0, blank) + "?" + origin.substring(blank + 1);
+                        yield event("/api/words/search", "pattern=" + pattern,
+                                "{\"pattern\":\"" + pattern + "\"}");
+                    }
+                    default -> event("/api/graph/stats", "", null);
+                };
+            }
+            return events;
+        }
+
+        private int endpoint() {
+            int pick = random.nextInt(totalWeight);
+            for (int e = 0; e < weights.length; e++) {
+                pick -= weights[e];
+                if (pick < 0)
+                    return e;
+            }
+            throw new IllegalStateException();
+        }
+
+        private int sample(double[] cdf) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1);
+        }
+
+        /** Cumulative distribution of ranks {@code 0..n-1} with weight {@code 1 / (rank + 1)^skew}. */
+        private static double[] zipf(int n, double skew) {
+            double[] cdf = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cdf[rank] /= sum;
+            }
+            return cdf;
+        }
+
+        // path, raw query string (read by the Spring handler), decoded parameters (read by the lightweight one)
+        private static byte[] event(String path, String query, String parameters) {
+            return ("{\"version\":\"2.0\",\"routeKey\":\"$default\",\"rawPath\":\"" + path
+                    + "\",\"rawQueryString\":\"" + query + "\""
+                    + (parameters == null ? "" : ",\"queryStringParameters\":" + parameters)
+                    + ",\"headers\":{\"accept\":\"application/json\"}"
+                    + ",\"requestContext\":{\"http\":{\"method\":\"GET\",\"path\":\"" + path
+                    + "\",\"sourceIp\":\"127.0.0.1\"},\"stage\":\"$default\",\"requestId\":\"loadtest\"},"
+                    + "\"isBase64Encoded\":false}")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
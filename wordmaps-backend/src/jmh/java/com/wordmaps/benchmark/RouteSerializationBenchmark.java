@@ -0,0 +1,74 @@
+package com.wordmaps.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.config.RouteJsonWriter;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.ShortestPathTreeCache;
+import com.wordmaps.strategy.BFSStrategy;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code /routes/fastest} response body, search included: the Route bean through Jackson
+ * (the previous path) against {@link RouteJsonWriter}. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per request. Every route is answered from a
+ * shortest path tree, so the search itself allocates only the path list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final RouteJsonWriter writer = new RouteJsonWriter();
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private WordGraph graph;
+    private RouteFinderService routeFinderService;
+    private String[][] pairs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.graph(1);
+        routeFinderService = new RouteFinderService(GraphService.of(graph), new BidirectionalBfsStrategy(),
+                new ShortestPathTreeCache(Long.MAX_VALUE, 1));
+        BFSStrategy bfs = new BFSStrategy();
+        pairs = BenchmarkGraphs.pairs(graph, 5, 256, 4, 6, (origin, destination) -> {
+            List<String> path = bfs.findPath(graph, graph.word(origin), graph.word(destination));
+            return path == null ? -1 : path.size() - 1;
+        });
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        String[] pair = pairs[next++ % pairs.length];
+        objectMapper.writeValue(out, routeFinderService.findFastestRoute(pair[0], pair[1]));
+    }
+
+    @Benchmark
+    public void routeJsonWriter() throws IOException {
+        String[] pair = pairs[next++ % pairs.length];
+        writer.write(graph, routeFinderService.findFastestPath(pair[0], pair[1]), out);
+    }
+}
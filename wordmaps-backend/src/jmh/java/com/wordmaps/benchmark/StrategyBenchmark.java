@@ -0,0 +1,69 @@
+package com.wordmaps.benchmark;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.strategy.AStarStrategy;
+import com.wordmaps.strategy.AltStrategy;
+import com.wordmaps.strategy.BFSStrategy;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import com.wordmaps.strategy.DijkstraStrategy;
+import com.wordmaps.strategy.PathFindingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Each {@link PathFindingStrategy} alone on the same reachable 5-letter pairs. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({ "1", "10", "100" })
+    int scale;
+
+    @Param({ "bfs", "bidirectionalBfs", "aStar", "alt", "dijkstra" })
+    String strategy;
+
+    private WordGraph graph;
+    private PathFindingStrategy pathFinder;
+    private String[][] pairs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.graph(scale);
+        pathFinder = switch (strategy) {
+            case "bfs" -> new BFSStrategy();
+            case "bidirectionalBfs" -> new BidirectionalBfsStrategy();
+            case "aStar" -> new AStarStrategy();
+            case "alt" -> new AltStrategy();
+            case "dijkstra" -> new DijkstraStrategy();
+            default -> throw new IllegalArgumentException("Unknown strategy " + strategy);
+        };
+        graph.landmarks();
+        BFSStrategy bfs = new BFSStrategy();
+        pairs = BenchmarkGraphs.pairs(graph, 5, 256, 1, Integer.MAX_VALUE, (origin, destination) -> {
+            List<String> path = bfs.findPath(graph, graph.word(origin), graph.word(destination));
+            return path == null ? -1 : path.size() - 1;
+        });
+    }
+
+    @Benchmark
+    public List<String> findPath() {
+        String[] pair = pairs[next++ % pairs.length];
+        return pathFinder.findPath(graph, pair[0], pair[1]);
+    }
+}
@@ -0,0 +1,47 @@
+package com.wordmaps.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Grows a dictionary to {@code scale} times its size by repeatedly taking a known word and
+ * changing one letter, so the synthetic words keep the letter distribution and ladder density
+ * of the real ones. Each length is capped at half of all possible strings of that length
+ * (8788 for three letters), since a denser list stops resembling a dictionary.
+ */
+final class SyntheticDictionary {
+
+    private SyntheticDictionary() {
+    }
+
+    static List<String> scale(List<String> words, int scale, long seed) {
+        Map<Integer, List<String>> byLength = new TreeMap<>();
+        for (String word : words) {
+            byLength.computeIfAbsent(word.length(), k -> new ArrayList<>()).add(word);
+        }
+
+        Random random = new Random(seed);
+        List<String> result = new ArrayList<>();
+        for (List<String> group : byLength.values()) {
+            int length = group.get(0).length();
+            long target = Math.min((long) group.size() * scale, (long) (Math.pow(26, length) / 2));
+            Set<String> grown = new LinkedHashSet<>(group);
+            List<String> pool = new ArrayList<>(grown);
+            while (grown.size() < target) {
+                char[] letters = pool.get(random.nextInt(pool.size())).toCharArray();
+                letters[random.nextInt(length)] = (char) ('A' + random.nextInt(26));
+                String candidate = new String(letters);
+                if (grown.add(candidate)) {
+                    pool.add(candidate);
+                }
+            }
+            result.addAll(grown);
+        }
+        return result;
+    }
+}
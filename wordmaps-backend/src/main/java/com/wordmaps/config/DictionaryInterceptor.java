@@ -0,0 +1,55 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.service.DictionaryRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Selects the dictionary named by the {@code dict} query parameter for the rest of the request,
+ * loading it on first use, and clears the selection once the response is written. An unknown
+ * name is answered with 400 before the handler runs.
+ */
+@Component
+public class DictionaryInterceptor implements HandlerInterceptor {
+
+    static final String PARAMETER = "dict";
+
+    private final DictionaryRegistry dictionaries;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DictionaryInterceptor(DictionaryRegistry dictionaries, ObjectMapper objectMapper) {
+        this.dictionaries = dictionaries;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        try {
+            dictionaries.select(request.getParameter(PARAMETER));
+            return true;
+        } catch (IllegalArgumentException e) {
+            dictionaries.clearSelection(); // afterCompletion only runs for requests that were let through
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("message", e.getMessage()));
+            return false;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        dictionaries.clearSelection();
+    }
+}
@@ -0,0 +1,186 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.GraphService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * HTTP caching for responses that are a function of the graph serving the request.
+ * <p>
+ * The ETag is the {@link WordGraph#version()} of the graph the caller names, so it changes with
+ * every dictionary update and differs between named dictionaries and ladder modes. It is strong
+ * for bodies fixed by the graph and weak, via {@link #respondWeak}, for bodies that may differ
+ * in detail between equal versions. A matching {@code If-None-Match} is answered with 304 before
+ * the handler runs, so callers check their parameters first. Successful strongly tagged bodies
+ * up to {@code maxEntryBytes} are kept as serialized JSON, keyed by version and request, in
+ * least-recently-used order within {@code maxBytes}; a {@code maxBytes} of 0 disables the byte
+ * cache but keeps the headers. Error responses pass through uncached and without validators.
+ */
+@Component
+public class GraphResponseCache {
+
+    private final GraphService graphService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public GraphResponseCache(GraphService graphService, ObjectMapper objectMapper,
+            @Value("${wordmaps.http.max-age:300}") long maxAgeSeconds,
+            @Value("${wordmaps.http.cache.max-bytes:4194304}") long maxBytes,
+            @Value("${wordmaps.http.cache.max-entry-bytes:16384}") int maxEntryBytes) {
+        this.graphService = graphService;
+        this.objectMapper = objectMapper;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /** As {@link #respond(String, WordGraph, String, Supplier)} on the calling thread's graph. */
+    public ResponseEntity<?> respond(String ifNoneMatch, String key, Supplier<ResponseEntity<?>> handler) {
+        return respond(ifNoneMatch, graphService.getGraph(), key, handler);
+    }
+
+    /**
+     * The response for request {@code key} (its parameters, normalised) on {@code graph}, tagged
+     * with a strong ETag: 304 if {@code ifNoneMatch} holds the current ETag, the cached body if
+     * there is one, and otherwise whatever {@code handler} answers, cached when it succeeds.
+     */
+    public ResponseEntity<?> respond(String ifNoneMatch, WordGraph graph, String key,
+            Supplier<ResponseEntity<?>> handler) {
+        return respond(ifNoneMatch, graph, key, handler, false);
+    }
+
+    /**
+     * As {@link #respond(String, WordGraph, String, Supplier)}, tagged with a weak ETag; the body
+     * may change while the graph stays the same, so it is built afresh every time.
+     */
+    public ResponseEntity<?> respondWeak(String ifNoneMatch, WordGraph graph, String key,
+            Supplier<ResponseEntity<?>> handler) {
+        return respond(ifNoneMatch, graph, key, handler, true);
+    }
+
+    private ResponseEntity<?> respond(String ifNoneMatch, WordGraph graph, String key,
+            Supplier<ResponseEntity<?>> handler, boolean weak) {
+        String etag = (weak ? "W/\"" : "\"") + graph.version() + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        String cacheKey = graph.version() + ' ' + key;
+        byte[] body = weak ? null : get(cacheKey);
+        if (body != null) {
+            hits.increment();
+        } else {
+            ResponseEntity<?> response = handler.get();
+            if (response.getStatusCode() != HttpStatus.OK)
+                return response;
+            misses.increment();
+            body = toBytes(response.getBody());
+            if (!weak) {
+                put(cacheKey, body);
+            }
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /** Whether an {@code If-None-Match} value lists {@code etag} or {@code *}, comparing weakly. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        String opaque = opaqueTag(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = opaqueTag(tag.trim());
+            if (tag.equals("*") || tag.equals(opaque))
+                return true;
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private byte[] toBytes(Object body) {
+        if (body instanceof RoutePath route) {
+            // As RouteJsonMessageConverter writes it; only the default dictionary's encodings are cached
+            return new RouteJsonWriter().toBytes(graphService.isDictionarySelected() ? null : graphService.getGraph(),
+                    route);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    private synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, byte[] body) {
+        if (body.length > maxEntryBytes || body.length > maxBytes)
+            return;
+        byte[] previous = entries.put(key, body);
+        residentBytes += body.length - (previous == null ? 0 : previous.length);
+        Iterator<byte[]> eldest = entries.values().iterator();
+        while (residentBytes > maxBytes) {
+            residentBytes -= eldest.next().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /** Drops every cached body and zeroes the counters. */
+    public synchronized void clear() {
+        entries.clear();
+        residentBytes = 0;
+        hits.reset();
+        misses.reset();
+        notModified.reset();
+        evictions.reset();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cacheControl", cacheControl.getHeaderValue());
+        stats.put("maxBytes", maxBytes);
+        stats.put("maxEntryBytes", maxEntryBytes);
+        stats.put("entries", entries.size());
+        stats.put("residentBytes", residentBytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("notModified", notModified.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+}
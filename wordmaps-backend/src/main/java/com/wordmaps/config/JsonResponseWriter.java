@@ -0,0 +1,115 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RouteAlternatives;
+import com.wordmaps.model.Transformation;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the API's response values with a Jackson streaming generator, in the same shape and
+ * property order the Spring controller produces through data binding, but without building
+ * an ObjectMapper or introspecting beans.
+ */
+final class JsonResponseWriter {
+
+    private JsonResponseWriter() {
+    }
+
+    static void writeValue(JsonGenerator json, Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof String string) {
+            json.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            json.writeNumber(number);
+        } else if (value instanceof Long number) {
+            json.writeNumber(number);
+        } else if (value instanceof Double number) {
+            json.writeNumber(number);
+        } else if (value instanceof int[] array) {
+            json.writeArray(array, 0, array.length);
+        } else if (value instanceof Collection<?> collection) {
+            json.writeStartArray();
+            for (Object item : collection) {
+                writeValue(json, item);
+            }
+            json.writeEndArray();
+        } else if (value instanceof Map<?, ?> map) {
+            json.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                json.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(json, entry.getValue());
+            }
+            json.writeEndObject();
+        } else if (value instanceof Route route) {
+            writeRoute(json, route);
+        } else if (value instanceof RouteAlternatives alternatives) {
+            writeAlternatives(json, alternatives);
+        } else {
+            throw new IllegalArgumentException("No JSON mapping for " + value.getClass().getName());
+        }
+    }
+
+    static void writeRoute(JsonGenerator json, Route route) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("origin", route.getOrigin());
+        json.writeStringField("destination", route.getDestination());
+        json.writeFieldName("path");
+        writeValue(json, route.getPath());
+        json.writeNumberField("steps", route.getSteps());
+        json.writeStringField("routeType", route.getRouteType());
+        json.writeStringField("difficulty", route.getDifficulty());
+        json.writeFieldName("transformations");
+        List<Transformation> transformations = route.getTransformations();
+        if (transformations == null) {
+            json.writeNull();
+        } else {
+            json.writeStartArray();
+            for (Transformation transformation : transformations) {
+                writeTransformation(json, transformation);
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeTransformation(JsonGenerator json, Transformation transformation) throws IOException {
+        if (transformation == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject();
+        json.writeStringField("from", transformation.getFrom());
+        json.writeStringField("to", transformation.getTo());
+        json.writeNumberField("stepNumber", transformation.getStepNumber());
+        json.writeStringField("description", transformation.getDescription());
+        json.writeEndObject();
+    }
+
+    private static void writeAlternatives(JsonGenerator json, RouteAlternatives alternatives) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("origin", alternatives.getOrigin());
+        json.writeStringField("destination", alternatives.getDestination());
+        json.writeNumberField("requested", alternatives.getRequested());
+        json.writeBooleanField("complete", alternatives.isComplete());
+        json.writeNumberField("expandedNodes", alternatives.getExpandedNodes());
+        json.writeFieldName("routes");
+        if (alternatives.getRoutes() == null) {
+            json.writeNull();
+        } else {
+            json.writeStartArray();
+            for (Route route : alternatives.getRoutes()) {
+                writeRoute(json, route);
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+}
@@ -20,7 +20,7 @@ public class LambdaHandler implements RequestStreamHandler {
             // Initialize the handler with the main Spring Boot application class
             // Use V2 handler for HTTP API default payload
             handler = SpringBootLambdaContainerHandler.getHttpApiV2ProxyHandler(WordMapsApplication.class);
-            // Optimization: Activate SnapStart if available
+            // SnapStart: the PrimingResource bean created with the context warms it up before the snapshot
         } catch (ContainerInitializationException e) {
             // Re-throw the exception to force the Cold Start to fail if something goes
             // wrong
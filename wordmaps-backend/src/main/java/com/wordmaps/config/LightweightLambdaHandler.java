@@ -0,0 +1,169 @@
+package com.wordmaps.config;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphAnalyticsService;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.RouteMetrics;
+import com.wordmaps.service.ShortestPathTreeCache;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lambda entry point that serves the read-only API without a Spring context.
+ * <p>
+ * The services are wired by hand with their default settings, the API Gateway event (HTTP API
+ * payload 2.0, or 1.0) is read with a streaming parser and the proxy response is written
+ * straight to the output stream. Requests it does not serve (e.g. POST /api/routes/batch)
+ * get a 404 and need {@link LambdaHandler}. Select it in template.yaml with
+ * {@code HandlerMode=lightweight}. A {@link PrimingResource} warms it up before a SnapStart snapshot.
+ */
+public class LightweightLambdaHandler implements RequestStreamHandler {
+
+    // The Lambda runtime owns the streams, so parsers and generators must not close them
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final LightweightRouter ROUTER;
+    private static final PrimingResource PRIMING; // strong reference: the CRaC context only keeps weak ones
+
+    static {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        ShortestPathTreeCache treeCache = new ShortestPathTreeCache();
+        RouteMetrics routeMetrics = new RouteMetrics(new SimpleMeterRegistry());
+        RouteFinderService routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy(),
+                treeCache, routeMetrics);
+        ClusterService clusterService = new ClusterService(graphService);
+        AlternativeRouteService alternativeRouteService = new AlternativeRouteService(routeFinderService,
+                graphService, 10, 200_000, 250);
+        GraphAnalyticsService graphAnalyticsService = new GraphAnalyticsService(graphService);
+        ROUTER = new LightweightRouter(graphService, routeFinderService, clusterService, alternativeRouteService,
+                graphAnalyticsService);
+        PRIMING = new PrimingResource(graphService, routeFinderService, alternativeRouteService, clusterService,
+                treeCache, graphAnalyticsService, routeMetrics, null, 2000);
+        PRIMING.register();
+    }
+
+    @Override
+    public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+            throws IOException {
+        Map<String, Object> event = readEvent(inputStream);
+        LightweightRouter.Response response = ROUTER.route(method(event), path(event), query(event));
+        writeResponse(outputStream, response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readEvent(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON.createParser(inputStream)) {
+            Object event = readValue(parser, parser.nextToken());
+            return event instanceof Map ? (Map<String, Object>) event : Collections.emptyMap();
+        }
+    }
+
+    private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == null)
+            return null;
+        switch (token) {
+            case START_OBJECT -> {
+                Map<String, Object> object = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    object.put(name, readValue(parser, parser.nextToken()));
+                }
+                return object;
+            }
+            case START_ARRAY -> {
+                List<Object> array = new ArrayList<>();
+                JsonToken next;
+                while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    array.add(readValue(parser, next));
+                }
+                return array;
+            }
+            case VALUE_STRING -> {
+                return parser.getText();
+            }
+            case VALUE_TRUE, VALUE_FALSE -> {
+                return parser.getBooleanValue();
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                return parser.getNumberValue();
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /** {@code requestContext.http.method} in payload 2.0, {@code httpMethod} in 1.0. */
+    private static String method(Map<String, Object> event) {
+        if (event.get("requestContext") instanceof Map<?, ?> requestContext
+                && requestContext.get("http") instanceof Map<?, ?> http
+                && http.get("method") instanceof String method)
+            return method;
+        return event.get("httpMethod") instanceof String method ? method : "GET";
+    }
+
+    private static String path(Map<String, Object> event) {
+        if (event.get("rawPath") instanceof String rawPath)
+            return rawPath;
+        return event.get("path") instanceof String path ? path : "/";
+    }
+
+    private static Map<String, String> query(Map<String, Object> event) {
+        Map<String, String> query = new HashMap<>();
+        if (event.get("queryStringParameters") instanceof Map<?, ?> parameters) {
+            for (Map.Entry<?, ?> entry : parameters.entrySet()) {
+                if (entry.getValue() != null) {
+                    query.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+                }
+            }
+        }
+        return query;
+    }
+
+    private static void writeResponse(OutputStream outputStream, LightweightRouter.Response response)
+            throws IOException {
+        String body = "";
+        if (response.body() != null) {
+            StringWriter buffer = new StringWriter();
+            try (JsonGenerator json = JSON.createGenerator(buffer)) {
+                JsonResponseWriter.writeValue(json, response.body());
+            }
+            body = buffer.toString();
+        }
+
+        try (JsonGenerator json = JSON.createGenerator(outputStream)) {
+            json.writeStartObject();
+            json.writeNumberField("statusCode", response.status());
+            json.writeObjectFieldStart("headers");
+            json.writeStringField("Content-Type", "application/json");
+            json.writeStringField("Access-Control-Allow-Origin", "*");
+            json.writeEndObject();
+            json.writeBooleanField("isBase64Encoded", false);
+            json.writeStringField("body", body);
+            json.writeEndObject();
+        }
+    }
+}
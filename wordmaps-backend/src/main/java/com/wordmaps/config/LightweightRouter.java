@@ -0,0 +1,155 @@
+package com.wordmaps.config;
+
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.model.Puzzle;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RouteAlternatives;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphAnalyticsService;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+
+import java.util.Map;
+
+/**
+ * Plain-Java request dispatch for the read-only API, mirroring RouteController's paths, status
+ * codes and error bodies. Used by {@link LightweightLambdaHandler}.
+ */
+final class LightweightRouter {
+
+    static final String PREFIX = "/api";
+
+    /** Status code plus the value to serialize as the body; a null body is sent empty. */
+    record Response(int status, Object body) {
+    }
+
+    private final GraphService graphService;
+    private final RouteFinderService routeFinderService;
+    private final ClusterService clusterService;
+    private final AlternativeRouteService alternativeRouteService;
+    private final GraphAnalyticsService graphAnalyticsService;
+
+    LightweightRouter(GraphService graphService, RouteFinderService routeFinderService,
+            ClusterService clusterService, AlternativeRouteService alternativeRouteService,
+            GraphAnalyticsService graphAnalyticsService) {
+        this.graphService = graphService;
+        this.routeFinderService = routeFinderService;
+        this.clusterService = clusterService;
+        this.alternativeRouteService = alternativeRouteService;
+        this.graphAnalyticsService = graphAnalyticsService;
+    }
+
+    Response route(String method, String path, Map<String, String> query) {
+        if (!"GET".equals(method))
+            return notFound(method, path);
+        if (path.startsWith(PREFIX)) {
+            path = path.substring(PREFIX.length());
+        }
+
+        try {
+            graphService.getDictionaries().select(query.get("dict"));
+            switch (path) {
+                case "/routes/fastest" -> {
+                    Route route = routeFinderService.findFastestRoute(required(query, "origin"),
+                            required(query, "destination"), ladderMode(query));
+                    return route == null ? new Response(404, null) : new Response(200, route);
+                }
+                case "/routes/alternatives" -> {
+                    RouteAlternatives alternatives = alternativeRouteService.findAlternativeRoutes(
+                            required(query, "origin"), required(query, "destination"), intParam(query, "k", 3));
+                    if (alternatives.getRoutes().isEmpty() && alternatives.isComplete())
+                        return new Response(404, null);
+                    return new Response(200, alternatives);
+                }
+                case "/routes/cache" -> {
+                    return new Response(200, routeFinderService.getCacheStats());
+                }
+                case "/graph/stats" -> {
+                    return new Response(200, clusterService.getGraphStats(ladderMode(query)));
+                }
+                case "/puzzles/random" -> {
+                    String length = query.get("length");
+                    Puzzle puzzle = graphAnalyticsService.randomPuzzle(
+                            length == null ? null : intParam(query, "length", 0), query.get("difficulty"));
+                    return puzzle == null ? new Response(404, null) : new Response(200, puzzle);
+                }
+                case "/dictionaries" -> {
+                    return new Response(200, graphService.getDictionaries().getStats());
+                }
+                case "/graph/analytics" -> {
+                    return new Response(200, graphAnalyticsService.getGraphAnalytics(intParam(query, "limit", 20)));
+                }
+                case "/graph/communities" -> {
+                    String community = query.get("community");
+                    return new Response(200, clusterService.getCommunities(
+                            community == null ? null : intParam(query, "community", 0),
+                            intParam(query, "offset", 0), intParam(query, "limit", 20)));
+                }
+                case "/graph/top-connected" -> {
+                    return new Response(200, clusterService.getTopConnectedNodes(intParam(query, "limit", 10)));
+                }
+                case "/graph/isolated" -> {
+                    return new Response(200, clusterService.getIsolatedNodes());
+                }
+                case "/words/search" -> {
+                    GraphService.SearchMode mode = GraphService.SearchMode.parse(query.getOrDefault("mode", "index"));
+                    return new Response(200, graphService.findWordsByPattern(required(query, "pattern"),
+                            intParam(query, "offset", 0), mode));
+                }
+                default -> {
+                    return routeWord(method, path);
+                }
+            }
+        } catch (SearchBudgetExceededException e) {
+            return new Response(503, Map.of("message", "Search budget exceeded: " + e.getMessage(),
+                    "budgetExceeded", true));
+        } catch (IllegalArgumentException e) {
+            return new Response(400, Map.of("message", String.valueOf(e.getMessage())));
+        } finally {
+            graphService.getDictionaries().clearSelection();
+        }
+    }
+
+    /** {@code /words/{word}/} {@code exists}, {@code neighbors}, {@code community} and {@code eccentricity}. */
+    private Response routeWord(String method, String path) {
+        String[] parts = path.split("/");
+        if (parts.length == 4 && parts[0].isEmpty() && "words".equals(parts[1]) && !parts[2].isEmpty()) {
+            if ("exists".equals(parts[3]))
+                return new Response(200, graphService.wordExists(parts[2]));
+            if ("neighbors".equals(parts[3]))
+                return new Response(200, graphService.getNeighbors(parts[2]));
+            if ("community".equals(parts[3]))
+                return new Response(200, clusterService.getWordCommunity(parts[2]));
+            if ("eccentricity".equals(parts[3]))
+                return new Response(200, graphAnalyticsService.getEccentricity(parts[2]));
+        }
+        return notFound(method, path);
+    }
+
+    private static Response notFound(String method, String path) {
+        return new Response(404, Map.of("message", "No handler for " + method + " " + path));
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null)
+            throw new IllegalArgumentException("Required parameter '" + name + "' is not present.");
+        return value;
+    }
+
+    private static GraphService.LadderMode ladderMode(Map<String, String> query) {
+        return GraphService.LadderMode.parse(query.getOrDefault("mode", "substitution"));
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' must be an integer.");
+        }
+    }
+}
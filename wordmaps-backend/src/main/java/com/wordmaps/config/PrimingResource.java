@@ -0,0 +1,161 @@
+package com.wordmaps.config;
+
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphAnalyticsService;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.GraphService.LadderMode;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.RouteMetrics;
+import com.wordmaps.service.ShortestPathTreeCache;
+import jakarta.annotation.PostConstruct;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+
+/**
+ * CRaC / SnapStart hook. Before the checkpoint it drives a representative workload through the
+ * services (route searches on every word length and their JSON encoding, alternatives, wildcard
+ * and regex searches, neighbours and the graph statistics) and walks the whole adjacency, so the hot methods are
+ * JIT-compiled and the graph arrays are resident when the snapshot is taken.
+ * <p>
+ * Priming searches run without a budget, and one that fails is logged and skipped, so a slow
+ * cold JVM or a large dictionary cannot abort the checkpoint.
+ * <p>
+ * After restore it drops what the priming traffic left behind: the shortest path trees and
+ * origin counters of the route cache, the route metrics and the response cache, which should
+ * reflect real requests only. It also reseeds puzzle randomness, so instances restored from one
+ * snapshot do not serve the same puzzles. The workload uses a fixed seed, so every snapshot is
+ * primed the same way.
+ */
+@Component
+public class PrimingResource implements Resource {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimingResource.class);
+
+    private static final long SEED = 20240314L;
+    private static final String[] PATTERNS = { "C?T", "?O?", "B??D", "??NE", "S??RE", "?A?E?" };
+
+    private final GraphService graphService;
+    private final RouteFinderService routeFinderService;
+    private final AlternativeRouteService alternativeRouteService;
+    private final ClusterService clusterService;
+    private final ShortestPathTreeCache treeCache;
+    private final GraphAnalyticsService graphAnalyticsService;
+    private final RouteMetrics routeMetrics;
+    private final GraphResponseCache responseCache;
+    private final int iterations;
+
+    private volatile long primedRoutes;
+
+    /** {@code responseCache} is null for handlers that serve without one. */
+    @Autowired
+    public PrimingResource(GraphService graphService, RouteFinderService routeFinderService,
+            AlternativeRouteService alternativeRouteService, ClusterService clusterService,
+            ShortestPathTreeCache treeCache, GraphAnalyticsService graphAnalyticsService,
+            RouteMetrics routeMetrics, GraphResponseCache responseCache,
+            @Value("${wordmaps.priming.iterations:2000}") int iterations) {
+        this.graphService = graphService;
+        this.routeFinderService = routeFinderService;
+        this.alternativeRouteService = alternativeRouteService;
+        this.clusterService = clusterService;
+        this.treeCache = treeCache;
+        this.graphAnalyticsService = graphAnalyticsService;
+        this.routeMetrics = routeMetrics;
+        this.responseCache = responseCache;
+        this.iterations = iterations;
+    }
+
+    /** Registers with the global CRaC context; it only holds a weak reference, the owner keeps this alive. */
+    @PostConstruct
+    public void register() {
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        treeCache.clear();
+        routeMetrics.reset();
+        if (responseCache != null) {
+            responseCache.clear();
+        }
+        graphAnalyticsService.reseed();
+        log.info("Restored from checkpoint; route cache, metrics and response cache reset after {} priming routes",
+                primedRoutes);
+    }
+
+    /** Runs the priming workload and returns the number of route searches it made. */
+    public long prime() {
+        long start = System.nanoTime();
+        WordGraph graph = graphService.getGraph();
+        if (graph.vertexCount() == 0)
+            return 0;
+
+        long touched = 0;
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            for (int i = graph.neighborsStart(id); i < graph.neighborsEnd(id); i++) {
+                touched += graph.neighborAt(i);
+            }
+            touched += graph.components().componentOf(id);
+        }
+
+        Random random = new Random(SEED);
+        RouteJsonWriter writer = new RouteJsonWriter();
+        long routes = 0;
+        for (int i = 0; i < iterations; i++) {
+            int length = 3 + i % Math.max(1, graph.maxWordLength() - 2);
+            int from = graph.firstIdOfLength(length);
+            int size = graph.endIdOfLength(length) - from;
+            if (size == 0)
+                continue;
+            String origin = graph.word(from + random.nextInt(size));
+            String destination = graph.word(from + random.nextInt(size));
+            try {
+                routeFinderService.findFastestRoute(origin, destination, LadderMode.SUBSTITUTION,
+                        SearchContext.unbounded());
+                routes++;
+                if (i % 50 == 0) {
+                    alternativeRouteService.findAlternativeRoutes(origin, destination, 3);
+                    graphService.getNeighbors(origin);
+                    graphService.wordExists(destination);
+                }
+                if (i % 10 == 0) {
+                    RoutePath path = routeFinderService.findFastestPath(origin, destination, LadderMode.SUBSTITUTION,
+                            SearchContext.unbounded());
+                    if (path != null) {
+                        writer.toBytes(graph, path);
+                    }
+                    graphService.findWordsByPattern(PATTERNS[(i / 10) % PATTERNS.length]);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Priming {} -> {} failed, skipped: {}", origin, destination, e.toString());
+            }
+            if (i % 200 == 0) {
+                graphService.findWordsByPattern(PATTERNS[(i / 200) % PATTERNS.length], 0, GraphService.SearchMode.REGEX);
+                clusterService.getGraphStats();
+                clusterService.getTopConnectedNodes(10);
+                clusterService.getIsolatedNodes();
+                clusterService.getCommunities(0, 0, 20);
+            }
+        }
+        primedRoutes = routes;
+        log.info("Primed {} routes in {} ms before checkpoint (touch sum {})", routes,
+                (System.nanoTime() - start) / 1_000_000, touched);
+        return routes;
+    }
+}
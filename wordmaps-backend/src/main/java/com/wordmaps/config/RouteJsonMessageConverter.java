@@ -0,0 +1,54 @@
+package com.wordmaps.config;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.GraphService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link RoutePath} responses with {@link RouteJsonWriter}. Spring Boot places converter
+ * beans ahead of its Jackson converter, so route responses skip data binding entirely.
+ */
+@Component
+public class RouteJsonMessageConverter extends AbstractHttpMessageConverter<RoutePath> {
+
+    private static final ThreadLocal<RouteJsonWriter> WRITERS = ThreadLocal.withInitial(RouteJsonWriter::new);
+
+    private final GraphService graphService;
+
+    @Autowired
+    public RouteJsonMessageConverter(GraphService graphService) {
+        super(MediaType.APPLICATION_JSON);
+        this.graphService = graphService;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RoutePath.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RoutePath readInternal(Class<? extends RoutePath> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RoutePath is a response type only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RoutePath route, HttpOutputMessage outputMessage) throws IOException {
+        // Word encodings are cached for one graph per thread: keep that the default dictionary's
+        WordGraph graph = graphService.isDictionarySelected() ? null : graphService.getGraph();
+        WRITERS.get().write(graph, route, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,260 @@
+package com.wordmaps.config;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RoutePath;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streams a {@link RoutePath} as exactly the bytes Jackson writes for the equivalent {@link Route}
+ * (same property order, escaping and UTF-8 encoding), without building the Route, its
+ * Transformation objects or their description strings.
+ * <p>
+ * Every vocabulary word is encoded once per graph as a quoted JSON string; routes copy those
+ * bytes into a buffer the writer keeps between calls. A writer is not thread-safe; keep one per
+ * thread.
+ */
+public final class RouteJsonWriter {
+
+    private static final byte[] ORIGIN = ascii("{\"origin\":");
+    private static final byte[] DESTINATION = ascii(",\"destination\":");
+    private static final byte[] PATH = ascii(",\"path\":[");
+    private static final byte[] STEPS = ascii("],\"steps\":");
+    private static final byte[] ROUTE_TYPE = ascii(",\"routeType\":");
+    private static final byte[] DIFFICULTY = ascii(",\"difficulty\":");
+    private static final byte[] TRANSFORMATIONS = ascii(",\"transformations\":[");
+    private static final byte[] FROM = ascii("{\"from\":");
+    private static final byte[] TO = ascii(",\"to\":");
+    private static final byte[] STEP_NUMBER = ascii(",\"stepNumber\":");
+    private static final byte[] CHANGE = ascii(",\"description\":\"Change '");
+    private static final byte[] INSERT = ascii(",\"description\":\"Insert '");
+    private static final byte[] DELETE = ascii(",\"description\":\"Delete '");
+    private static final byte[] ARROW = ascii("' -> '");
+    private static final byte[] AT_POSITION = ascii("' at position ");
+    private static final byte[] END_TRANSFORMATION = ascii("\"}");
+    private static final byte[] END_ROUTE = ascii("]}");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] UNICODE_ESCAPE = ascii("\\u00");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private static volatile EncodedWords shared;
+
+    private byte[] buffer = new byte[1024];
+    private int size;
+
+    /** Quoted JSON encodings of all words of one graph, packed like the graph's own letters. */
+    private static final class EncodedWords {
+        final WordGraph graph;
+        final byte[] bytes;
+        final int[] offsets;
+
+        EncodedWords(WordGraph graph) {
+            this.graph = graph;
+            RouteJsonWriter encoder = new RouteJsonWriter();
+            offsets = new int[graph.vertexCount() + 1];
+            for (int id = 0; id < graph.vertexCount(); id++) {
+                encoder.appendString(graph.word(id));
+                offsets[id + 1] = encoder.size;
+            }
+            bytes = Arrays.copyOf(encoder.buffer, encoder.size);
+        }
+    }
+
+    public void write(WordGraph graph, RoutePath route, OutputStream out) throws IOException {
+        size = 0;
+        appendRoute(words(graph), route);
+        out.write(buffer, 0, size);
+    }
+
+    public byte[] toBytes(WordGraph graph, RoutePath route) {
+        size = 0;
+        appendRoute(words(graph), route);
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private static EncodedWords words(WordGraph graph) {
+        if (graph == null)
+            return null;
+        EncodedWords result = shared;
+        if (result == null || result.graph != graph) {
+            result = new EncodedWords(graph);
+            shared = result;
+        }
+        return result;
+    }
+
+    private void appendRoute(EncodedWords words, RoutePath route) {
+        List<String> path = route.getPath();
+        append(ORIGIN);
+        appendWord(words, route.getOrigin());
+        append(DESTINATION);
+        appendWord(words, route.getDestination());
+        append(PATH);
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0)
+                appendByte(',');
+            appendWord(words, path.get(i));
+        }
+        append(STEPS);
+        appendInt(path.size() - 1);
+        append(ROUTE_TYPE);
+        appendString(route.getRouteType());
+        append(DIFFICULTY);
+        appendString(route.getDifficulty());
+        append(TRANSFORMATIONS);
+        for (int i = 0; i + 1 < path.size(); i++) {
+            if (i > 0)
+                appendByte(',');
+            appendTransformation(words, path.get(i), path.get(i + 1), i + 1);
+        }
+        append(END_ROUTE);
+    }
+
+    /**
+     * Mirrors RouteFinderService.createTransformation: a change, insertion or deletion at the
+     * first differing position, or null for two equal words.
+     */
+    private void appendTransformation(EncodedWords words, String from, String to, int stepNumber) {
+        int i = 0;
+        while (i < from.length() && i < to.length() && from.charAt(i) == to.charAt(i)) {
+            i++;
+        }
+        if (from.length() == to.length() && i == from.length()) {
+            append(NULL);
+            return;
+        }
+        append(FROM);
+        appendWord(words, from);
+        append(TO);
+        appendWord(words, to);
+        append(STEP_NUMBER);
+        appendInt(stepNumber);
+        if (from.length() == to.length()) {
+            append(CHANGE);
+            appendChar(from.charAt(i));
+            append(ARROW);
+            appendChar(to.charAt(i));
+        } else if (from.length() < to.length()) {
+            append(INSERT);
+            appendChar(to.charAt(i));
+        } else {
+            append(DELETE);
+            appendChar(from.charAt(i));
+        }
+        append(AT_POSITION);
+        appendInt(i + 1);
+        append(END_TRANSFORMATION);
+    }
+
+    private void appendWord(EncodedWords words, String word) {
+        int id = words == null || word == null ? -1 : words.graph.id(word);
+        if (id < 0) {
+            appendString(word);
+            return;
+        }
+        int start = words.offsets[id];
+        int length = words.offsets[id + 1] - start;
+        ensureCapacity(length);
+        System.arraycopy(words.bytes, start, buffer, size, length);
+        size += length;
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        appendByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                appendCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                appendChar(c);
+            }
+        }
+        appendByte('"');
+    }
+
+    /** One char as JSON string content: Jackson's escapes below 0x20 and for '"' and '\\', UTF-8 otherwise. */
+    private void appendChar(char c) {
+        if (c < 0x80) {
+            switch (c) {
+                case '"', '\\' -> { appendByte('\\'); appendByte(c); }
+                case '\b' -> { appendByte('\\'); appendByte('b'); }
+                case '\t' -> { appendByte('\\'); appendByte('t'); }
+                case '\n' -> { appendByte('\\'); appendByte('n'); }
+                case '\f' -> { appendByte('\\'); appendByte('f'); }
+                case '\r' -> { appendByte('\\'); appendByte('r'); }
+                default -> {
+                    if (c < 0x20) {
+                        append(UNICODE_ESCAPE);
+                        appendByte(HEX[c >> 4]);
+                        appendByte(HEX[c & 0xF]);
+                    } else {
+                        appendByte(c);
+                    }
+                }
+            }
+        } else {
+            appendCodePoint(c);
+        }
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (codePoint < 0x800) {
+            appendByte(0xC0 | codePoint >> 6);
+        } else if (codePoint < 0x10000) {
+            appendByte(0xE0 | codePoint >> 12);
+            appendByte(0x80 | (codePoint >> 6 & 0x3F));
+        } else {
+            appendByte(0xF0 | codePoint >> 18);
+            appendByte(0x80 | (codePoint >> 12 & 0x3F));
+            appendByte(0x80 | (codePoint >> 6 & 0x3F));
+        }
+        appendByte(0x80 | (codePoint & 0x3F));
+    }
+
+    private void appendInt(int value) {
+        if (value < 0) {
+            appendByte('-');
+            value = -value; // route sizes never reach Integer.MIN_VALUE
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void appendByte(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
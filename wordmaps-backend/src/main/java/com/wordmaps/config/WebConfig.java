@@ -0,0 +1,25 @@
+package com.wordmaps.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Applies {@link DictionaryInterceptor} to the API; admin updates always target the default dictionary. */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DictionaryInterceptor dictionaryInterceptor;
+
+    @Autowired
+    public WebConfig(DictionaryInterceptor dictionaryInterceptor) {
+        this.dictionaryInterceptor = dictionaryInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dictionaryInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/admin/**");
+    }
+}
@@ -0,0 +1,53 @@
+package com.wordmaps.controller;
+
+import com.wordmaps.model.DictionaryUpdate;
+import com.wordmaps.service.GraphService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Dictionary maintenance while the service keeps serving. Disabled unless
+ * {@code wordmaps.admin.enabled=true}: the endpoints are unauthenticated, so only enable them
+ * where the admin path is not publicly reachable. Changes live in memory and are lost on restart.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnProperty(name = "wordmaps.admin.enabled", havingValue = "true")
+public class AdminController {
+
+    private final GraphService graphService;
+
+    @Autowired
+    public AdminController(GraphService graphService) {
+        this.graphService = graphService;
+    }
+
+    @PostMapping("/words")
+    public ResponseEntity<DictionaryUpdate> addWords(@RequestBody List<String> words) {
+        return ResponseEntity.ok(graphService.addWords(words));
+    }
+
+    @DeleteMapping("/words/{word}")
+    public ResponseEntity<DictionaryUpdate> removeWord(@PathVariable String word) {
+        DictionaryUpdate update = graphService.removeWords(List.of(word));
+        if (update.getRemoved() == 0)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(update);
+    }
+
+    /** Bulk import of a word file, one word per line, sent as the plain-text request body. */
+    @PostMapping(value = "/words/import", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<DictionaryUpdate> importWords(@RequestBody String content) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+            return ResponseEntity.ok(graphService.importWords(reader));
+        }
+    }
+}
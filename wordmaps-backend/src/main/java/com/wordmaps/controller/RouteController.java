@@ -1,14 +1,27 @@
 package com.wordmaps.controller;
 
-import com.wordmaps.model.Route;
+import com.wordmaps.config.GraphResponseCache;
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Puzzle;
+import com.wordmaps.model.RouteAlternatives;
+import com.wordmaps.model.RouteBatchRequest;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.AdmissionRejectedException;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.BatchRouteService;
 import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphAnalyticsService;
 import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteAdmissionLimiter;
 import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.StrategyComparisonService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,42 +32,177 @@ public class RouteController {
     private final RouteFinderService routeFinderService;
     private final ClusterService clusterService;
     private final GraphService graphService;
+    private final BatchRouteService batchRouteService;
+    private final AlternativeRouteService alternativeRouteService;
+    private final StrategyComparisonService strategyComparisonService;
+    private final GraphAnalyticsService graphAnalyticsService;
+    private final RouteAdmissionLimiter admissionLimiter;
+    private final GraphResponseCache responseCache;
 
     @Autowired
     public RouteController(RouteFinderService routeFinderService,
             ClusterService clusterService,
-            GraphService graphService) {
+            GraphService graphService,
+            BatchRouteService batchRouteService,
+            AlternativeRouteService alternativeRouteService,
+            StrategyComparisonService strategyComparisonService,
+            GraphAnalyticsService graphAnalyticsService,
+            RouteAdmissionLimiter admissionLimiter,
+            GraphResponseCache responseCache) {
         this.routeFinderService = routeFinderService;
         this.clusterService = clusterService;
         this.graphService = graphService;
+        this.batchRouteService = batchRouteService;
+        this.alternativeRouteService = alternativeRouteService;
+        this.strategyComparisonService = strategyComparisonService;
+        this.graphAnalyticsService = graphAnalyticsService;
+        this.admissionLimiter = admissionLimiter;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("/routes/fastest")
     public ResponseEntity<?> getFastestRoute(@RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(defaultValue = "substitution") String mode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Validate and admit before revalidating, so a 304 never stands in for a 400, 404 or 429
+        try (RouteAdmissionLimiter.Permit permit = admissionLimiter.acquire("fastest")) {
+            GraphService.LadderMode ladderMode = GraphService.LadderMode.parse(mode);
+            if (!routeFinderService.routeExists(origin, destination, ladderMode))
+                return ResponseEntity.notFound().build();
+            String key = "fastest " + origin.toUpperCase() + ' ' + destination.toUpperCase();
+            return responseCache.respond(ifNoneMatch, ladderGraph(ladderMode), key, () -> {
+                RoutePath route = routeFinderService.findFastestPath(origin, destination, ladderMode);
+                if (route == null)
+                    return ResponseEntity.notFound().build();
+                return ResponseEntity.ok(route);
+            });
+        } catch (AdmissionRejectedException e) {
+            return rejected(e);
+        } catch (SearchBudgetExceededException e) {
+            return budgetExceeded(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/routes/alternatives")
+    public ResponseEntity<?> getAlternativeRoutes(@RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(defaultValue = "3") int k) {
+        try (RouteAdmissionLimiter.Permit permit = admissionLimiter.acquire("alternatives")) {
+            RouteAlternatives alternatives = alternativeRouteService.findAlternativeRoutes(origin, destination, k);
+            if (alternatives.getRoutes().isEmpty() && alternatives.isComplete())
+                return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(alternatives);
+        } catch (AdmissionRejectedException e) {
+            return rejected(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/routes/strategies")
+    public ResponseEntity<?> compareStrategies(@RequestParam String origin,
             @RequestParam String destination) {
+        try (RouteAdmissionLimiter.Permit permit = admissionLimiter.acquire("strategies")) {
+            return ResponseEntity.ok(strategyComparisonService.compare(origin, destination));
+        } catch (AdmissionRejectedException e) {
+            return rejected(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/routes/batch")
+    public ResponseEntity<?> getBatchRoutes(@RequestBody RouteBatchRequest request) {
+        try (RouteAdmissionLimiter.Permit permit = admissionLimiter.acquire("batch")) {
+            return ResponseEntity.ok(batchRouteService.findRoutes(request));
+        } catch (AdmissionRejectedException e) {
+            return rejected(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/routes/cache")
+    public ResponseEntity<Map<String, Object>> getRouteCacheStats() {
+        return ResponseEntity.ok(routeFinderService.getCacheStats());
+    }
+
+    @GetMapping("/routes/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionStats() {
+        return ResponseEntity.ok(admissionLimiter.getStats());
+    }
+
+    @GetMapping("/dictionaries")
+    public ResponseEntity<Map<String, Object>> getDictionaries() {
+        return ResponseEntity.ok(graphService.getDictionaries().getStats());
+    }
+
+    @GetMapping("/responses/cache")
+    public ResponseEntity<Map<String, Object>> getResponseCacheStats() {
+        return ResponseEntity.ok(responseCache.getStats());
+    }
+
+    @GetMapping("/graph/stats")
+    public ResponseEntity<?> getGraphStats(@RequestParam(defaultValue = "substitution") String mode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        GraphService.LadderMode ladderMode;
+        try {
+            ladderMode = GraphService.LadderMode.parse(mode);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        // Weak and never kept: the memory figures grow as lazy indexes are built
+        return responseCache.respondWeak(ifNoneMatch, ladderGraph(ladderMode), "stats",
+                () -> ResponseEntity.ok(clusterService.getGraphStats(ladderMode)));
+    }
+
+    @GetMapping("/puzzles/random")
+    public ResponseEntity<?> getRandomPuzzle(@RequestParam(required = false) Integer length,
+            @RequestParam(required = false) String difficulty) {
         try {
-            Route route = routeFinderService.findFastestRoute(origin, destination);
-            if (route == null)
+            Puzzle puzzle = graphAnalyticsService.randomPuzzle(length, difficulty);
+            if (puzzle == null)
                 return ResponseEntity.notFound().build();
-            return ResponseEntity.ok(route);
+            return ResponseEntity.ok(puzzle);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
 
-    @GetMapping("/graph/stats")
-    public ResponseEntity<Map<String, Object>> getGraphStats() {
-        return ResponseEntity.ok(clusterService.getGraphStats());
+    @GetMapping("/graph/analytics")
+    public ResponseEntity<?> getGraphAnalytics(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(graphAnalyticsService.getGraphAnalytics(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/graph/communities")
+    public ResponseEntity<?> getCommunities(@RequestParam(required = false) Integer community,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(clusterService.getCommunities(community, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/graph/top-connected")
-    public ResponseEntity<List<String>> getTopConnected(@RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(clusterService.getTopConnectedNodes(limit));
+    public ResponseEntity<?> getTopConnected(@RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ifNoneMatch, "top-connected " + limit,
+                () -> ResponseEntity.ok(clusterService.getTopConnectedNodes(limit)));
     }
 
     @GetMapping("/graph/isolated")
-    public ResponseEntity<List<String>> getIsolated() {
-        return ResponseEntity.ok(clusterService.getIsolatedNodes());
+    public ResponseEntity<?> getIsolated(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ifNoneMatch, "isolated", () -> ResponseEntity.ok(clusterService.getIsolatedNodes()));
     }
 
     @GetMapping("/words/{word}/exists")
@@ -63,12 +211,58 @@ public class RouteController {
     }
 
     @GetMapping("/words/{word}/neighbors")
-    public ResponseEntity<List<String>> getNeighbors(@PathVariable String word) {
-        return ResponseEntity.ok(graphService.getNeighbors(word));
+    public ResponseEntity<?> getNeighbors(@PathVariable String word,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ifNoneMatch, "neighbors " + word.toUpperCase(),
+                () -> ResponseEntity.ok(graphService.getNeighbors(word)));
+    }
+
+    @GetMapping("/words/{word}/community")
+    public ResponseEntity<?> getWordCommunity(@PathVariable String word) {
+        try {
+            return ResponseEntity.ok(clusterService.getWordCommunity(word));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/words/{word}/eccentricity")
+    public ResponseEntity<?> getEccentricity(@PathVariable String word) {
+        try {
+            return ResponseEntity.ok(graphAnalyticsService.getEccentricity(word));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/words/search")
-    public ResponseEntity<List<String>> searchWords(@RequestParam String pattern) {
-        return ResponseEntity.ok(graphService.findWordsByPattern(pattern));
+    public ResponseEntity<?> searchWords(@RequestParam String pattern,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "index") String mode) {
+        try {
+            GraphService.SearchMode searchMode = GraphService.SearchMode.parse(mode);
+            return ResponseEntity.ok(graphService.findWordsByPattern(pattern, offset, searchMode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /** The graph a ladder mode searches, whose version tags its responses. */
+    private WordGraph ladderGraph(GraphService.LadderMode mode) {
+        WordGraph graph = graphService.getGraph();
+        return mode == GraphService.LadderMode.EDIT ? graph.editGraph() : graph;
+    }
+
+    /** 429 with a one-second Retry-After: every search slot stayed busy for the queue time. */
+    private static ResponseEntity<?> rejected(AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
+    }
+
+    /** 503: the search gave up on its node or time budget, so whether a ladder exists is unknown. */
+    private static ResponseEntity<?> budgetExceeded(SearchBudgetExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("message", "Search budget exceeded: " + e.getMessage(), "budgetExceeded", true));
     }
 }
@@ -0,0 +1,241 @@
+package com.wordmaps.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Communities of a {@link WordGraph} found by label propagation, computed once per graph.
+ * <p>
+ * Every word starts with its own label. A word whose label is not among the most frequent
+ * labels of its neighbours adopts one of those, ties going to the smallest hash for the round.
+ * Rounds read labels from one array and write them to another, so the words can be split into
+ * ranges processed in parallel, and the result does not depend on the number of threads. Only
+ * a hashed half of the words moves in each round, which stops neighbouring words from swapping
+ * labels back and forth. Propagation ends once every word holds a most frequent label of its
+ * neighbours, or after {@link #MAX_ROUNDS}. Communities are then numbered by size, largest
+ * first, with their members stored contiguously in id order.
+ */
+public final class CommunityIndex {
+
+    public static final int MAX_ROUNDS = 30;
+
+    private static final int CHUNK = 2048;
+
+    private final int[] communityOf;
+    private final int[] memberOffsets; // members of community c: members[memberOffsets[c] .. memberOffsets[c + 1])
+    private final int[] members;
+    private final int rounds;
+
+    private CommunityIndex(int[] communityOf, int[] memberOffsets, int[] members, int rounds) {
+        this.communityOf = communityOf;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.rounds = rounds;
+    }
+
+    /** Runs label propagation on {@code pool}, or on the calling thread when it is null. */
+    static CommunityIndex of(WordGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] labels = new int[n];
+        int[] next = new int[n];
+        for (int id = 0; id < n; id++) {
+            labels[id] = id;
+        }
+
+        int rounds = 0;
+        while (rounds < MAX_ROUNDS) {
+            int round = rounds++;
+            int[] current = labels;
+            int[] updated = next;
+            List<Propagation> tasks = new ArrayList<>();
+            for (int from = 0; from < n; from += CHUNK) {
+                tasks.add(new Propagation(graph, current, updated, from, Math.min(n, from + CHUNK), round));
+            }
+            if (pool == null) {
+                tasks.forEach(Propagation::run);
+            } else {
+                List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks.size());
+                for (Propagation task : tasks) {
+                    submitted.add(pool.submit(task));
+                }
+                submitted.forEach(ForkJoinTask::join);
+            }
+            labels = updated;
+            next = current;
+            int unstable = 0;
+            for (Propagation task : tasks) {
+                unstable += task.unstable;
+            }
+            if (unstable == 0)
+                break;
+        }
+        return number(labels, rounds);
+    }
+
+    /** Renumbers labels into community ids ordered by size (largest first, then smallest member). */
+    private static CommunityIndex number(int[] labels, int rounds) {
+        int n = labels.length;
+        int[] labelSizes = new int[n];
+        for (int label : labels) {
+            labelSizes[label]++;
+        }
+        // Scanning in id order finds the smallest member of each label
+        int[] firstMember = new int[n];
+        Arrays.fill(firstMember, -1);
+        int count = 0;
+        for (int id = 0; id < n; id++) {
+            if (firstMember[labels[id]] == -1) {
+                firstMember[labels[id]] = id;
+                count++;
+            }
+        }
+        long[] order = new long[count];
+        int k = 0;
+        for (int label = 0; label < n; label++) {
+            if (labelSizes[label] > 0) {
+                order[k++] = ((long) (n - labelSizes[label]) << 32) | firstMember[label];
+            }
+        }
+        Arrays.sort(order);
+
+        int[] communityOfLabel = new int[n];
+        int[] memberOffsets = new int[count + 1];
+        for (int c = 0; c < count; c++) {
+            int label = labels[(int) order[c]];
+            communityOfLabel[label] = c;
+            memberOffsets[c + 1] = memberOffsets[c] + labelSizes[label];
+        }
+        int[] communityOf = new int[n];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, count);
+        for (int id = 0; id < n; id++) {
+            int c = communityOfLabel[labels[id]];
+            communityOf[id] = c;
+            members[cursor[c]++] = id;
+        }
+        return new CommunityIndex(communityOf, memberOffsets, members, rounds);
+    }
+
+    public int count() {
+        return memberOffsets.length - 1;
+    }
+
+    public int communityOf(int id) {
+        return communityOf[id];
+    }
+
+    public int size(int community) {
+        return memberOffsets[community + 1] - memberOffsets[community];
+    }
+
+    /** Index of the first member of {@code community}, to be read with {@link #memberAt(int)}. */
+    public int membersStart(int community) {
+        return memberOffsets[community];
+    }
+
+    /** Exclusive end index of the members of {@code community}. */
+    public int membersEnd(int community) {
+        return memberOffsets[community + 1];
+    }
+
+    public int memberAt(int index) {
+        return members[index];
+    }
+
+    /** Label propagation rounds run, including the final one that found every label stable. */
+    public int rounds() {
+        return rounds;
+    }
+
+    public long sizeInBytes() {
+        return 16L + 3 * 16L + 4L * (communityOf.length + memberOffsets.length + members.length);
+    }
+
+    /** One round of label propagation over the words {@code [from, to)}. */
+    private static final class Propagation implements Runnable {
+        final WordGraph graph;
+        final int[] labels;
+        final int[] next;
+        final int from;
+        final int to;
+        final int round;
+        int unstable;
+
+        Propagation(WordGraph graph, int[] labels, int[] next, int from, int to, int round) {
+            this.graph = graph;
+            this.labels = labels;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+            this.round = round;
+        }
+
+        @Override
+        public void run() {
+            int[] votes = new int[16];
+            for (int id = from; id < to; id++) {
+                int label = labels[id];
+                next[id] = label;
+                int start = graph.neighborsStart(id);
+                int degree = graph.neighborsEnd(id) - start;
+                if (degree == 0)
+                    continue;
+                if (votes.length < degree) {
+                    votes = new int[Integer.highestOneBit(degree) << 1];
+                }
+                for (int i = 0; i < degree; i++) {
+                    votes[i] = labels[graph.neighborAt(start + i)];
+                }
+                Arrays.sort(votes, 0, degree);
+
+                int maxCount = 0;
+                int currentCount = 0;
+                for (int i = 0; i < degree;) {
+                    int j = runEnd(votes, i, degree);
+                    maxCount = Math.max(maxCount, j - i);
+                    if (votes[i] == label) {
+                        currentCount = j - i;
+                    }
+                    i = j;
+                }
+                if (currentCount == maxCount)
+                    continue;
+                unstable++;
+                if ((mix(id, round) & 1) != 0)
+                    continue; // not in this round's half
+
+                int best = label;
+                int bestHash = Integer.MAX_VALUE;
+                for (int i = 0; i < degree;) {
+                    int j = runEnd(votes, i, degree);
+                    int hash = mix(votes[i], round);
+                    if (j - i == maxCount && (best == label || hash < bestHash)) {
+                        best = votes[i];
+                        bestHash = hash;
+                    }
+                    i = j;
+                }
+                next[id] = best;
+            }
+        }
+
+        /** End of the run of equal votes starting at {@code i}. */
+        private static int runEnd(int[] votes, int i, int end) {
+            int j = i + 1;
+            while (j < end && votes[j] == votes[i]) {
+                j++;
+            }
+            return j;
+        }
+
+        private static int mix(int value, int round) {
+            int h = value * 0x9E3779B9 + round * 0x85EBCA6B;
+            h ^= h >>> 16;
+            h *= 0x7FEB352D;
+            return h ^ (h >>> 15);
+        }
+    }
+}
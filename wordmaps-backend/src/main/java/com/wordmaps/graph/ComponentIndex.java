@@ -0,0 +1,87 @@
+package com.wordmaps.graph;
+
+import java.util.Arrays;
+
+/**
+ * Connected components of a {@link WordGraph}, computed once when the graph is created.
+ * Components are numbered in order of their smallest word id.
+ */
+public final class ComponentIndex {
+
+    private final int[] componentOf;
+    private final int[] sizes;
+    private final int largestSize;
+
+    private ComponentIndex(int[] componentOf, int[] sizes) {
+        this.componentOf = componentOf;
+        this.sizes = sizes;
+        this.largestSize = Arrays.stream(sizes).max().orElse(0);
+    }
+
+    static ComponentIndex of(WordGraph graph) {
+        int n = graph.vertexCount();
+        int[] componentOf = new int[n];
+        Arrays.fill(componentOf, -1);
+        int[] queue = new int[n];
+        int[] sizes = new int[n];
+        int count = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (componentOf[root] != -1)
+                continue;
+            int head = 0;
+            int tail = 0;
+            componentOf[root] = count;
+            queue[tail++] = root;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                    int v = graph.neighborAt(i);
+                    if (componentOf[v] == -1) {
+                        componentOf[v] = count;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            sizes[count++] = tail;
+        }
+        return new ComponentIndex(componentOf, Arrays.copyOf(sizes, count));
+    }
+
+    public int count() {
+        return sizes.length;
+    }
+
+    public int componentOf(int id) {
+        return componentOf[id];
+    }
+
+    public int size(int component) {
+        return sizes[component];
+    }
+
+    /** Size of the component containing word {@code id}. */
+    public int componentSizeOf(int id) {
+        return sizes[componentOf[id]];
+    }
+
+    public boolean connected(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    public int largestSize() {
+        return largestSize;
+    }
+
+    /** Sizes of the {@code limit} largest components, largest first. */
+    public int[] largestSizes(int limit) {
+        int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        int k = Math.min(limit, sorted.length);
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = sorted[sorted.length - 1 - i];
+        }
+        return result;
+    }
+}
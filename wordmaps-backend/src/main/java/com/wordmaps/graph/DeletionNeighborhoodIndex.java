@@ -0,0 +1,159 @@
+package com.wordmaps.graph;
+
+import java.util.Arrays;
+
+/**
+ * Derives the insert/delete ladder graph of a {@link WordGraph} from deletion neighbourhoods.
+ * <p>
+ * A word {@code v} of length {@code L - 1} is one insertion away from a word {@code u} of
+ * length {@code L} exactly when {@code v} is one of {@code u}'s single-letter deletions. For
+ * every pair of adjacent lengths, each longer word contributes a hash of each of its distinct
+ * deletions and each shorter word a hash of itself; sorting the keys brings every candidate
+ * pair into the same run, where it is verified on the packed letters. Words are only compared
+ * when they share a key, never pairwise.
+ */
+final class DeletionNeighborhoodIndex {
+
+    private static final int LOCAL_ID_BITS = 25;
+    private static final long LOCAL_ID_MASK = (1L << LOCAL_ID_BITS) - 1;
+
+    private DeletionNeighborhoodIndex() {
+    }
+
+    /**
+     * The substitution edges of {@code graph} plus an edge between every pair of words one
+     * insertion or deletion apart, over the same vocabulary and ids.
+     */
+    static WordGraph editGraph(WordGraph graph) {
+        int n = graph.vertexCount();
+        long[] edges = new long[1024];
+        int edgeCount = 0;
+        for (int length = 2; length <= graph.maxWordLength(); length++) {
+            long[] found = deletionEdges(graph, length);
+            if (edgeCount + found.length > edges.length) {
+                edges = Arrays.copyOf(edges, Math.max(edges.length * 2, edgeCount + found.length));
+            }
+            System.arraycopy(found, 0, edges, edgeCount, found.length);
+            edgeCount += found.length;
+        }
+
+        int[] substitutionOffsets = graph.offsets();
+        int[] substitutionNeighbors = graph.neighbors();
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = substitutionOffsets[id + 1] - substitutionOffsets[id];
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[(int) (edges[e] >>> 32) + 1]++;
+            offsets[(int) edges[e] + 1]++;
+        }
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        int[] neighbors = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int id = 0; id < n; id++) {
+            for (int i = substitutionOffsets[id]; i < substitutionOffsets[id + 1]; i++) {
+                neighbors[cursor[id]++] = substitutionNeighbors[i];
+            }
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            int u = (int) (edges[e] >>> 32);
+            int v = (int) edges[e];
+            neighbors[cursor[u]++] = v;
+            neighbors[cursor[v]++] = u;
+        }
+        for (int id = 0; id < n; id++) {
+            Arrays.sort(neighbors, offsets[id], offsets[id + 1]);
+        }
+        return new WordGraph(graph.letters(), graph.wordOffsets(), offsets, neighbors, graph.lookup(), true);
+    }
+
+    /** Edges {@code (shorter << 32) | longer} between words of {@code length - 1} and {@code length}. */
+    private static long[] deletionEdges(WordGraph graph, int length) {
+        int shortFrom = graph.firstIdOfLength(length - 1);
+        int longFrom = graph.firstIdOfLength(length);
+        int shortCount = longFrom - shortFrom;
+        int longCount = graph.endIdOfLength(length) - longFrom;
+        if (shortCount == 0 || longCount == 0)
+            return new long[0];
+        if ((long) shortCount + longCount > LOCAL_ID_MASK)
+            throw new IllegalArgumentException("Too many words of lengths " + (length - 1) + " and " + length);
+
+        // Local ids: shorter words first, then the longer ones, all in one contiguous id range
+        byte[] letters = graph.letters();
+        int base = graph.wordOffsets()[shortFrom];
+        int longBase = graph.wordOffsets()[longFrom];
+        long[] keys = new long[shortCount + longCount * length];
+        int size = 0;
+        for (int i = 0; i < shortCount; i++) {
+            keys[size++] = (hash(letters, base + i * (length - 1), length - 1, -1) & ~LOCAL_ID_MASK) | i;
+        }
+        for (int i = 0; i < longCount; i++) {
+            int start = longBase + i * length;
+            for (int position = 0; position < length; position++) {
+                // Deleting any letter of a run of equal letters gives the same word; keep the first
+                if (position > 0 && letters[start + position] == letters[start + position - 1])
+                    continue;
+                keys[size++] = (hash(letters, start, length, position) & ~LOCAL_ID_MASK) | (shortCount + i);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        long[] edges = new long[64];
+        int edgeCount = 0;
+        int runStart = 0;
+        while (runStart < size) {
+            long bucket = keys[runStart] & ~LOCAL_ID_MASK;
+            int runEnd = runStart + 1;
+            while (runEnd < size && (keys[runEnd] & ~LOCAL_ID_MASK) == bucket) {
+                runEnd++;
+            }
+            // Local ids sort shorter words first within a run
+            int split = runStart;
+            while (split < runEnd && (keys[split] & LOCAL_ID_MASK) < shortCount) {
+                split++;
+            }
+            for (int a = runStart; a < split; a++) {
+                int s = (int) (keys[a] & LOCAL_ID_MASK);
+                for (int b = split; b < runEnd; b++) {
+                    int l = (int) (keys[b] & LOCAL_ID_MASK) - shortCount;
+                    // Guard against hash collisions, and against one word reaching the run twice
+                    if ((b == split || keys[b - 1] != keys[b])
+                            && isDeletion(letters, base + s * (length - 1), longBase + l * length, length)) {
+                        if (edgeCount == edges.length) {
+                            edges = Arrays.copyOf(edges, edgeCount * 2);
+                        }
+                        edges[edgeCount++] = ((long) (shortFrom + s) << 32) | (longFrom + l);
+                    }
+                }
+            }
+            runStart = runEnd;
+        }
+        return Arrays.copyOf(edges, edgeCount);
+    }
+
+    /** Hash of the {@code length} letters at {@code start}, leaving out {@code skip} (-1 for none). */
+    private static long hash(byte[] letters, int start, int length, int skip) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            if (i != skip) {
+                hash = (hash ^ (letters[start + i] & 0xFF)) * 0x100000001b3L;
+            }
+        }
+        return hash ^ (hash >>> 29);
+    }
+
+    /** True if deleting one letter from the {@code length} letters at {@code longer} gives those at {@code shorter}. */
+    private static boolean isDeletion(byte[] letters, int shorter, int longer, int length) {
+        int i = 0;
+        while (i < length - 1 && letters[shorter + i] == letters[longer + i]) {
+            i++;
+        }
+        for (int j = i; j < length - 1; j++) {
+            if (letters[shorter + j] != letters[longer + j + 1])
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.wordmaps.graph;
+
+/**
+ * How edges between one-letter neighbours are discovered.
+ * BUCKET groups words by their wildcard masks ("_ORD", "W_RD", ...) and only
+ * links words sharing a mask, so the cost grows with n·L instead of n².
+ * PAIRWISE is the original all-pairs scan, kept as a reference implementation.
+ */
+public enum EdgeBuilder {
+    BUCKET, PAIRWISE
+}
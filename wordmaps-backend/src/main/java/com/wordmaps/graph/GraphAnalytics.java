@@ -0,0 +1,393 @@
+package com.wordmaps.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Distance statistics of a {@link WordGraph} gathered with {@link MultiSourceBfs}: eccentricity
+ * of every source word, diameter per component, the number of word pairs at each distance per
+ * word length, and a sample of those pairs for puzzles.
+ * <p>
+ * When the graph has at most {@code maxSources} words every word is a source and the figures
+ * are exact. Otherwise a hash-chosen subset of words is used: eccentricities are only known for
+ * those words, diameters are lower bounds and pair counts are scaled estimates. Puzzle pairs are
+ * kept with a bottom-k sample per (length, distance) ordered by a hash of the pair, which gives
+ * the same sample however the batches were split between threads.
+ */
+public final class GraphAnalytics {
+
+    private static final int MAX_PUZZLE_ORIGINS = 4096;
+
+    private final int vertexCount;
+    private final int sourceCount;
+    private final short[] eccentricity; // -1 for words that were not sources
+    private final int[] componentDiameter;
+    private final long[][] orderedPairs; // [length][distance], pairs (source, word) with source != word
+    private final long[][][] samples; // [length][distance], packed (min << 32) | max
+
+    private GraphAnalytics(int vertexCount, int sourceCount, short[] eccentricity, int[] componentDiameter,
+            long[][] orderedPairs, long[][][] samples) {
+        this.vertexCount = vertexCount;
+        this.sourceCount = sourceCount;
+        this.eccentricity = eccentricity;
+        this.componentDiameter = componentDiameter;
+        this.orderedPairs = orderedPairs;
+        this.samples = samples;
+    }
+
+    /**
+     * Runs batches of 64 sources on {@code pool} (the calling thread when null), keeping up to
+     * {@code samplesPerBucket} puzzle pairs for every (length, distance).
+     */
+    public static GraphAnalytics of(WordGraph graph, ForkJoinPool pool, int maxSources, int samplesPerBucket) {
+        int n = graph.vertexCount();
+        int[] sources = chooseSources(n, maxSources);
+        // Puzzle pairs come from a hash-chosen subset of the sources, bounding the per-pair work
+        boolean[] isPuzzleOrigin = new boolean[n];
+        for (int source : chooseSources(sources, MAX_PUZZLE_ORIGINS)) {
+            isPuzzleOrigin[source] = true;
+        }
+
+        int batches = (sources.length + MultiSourceBfs.BATCH - 1) / MultiSourceBfs.BATCH;
+        int parallelism = pool == null ? 1 : pool.getParallelism();
+        int chunks = Math.max(1, Math.min(batches, parallelism * 4));
+        short[] eccentricity = new short[n];
+        Arrays.fill(eccentricity, (short) -1);
+        List<Chunk> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            tasks.add(new Chunk(graph, sources, isPuzzleOrigin, eccentricity, samplesPerBucket,
+                    batches * c / chunks, batches * (c + 1) / chunks));
+        }
+        if (pool == null) {
+            tasks.forEach(Chunk::run);
+        } else {
+            List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks.size());
+            for (Chunk task : tasks) {
+                submitted.add(pool.submit(task));
+            }
+            submitted.forEach(ForkJoinTask::join);
+        }
+
+        int lengths = graph.maxWordLength() + 1;
+        long[][] orderedPairs = new long[lengths][0];
+        PairSample[][] merged = new PairSample[lengths][0];
+        for (Chunk task : tasks) {
+            for (int length = 0; length < lengths; length++) {
+                long[] counts = task.orderedPairs[length];
+                if (counts.length > orderedPairs[length].length) {
+                    orderedPairs[length] = Arrays.copyOf(orderedPairs[length], counts.length);
+                    merged[length] = Arrays.copyOf(merged[length], counts.length);
+                }
+                for (int d = 0; d < counts.length; d++) {
+                    orderedPairs[length][d] += counts[d];
+                    PairSample sample = task.samples[length].length > d ? task.samples[length][d] : null;
+                    if (sample != null) {
+                        if (merged[length][d] == null) {
+                            merged[length][d] = new PairSample(samplesPerBucket);
+                        }
+                        merged[length][d].addAll(sample);
+                    }
+                }
+            }
+        }
+        long[][][] samples = new long[lengths][][];
+        for (int length = 0; length < lengths; length++) {
+            samples[length] = new long[merged[length].length][];
+            for (int d = 0; d < merged[length].length; d++) {
+                samples[length][d] = merged[length][d] == null ? new long[0] : merged[length][d].toSortedArray();
+            }
+        }
+
+        ComponentIndex components = graph.components();
+        int[] componentDiameter = new int[components.count()];
+        for (int id = 0; id < n; id++) {
+            int c = components.componentOf(id);
+            componentDiameter[c] = Math.max(componentDiameter[c], eccentricity[id]);
+        }
+        return new GraphAnalytics(n, sources.length, eccentricity, componentDiameter, orderedPairs, samples);
+    }
+
+    /** Every id when there are at most {@code limit}, otherwise the {@code limit} ids of smallest hash, ascending. */
+    private static int[] chooseSources(int n, int limit) {
+        int[] ids = new int[n];
+        for (int id = 0; id < n; id++) {
+            ids[id] = id;
+        }
+        return chooseSources(ids, limit);
+    }
+
+    private static int[] chooseSources(int[] ids, int limit) {
+        if (ids.length <= limit)
+            return ids;
+        long[] keyed = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keyed[i] = ((long) (mix(ids[i]) >>> 1) << 32) | ids[i];
+        }
+        Arrays.sort(keyed);
+        int[] chosen = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            chosen[i] = (int) keyed[i];
+        }
+        // Id order keeps the words of a batch close together, so their searches overlap
+        Arrays.sort(chosen);
+        return chosen;
+    }
+
+    public boolean isExact() {
+        return sourceCount == vertexCount;
+    }
+
+    public int sourceCount() {
+        return sourceCount;
+    }
+
+    /** Greatest distance from {@code id} to a word of its component, -1 if it was not a source. */
+    public int eccentricity(int id) {
+        return eccentricity[id];
+    }
+
+    /** Diameter of a component; a lower bound when the statistics are not exact. */
+    public int componentDiameter(int component) {
+        return componentDiameter[component];
+    }
+
+    public int maxDistance() {
+        int max = 0;
+        for (long[] counts : orderedPairs) {
+            max = Math.max(max, counts.length - 1);
+        }
+        return max;
+    }
+
+    /** Unordered pairs of words of {@code length} at {@code distance}; estimated when not exact. */
+    public long pairs(int length, int distance) {
+        if (length < 0 || length >= orderedPairs.length || distance < 1 || distance >= orderedPairs[length].length)
+            return 0;
+        long ordered = orderedPairs[length][distance];
+        return isExact() ? ordered / 2 : Math.round(ordered * (double) vertexCount / (2.0 * sourceCount));
+    }
+
+    /** Unordered pairs at each distance over all lengths, indexed by distance. */
+    public long[] distanceDistribution() {
+        long[] result = new long[maxDistance() + 1];
+        for (int length = 0; length < orderedPairs.length; length++) {
+            for (int d = 1; d < orderedPairs[length].length; d++) {
+                result[d] += pairs(length, d);
+            }
+        }
+        return result;
+    }
+
+    /** Mean distance between two connected, distinct words. */
+    public double averageDistance() {
+        long[] distribution = distanceDistribution();
+        long pairs = 0;
+        long total = 0;
+        for (int d = 1; d < distribution.length; d++) {
+            pairs += distribution[d];
+            total += distribution[d] * d;
+        }
+        return pairs == 0 ? 0 : (double) total / pairs;
+    }
+
+    public int sampleCount(int length, int distance) {
+        if (length < 0 || length >= samples.length || distance < 0 || distance >= samples[length].length)
+            return 0;
+        return samples[length][distance].length;
+    }
+
+    /** Sampled pair {@code index} of (length, distance), packed as {@code (u << 32) | v} with {@code u < v}. */
+    public long samplePair(int length, int distance, int index) {
+        return samples[length][distance][index];
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        return h ^ (h >>> 15);
+    }
+
+    private static long pairHash(long pair) {
+        long h = pair * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+
+    /** A run of consecutive batches with its own BFS engine, counters and samples. */
+    private static final class Chunk implements Runnable {
+        final WordGraph graph;
+        final int[] sources;
+        final boolean[] isPuzzleOrigin;
+        final short[] eccentricity;
+        final int samplesPerBucket;
+        final int fromBatch;
+        final int toBatch;
+        final long[][] orderedPairs;
+        final PairSample[][] samples;
+        long[] reachedAtDepth = new long[32]; // sources of the current batch reaching some word at each depth
+
+        Chunk(WordGraph graph, int[] sources, boolean[] isPuzzleOrigin, short[] eccentricity, int samplesPerBucket,
+                int fromBatch, int toBatch) {
+            this.graph = graph;
+            this.sources = sources;
+            this.isPuzzleOrigin = isPuzzleOrigin;
+            this.eccentricity = eccentricity;
+            this.samplesPerBucket = samplesPerBucket;
+            this.fromBatch = fromBatch;
+            this.toBatch = toBatch;
+            int lengths = graph.maxWordLength() + 1;
+            this.orderedPairs = new long[lengths][0];
+            this.samples = new PairSample[lengths][0];
+        }
+
+        @Override
+        public void run() {
+            MultiSourceBfs bfs = new MultiSourceBfs(graph);
+            for (int batch = fromBatch; batch < toBatch; batch++) {
+                int first = batch * MultiSourceBfs.BATCH;
+                int count = Math.min(MultiSourceBfs.BATCH, sources.length - first);
+                long puzzleMask = 0;
+                for (int i = 0; i < count; i++) {
+                    if (isPuzzleOrigin[sources[first + i]]) {
+                        puzzleMask |= 1L << i;
+                    }
+                }
+                Arrays.fill(reachedAtDepth, 0);
+                long origins = puzzleMask;
+                int depth = bfs.run(sources, first, count, (word, reached, distance) -> {
+                    if (distance == 0)
+                        return;
+                    int length = graph.wordLength(word);
+                    count(length, distance, Long.bitCount(reached));
+                    markReached(distance, reached);
+                    long puzzle = reached & origins;
+                    while (puzzle != 0) {
+                        int bit = Long.numberOfTrailingZeros(puzzle);
+                        puzzle &= puzzle - 1;
+                        int source = sources[first + bit];
+                        // Each unordered pair once: skip it here if the other end will report it
+                        if (isPuzzleOrigin[word] && word < source)
+                            continue;
+                        sample(length, distance).add(((long) Math.min(source, word) << 32) | Math.max(source, word));
+                    }
+                });
+
+                // A source's eccentricity is the last level its bit appeared on; 0 if isolated
+                for (int i = 0; i < count; i++) {
+                    eccentricity[sources[first + i]] = 0;
+                }
+                for (int d = 1; d <= depth; d++) {
+                    long bits = reachedAtDepth[d];
+                    while (bits != 0) {
+                        int bit = Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        eccentricity[sources[first + bit]] = (short) d;
+                    }
+                }
+            }
+        }
+
+        private void markReached(int distance, long reached) {
+            if (distance >= reachedAtDepth.length) {
+                reachedAtDepth = Arrays.copyOf(reachedAtDepth, Math.max(distance + 1, reachedAtDepth.length * 2));
+            }
+            reachedAtDepth[distance] |= reached;
+        }
+
+        private void count(int length, int distance, int pairs) {
+            if (distance >= orderedPairs[length].length) {
+                orderedPairs[length] = Arrays.copyOf(orderedPairs[length], distance + 1);
+            }
+            orderedPairs[length][distance] += pairs;
+        }
+
+        private PairSample sample(int length, int distance) {
+            if (distance >= samples[length].length) {
+                samples[length] = Arrays.copyOf(samples[length], distance + 1);
+            }
+            PairSample sample = samples[length][distance];
+            if (sample == null) {
+                sample = new PairSample(samplesPerBucket);
+                samples[length][distance] = sample;
+            }
+            return sample;
+        }
+    }
+
+    /** Bottom-k sample of packed pairs: keeps the {@code capacity} pairs of smallest hash. */
+    private static final class PairSample {
+        private final long[] heap; // max-heap by (hash, pair)
+        private int size;
+
+        PairSample(int capacity) {
+            this.heap = new long[Math.max(1, capacity)];
+        }
+
+        void add(long pair) {
+            if (size < heap.length) {
+                heap[size] = pair;
+                siftUp(size++);
+            } else if (less(pair, heap[0])) {
+                heap[0] = pair;
+                siftDown(0);
+            }
+        }
+
+        void addAll(PairSample other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.heap[i]);
+            }
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(heap, size);
+            Arrays.sort(result);
+            return result;
+        }
+
+        private static boolean less(long a, long b) {
+            long ha = pairHash(a);
+            long hb = pairHash(b);
+            return ha != hb ? Long.compareUnsigned(ha, hb) < 0 : a < b;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!less(heap[parent], heap[i]))
+                    return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && less(heap[largest], heap[left])) {
+                    largest = left;
+                }
+                if (right < size && less(heap[largest], heap[right])) {
+                    largest = right;
+                }
+                if (largest == i)
+                    return;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long t = heap[i];
+            heap[i] = heap[j];
+            heap[j] = t;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.wordmaps.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned, checksummed binary image of a {@link WordGraph}.
+ * <p>
+ * Layout (little-endian): a fixed header with magic, format version, a checksum of the
+ * source word lists, a checksum of the payload and the array lengths, followed by the
+ * packed letters (padded to 4 bytes), word offsets, CSR offsets, neighbours and the
+ * word lookup table. Loading is a bulk copy of each array; nothing is parsed or rebuilt.
+ * <p>
+ * {@link #main(String[])} is run by Maven during {@code process-classes} to produce the
+ * snapshot shipped on the classpath.
+ */
+public final class GraphSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x574D4753; // "WMGS"
+    private static final int HEADER_BYTES = 48;
+
+    private GraphSnapshot() {
+    }
+
+    /** Thrown when a snapshot is missing, corrupt, from another format version or built from other sources. */
+    public static class InvalidSnapshotException extends Exception {
+        public InvalidSnapshotException(String message) {
+            super(message);
+        }
+    }
+
+    /** CRC32 over the raw bytes of the source word lists, in load order. */
+    public static long sourceChecksum(List<byte[]> sources) {
+        CRC32 crc = new CRC32();
+        for (byte[] source : sources) {
+            crc.update(source);
+        }
+        return crc.getValue();
+    }
+
+    public static ByteBuffer encode(WordGraph graph, long sourceChecksum) {
+        byte[] letters = graph.letters();
+        int paddedLetters = (letters.length + 3) & ~3;
+        int[][] arrays = { graph.wordOffsets(), graph.offsets(), graph.neighbors(), graph.lookup() };
+        int payloadBytes = paddedLetters;
+        for (int[] array : arrays) {
+            payloadBytes += array.length * Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_BYTES);
+        buffer.put(letters);
+        buffer.position(HEADER_BYTES + paddedLetters);
+        for (int[] array : arrays) {
+            buffer.asIntBuffer().put(array);
+            buffer.position(buffer.position() + array.length * Integer.BYTES);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, payloadBytes);
+        buffer.position(0);
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(sourceChecksum)
+                .putLong(crc.getValue())
+                .putInt(letters.length)
+                .putInt(graph.wordOffsets().length)
+                .putInt(graph.offsets().length)
+                .putInt(graph.neighbors().length)
+                .putInt(graph.lookup().length)
+                .putInt(0);
+        buffer.position(0);
+        return buffer;
+    }
+
+    public static void write(WordGraph graph, long sourceChecksum, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = encode(graph, sourceChecksum);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Materialises a graph from a snapshot image, typically a read-only mapping of the file.
+     * {@code expectedSourceChecksum} guards against snapshots built from other word lists.
+     */
+    public static WordGraph decode(ByteBuffer source, long expectedSourceChecksum) throws InvalidSnapshotException {
+        ByteBuffer buffer = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new InvalidSnapshotException("Not a word graph snapshot");
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION)
+            throw new InvalidSnapshotException("Snapshot format " + version + ", expected " + FORMAT_VERSION);
+        if (buffer.getLong(8) != expectedSourceChecksum)
+            throw new InvalidSnapshotException("Snapshot is stale: word lists changed since it was built");
+
+        int[] lengths = { buffer.getInt(24), buffer.getInt(28), buffer.getInt(32), buffer.getInt(36), buffer.getInt(40) };
+        long payloadBytes = (lengths[0] + 3L) & ~3L;
+        for (int i = 1; i < lengths.length; i++) {
+            if (lengths[i] < 0)
+                throw new InvalidSnapshotException("Snapshot header is corrupt");
+            payloadBytes += (long) lengths[i] * Integer.BYTES;
+        }
+        if (lengths[0] < 0 || buffer.remaining() != HEADER_BYTES + payloadBytes)
+            throw new InvalidSnapshotException("Snapshot size does not match its header");
+
+        CRC32 crc = new CRC32();
+        ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes);
+        crc.update(payload.duplicate());
+        if (crc.getValue() != buffer.getLong(16))
+            throw new InvalidSnapshotException("Snapshot payload checksum mismatch");
+
+        byte[] letters = new byte[lengths[0]];
+        buffer.get(HEADER_BYTES, letters);
+        int position = HEADER_BYTES + ((lengths[0] + 3) & ~3);
+        int[][] arrays = new int[4][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new int[lengths[i + 1]];
+            buffer.slice(position, arrays[i].length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer().get(arrays[i]);
+            position += arrays[i].length * Integer.BYTES;
+        }
+        return new WordGraph(letters, arrays[0], arrays[1], arrays[2], arrays[3]);
+    }
+
+    /** Maps {@code file} read-only and decodes it. */
+    public static WordGraph map(Path file, long expectedSourceChecksum) throws IOException, InvalidSnapshotException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), expectedSourceChecksum);
+        }
+    }
+
+    /**
+     * Build step: {@code GraphSnapshot <output> <words-file>...}. Loads the word lists the same
+     * way GraphService does and writes the snapshot to {@code output}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: GraphSnapshot <output> <words-file>...");
+        long start = System.nanoTime();
+        WordGraphBuilder builder = new WordGraphBuilder().forkJoinPool(ForkJoinPool.commonPool());
+        List<byte[]> sources = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            byte[] content = Files.readAllBytes(Path.of(args[i]));
+            sources.add(content);
+            try (BufferedReader reader = new BufferedReader(new StringReader(new String(content, StandardCharsets.UTF_8)))) {
+                builder.addWords(reader);
+            }
+        }
+        WordGraph graph = builder.build();
+        Path output = Path.of(args[0]);
+        write(graph, sourceChecksum(sources), output);
+        System.out.println("Wrote graph snapshot " + output + " (V=" + graph.vertexCount() + ", E="
+                + graph.edgeCount() + ") in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,152 @@
+package com.wordmaps.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Yen's k-shortest loopless paths over a {@link WordGraph}, with BFS as the spur search since
+ * every edge has the same weight.
+ * <p>
+ * Each spur search only needs two kinds of removals: the root path's words before the spur
+ * word, and edges leaving the spur word itself. Both are tracked with stamped int arrays so the
+ * graph is never copied. Equal-length ladders are ranked by their word ids, i.e. alphabetically.
+ */
+public final class KShortestPaths {
+
+    private static final Comparator<int[]> BY_LENGTH_THEN_IDS = (a, b) -> a.length != b.length
+            ? Integer.compare(a.length, b.length)
+            : Arrays.compare(a, b);
+
+    private final WordGraph graph;
+    private final SearchContext context;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] removed;
+    private final int[] queue;
+    private int seenEpoch;
+    private int removedEpoch = 1; // nothing is removed for the first search
+
+    private KShortestPaths(WordGraph graph, SearchContext context) {
+        this.graph = graph;
+        this.context = context;
+        int n = graph.vertexCount();
+        this.parent = new int[n];
+        this.seen = new int[n];
+        this.removed = new int[n];
+        this.queue = new int[n];
+    }
+
+    /**
+     * Up to {@code k} loopless ladders from {@code source} to {@code target}, shortest first, as
+     * arrays of word ids. If {@code context} runs out of budget the ladders accepted so far are
+     * returned and {@link SearchContext#exceeded()} is set.
+     */
+    public static List<int[]> find(WordGraph graph, int source, int target, int k, SearchContext context) {
+        return new KShortestPaths(graph, context).find(source, target, k);
+    }
+
+    private List<int[]> find(int source, int target, int k) {
+        List<int[]> accepted = new ArrayList<>();
+        if (k <= 0)
+            return accepted;
+        try {
+            int[] first = spurPath(source, target, null, 0);
+            if (first == null)
+                return accepted;
+            accepted.add(first);
+
+            PriorityQueue<int[]> candidates = new PriorityQueue<>(BY_LENGTH_THEN_IDS);
+            Set<List<Integer>> known = new HashSet<>();
+            known.add(key(first));
+            int[] blockedNext = new int[k];
+            while (accepted.size() < k) {
+                int[] previous = accepted.get(accepted.size() - 1);
+                for (int i = 0; i + 1 < previous.length; i++) {
+                    // Edges out of the spur word already used by an accepted ladder with this root
+                    int blocked = 0;
+                    for (int[] path : accepted) {
+                        if (path.length > i + 1 && Arrays.equals(path, 0, i + 1, previous, 0, i + 1)) {
+                            blockedNext[blocked++] = path[i + 1];
+                        }
+                    }
+                    removedEpoch++;
+                    for (int j = 0; j < i; j++) {
+                        removed[previous[j]] = removedEpoch;
+                    }
+
+                    int[] spur = spurPath(previous[i], target, blockedNext, blocked);
+                    if (spur == null)
+                        continue;
+                    int[] candidate = new int[i + spur.length];
+                    System.arraycopy(previous, 0, candidate, 0, i);
+                    System.arraycopy(spur, 0, candidate, i, spur.length);
+                    if (known.add(key(candidate))) {
+                        candidates.add(candidate);
+                    }
+                }
+                if (candidates.isEmpty())
+                    break;
+                accepted.add(candidates.poll());
+            }
+        } catch (SearchBudgetExceededException e) {
+            // Keep what was found within budget; the context records that the search was cut short
+        }
+        return accepted;
+    }
+
+    private int[] spurPath(int spur, int target, int[] blockedNext, int blocked) {
+        seenEpoch++;
+        int head = 0;
+        int tail = 0;
+        seen[spur] = seenEpoch;
+        parent[spur] = -1;
+        queue[tail++] = spur;
+        while (head < tail) {
+            int u = queue[head++];
+            context.expand();
+            if (u == target)
+                return walk(target);
+            for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                int v = graph.neighborAt(i);
+                if (seen[v] == seenEpoch || removed[v] == removedEpoch)
+                    continue;
+                if (u == spur && contains(blockedNext, blocked, v))
+                    continue;
+                seen[v] = seenEpoch;
+                parent[v] = u;
+                queue[tail++] = v;
+            }
+            context.frontier(tail - head);
+        }
+        return null;
+    }
+
+    private int[] walk(int target) {
+        int length = 0;
+        for (int v = target; v != -1; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target; v != -1; v = parent[v]) {
+            path[--length] = v;
+        }
+        return path;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    private static List<Integer> key(int[] path) {
+        return Arrays.stream(path).boxed().toList();
+    }
+}
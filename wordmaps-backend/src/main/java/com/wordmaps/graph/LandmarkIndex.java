@@ -0,0 +1,113 @@
+package com.wordmaps.graph;
+
+import java.util.Arrays;
+
+/**
+ * Landmark distances for the ALT (A*, landmarks, triangle inequality) heuristic.
+ * <p>
+ * Every component of at least {@link #MIN_COMPONENT_SIZE} words gets up to
+ * {@link #LANDMARKS_PER_COMPONENT} landmarks chosen by farthest-point selection, and the BFS
+ * distance from each of them to every word of the component is stored. For words {@code v}
+ * and {@code t} of the same component, {@code |d(L, t) - d(L, v)|} never exceeds the true
+ * distance between them.
+ */
+public final class LandmarkIndex {
+
+    public static final int LANDMARKS_PER_COMPONENT = 4;
+    static final int MIN_COMPONENT_SIZE = 32;
+
+    private static final short NONE = -1;
+
+    private final short[][] distances; // [landmark slot][word id], slot relative to the word's component
+
+    private LandmarkIndex(short[][] distances) {
+        this.distances = distances;
+    }
+
+    static LandmarkIndex of(WordGraph graph) {
+        int n = graph.vertexCount();
+        ComponentIndex components = graph.components();
+        short[][] distances = new short[LANDMARKS_PER_COMPONENT][n];
+        for (short[] slot : distances) {
+            Arrays.fill(slot, NONE);
+        }
+
+        int[] queue = new int[n];
+        int[] minDistance = new int[n];
+        boolean[] done = new boolean[components.count()];
+        for (int root = 0; root < n; root++) {
+            int component = components.componentOf(root);
+            if (done[component])
+                continue;
+            done[component] = true;
+            if (components.size(component) < MIN_COMPONENT_SIZE)
+                continue;
+
+            // The first landmark is the word farthest from the component's first word; each
+            // next one is the word farthest from all landmarks chosen so far
+            int size = bfs(graph, root, queue, distances[0]);
+            int landmark = queue[size - 1];
+            for (int i = 0; i < size; i++) {
+                distances[0][queue[i]] = NONE;
+                minDistance[queue[i]] = Integer.MAX_VALUE;
+            }
+            for (int slot = 0; slot < LANDMARKS_PER_COMPONENT; slot++) {
+                bfs(graph, landmark, queue, distances[slot]);
+                int farthest = landmark;
+                for (int i = 0; i < size; i++) {
+                    int v = queue[i];
+                    minDistance[v] = Math.min(minDistance[v], distances[slot][v]);
+                    if (minDistance[v] > minDistance[farthest]) {
+                        farthest = v;
+                    }
+                }
+                if (minDistance[farthest] == 0)
+                    break; // every word is already a landmark
+                landmark = farthest;
+            }
+        }
+        return new LandmarkIndex(distances);
+    }
+
+    /** Lower bound on the ladder length between two words of the same component, 0 if unknown. */
+    public int lowerBound(int v, int t) {
+        int bound = 0;
+        for (short[] slot : distances) {
+            int dv = slot[v];
+            int dt = slot[t];
+            if (dv == NONE || dt == NONE)
+                break;
+            bound = Math.max(bound, Math.abs(dv - dt));
+        }
+        return bound;
+    }
+
+    /** Approximate retained size of the distance tables. */
+    public long sizeInBytes() {
+        long size = 16L;
+        for (short[] slot : distances) {
+            size += 16L + 2L * slot.length;
+        }
+        return size;
+    }
+
+    /** BFS from {@code source} over words still marked {@code NONE}; returns the number visited. */
+    private static int bfs(WordGraph graph, int source, int[] queue, short[] distance) {
+        int head = 0;
+        int tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            short next = (short) (distance[u] + 1);
+            for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                int v = graph.neighborAt(i);
+                if (distance[v] == NONE) {
+                    distance[v] = next;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+}
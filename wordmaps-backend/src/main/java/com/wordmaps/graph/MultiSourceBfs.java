@@ -0,0 +1,97 @@
+package com.wordmaps.graph;
+
+import java.util.Arrays;
+
+/**
+ * Bit-parallel BFS from up to {@value #BATCH} sources at once (MS-BFS).
+ * <p>
+ * Every word carries three {@code long} masks in which bit {@code i} stands for source
+ * {@code i} of the batch: the sources that have reached it, the sources whose frontier it is
+ * on, and the sources reaching it in the level being expanded. A level ORs each frontier
+ * word's mask into its neighbours, so one adjacency scan advances all 64 searches, and
+ * searches that overlap share the work. An instance reuses its arrays between batches and is
+ * not thread-safe.
+ */
+public final class MultiSourceBfs {
+
+    public static final int BATCH = Long.SIZE;
+
+    /** Receives each word reached, with the batch sources that first reach it at {@code distance}. */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int word, long sources, int distance);
+    }
+
+    private final WordGraph graph;
+    private final long[] seen;
+    private final long[] frontier;
+    private final long[] next;
+    private int[] current;
+    private int[] touched;
+
+    public MultiSourceBfs(WordGraph graph) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.seen = new long[n];
+        this.frontier = new long[n];
+        this.next = new long[n];
+        this.current = new int[n];
+        this.touched = new int[n];
+    }
+
+    /**
+     * Runs BFS from {@code sources[from .. from + count)}, source {@code from + i} being bit
+     * {@code i}, and reports every (word, distance) including the sources themselves at 0.
+     * Returns the depth of the last level reached.
+     */
+    public int run(int[] sources, int from, int count, Visitor visitor) {
+        if (count < 1 || count > BATCH)
+            throw new IllegalArgumentException("A batch holds 1 to " + BATCH + " sources: " + count);
+        Arrays.fill(seen, 0);
+
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int source = sources[from + i];
+            if (frontier[source] == 0) {
+                current[size++] = source;
+            }
+            frontier[source] |= 1L << i;
+            seen[source] |= 1L << i;
+        }
+        for (int i = 0; i < size; i++) {
+            visitor.visit(current[i], frontier[current[i]], 0);
+        }
+
+        int depth = 0;
+        while (size > 0) {
+            depth++;
+            int touchedCount = 0;
+            for (int i = 0; i < size; i++) {
+                int u = current[i];
+                long mask = frontier[u];
+                frontier[u] = 0;
+                for (int e = graph.neighborsStart(u); e < graph.neighborsEnd(u); e++) {
+                    int v = graph.neighborAt(e);
+                    if (next[v] == 0) {
+                        touched[touchedCount++] = v;
+                    }
+                    next[v] |= mask;
+                }
+            }
+
+            size = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touched[i];
+                long reached = next[v] & ~seen[v];
+                next[v] = 0;
+                if (reached != 0) {
+                    seen[v] |= reached;
+                    frontier[v] = reached;
+                    current[size++] = v;
+                    visitor.visit(v, reached, depth);
+                }
+            }
+        }
+        return depth - 1;
+    }
+}
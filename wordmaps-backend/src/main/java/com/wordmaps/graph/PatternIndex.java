@@ -0,0 +1,157 @@
+package com.wordmaps.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Positional bitmap index over a {@link WordGraph} vocabulary for "?" wildcard patterns.
+ * <p>
+ * For every (length, position, letter) it keeps a bitmap over the ids of that length, bit
+ * {@code i} standing for word {@code firstIdOfLength(length) + i}. A pattern such as
+ * {@code C?T} is answered by ANDing the bitmaps of its fixed letters and reading set bits.
+ */
+public final class PatternIndex {
+
+    public static final char WILDCARD = '?';
+
+    private final WordGraph graph;
+    private final long[][][][] bitmaps; // [length][position][letter], null when no word matches
+
+    private PatternIndex(WordGraph graph, long[][][][] bitmaps) {
+        this.graph = graph;
+        this.bitmaps = bitmaps;
+    }
+
+    static PatternIndex of(WordGraph graph) {
+        int maxLength = graph.maxWordLength();
+        long[][][][] bitmaps = new long[maxLength + 1][][][];
+        for (int length = 1; length <= maxLength; length++) {
+            int from = graph.firstIdOfLength(length);
+            int count = graph.endIdOfLength(length) - from;
+            if (count == 0)
+                continue;
+            int words = (count + 63) >>> 6;
+            bitmaps[length] = new long[length][256][];
+            for (int position = 0; position < length; position++) {
+                long[][] byLetter = bitmaps[length][position];
+                for (int i = 0; i < count; i++) {
+                    int letter = graph.letterAt(from + i, position);
+                    if (byLetter[letter] == null) {
+                        byLetter[letter] = new long[words];
+                    }
+                    byLetter[letter][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return new PatternIndex(graph, bitmaps);
+    }
+
+    /** Heap bytes of the bitmaps for words of {@code length}, 0 if there are none. */
+    long sizeInBytes(int length) {
+        if (length >= bitmaps.length || bitmaps[length] == null)
+            return 0;
+        int count = graph.endIdOfLength(length) - graph.firstIdOfLength(length);
+        long size = 0;
+        for (long[][] byLetter : bitmaps[length]) {
+            int distinct = 0;
+            for (long[] bitmap : byLetter) {
+                if (bitmap != null) {
+                    distinct++;
+                }
+            }
+            size += positionBytes(count, distinct);
+        }
+        return size;
+    }
+
+    /** Bytes of one position table over {@code count} words: the 256 letter slots and one bitmap per distinct letter. */
+    static long positionBytes(int count, int distinctLetters) {
+        return 16L + 256L * Integer.BYTES + distinctLetters * (16L + 8L * ((count + 63) >>> 6));
+    }
+
+    /**
+     * Words matching {@code pattern} (upper-case letters and {@value #WILDCARD}), skipping the
+     * first {@code offset} matches and returning at most {@code limit}, in vocabulary order.
+     */
+    public List<String> find(String pattern, int offset, int limit) {
+        validate(pattern);
+        long[] matches = match(pattern);
+        List<String> result = new ArrayList<>(Math.min(limit, 64));
+        if (matches == null)
+            return result;
+
+        int from = graph.firstIdOfLength(pattern.length());
+        int skipped = 0;
+        for (int w = 0; w < matches.length && result.size() < limit; w++) {
+            long bits = matches[w];
+            if (skipped + Long.bitCount(bits) <= offset) {
+                skipped += Long.bitCount(bits);
+                continue;
+            }
+            while (bits != 0 && result.size() < limit) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (skipped++ >= offset) {
+                    result.add(graph.word(from + (w << 6) + bit));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Total number of words matching {@code pattern}. */
+    public int count(String pattern) {
+        validate(pattern);
+        long[] matches = match(pattern);
+        int total = 0;
+        if (matches != null) {
+            for (long bits : matches) {
+                total += Long.bitCount(bits);
+            }
+        }
+        return total;
+    }
+
+    private long[] match(String pattern) {
+        int length = pattern.length();
+        if (length >= bitmaps.length || bitmaps[length] == null)
+            return null;
+
+        long[] result = null;
+        for (int position = 0; position < length; position++) {
+            char c = pattern.charAt(position);
+            if (c == WILDCARD)
+                continue;
+            long[] bitmap = c < 256 ? bitmaps[length][position][c] : null;
+            if (bitmap == null)
+                return null;
+            if (result == null) {
+                result = bitmap.clone();
+            } else {
+                for (int w = 0; w < result.length; w++) {
+                    result[w] &= bitmap[w];
+                }
+            }
+        }
+        if (result == null) {
+            // Only wildcards: every word of this length matches
+            int count = graph.endIdOfLength(length) - graph.firstIdOfLength(length);
+            result = new long[(count + 63) >>> 6];
+            for (int i = 0; i < count; i++) {
+                result[i >>> 6] |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    private static void validate(String pattern) {
+        if (pattern.isEmpty())
+            throw new IllegalArgumentException("Pattern must not be empty.");
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != WILDCARD && !Character.isLetter(c))
+                throw new IllegalArgumentException(
+                        "Pattern may only contain letters and '" + WILDCARD + "'; use mode=regex for regular expressions.");
+        }
+    }
+}
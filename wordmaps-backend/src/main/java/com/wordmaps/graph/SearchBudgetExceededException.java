@@ -0,0 +1,9 @@
+package com.wordmaps.graph;
+
+/** Thrown by {@link SearchContext} when a search expands more nodes or runs longer than allowed. */
+public class SearchBudgetExceededException extends RuntimeException {
+
+    public SearchBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.wordmaps.graph;
+
+/**
+ * Per-search budget and counters. Searches call {@link #expand()} for every node they take off
+ * their frontier and {@link #frontier(int)} with its current size; once the node limit or the
+ * deadline is passed, or the searching thread is interrupted, {@link #expand()} throws
+ * {@link SearchBudgetExceededException}.
+ * <p>
+ * Not thread-safe: one context belongs to one search.
+ */
+public final class SearchContext {
+
+    private static final int DEADLINE_CHECK_MASK = 1023; // read the clock and interrupt flag every 1024 expansions
+
+    private final long maxExpanded;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private long expanded;
+    private int frontierPeak;
+    private boolean exceeded;
+
+    private SearchContext(long maxExpanded, long maxMillis) {
+        this.maxExpanded = maxExpanded > 0 ? maxExpanded : Long.MAX_VALUE;
+        this.hasDeadline = maxMillis > 0;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + maxMillis * 1_000_000 : 0;
+    }
+
+    /** A context that only counts. */
+    public static SearchContext unbounded() {
+        return new SearchContext(0, 0);
+    }
+
+    /** A context limited to {@code maxExpanded} nodes and {@code maxMillis} from now; 0 disables a limit. */
+    public static SearchContext of(long maxExpanded, long maxMillis) {
+        return new SearchContext(maxExpanded, maxMillis);
+    }
+
+    public void expand() {
+        expanded++;
+        if (expanded > maxExpanded) {
+            exceeded = true;
+            throw new SearchBudgetExceededException("Search expanded more than " + maxExpanded + " nodes.");
+        }
+        if ((expanded & DEADLINE_CHECK_MASK) != 0)
+            return;
+        if (hasDeadline && System.nanoTime() - deadlineNanos > 0) {
+            exceeded = true;
+            throw new SearchBudgetExceededException("Search deadline exceeded.");
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            exceeded = true;
+            throw new SearchBudgetExceededException("Search interrupted.");
+        }
+    }
+
+    public void frontier(int size) {
+        if (size > frontierPeak) {
+            frontierPeak = size;
+        }
+    }
+
+    public long expanded() {
+        return expanded;
+    }
+
+    public int frontierPeak() {
+        return frontierPeak;
+    }
+
+    /** Whether a limit was hit, i.e. the search that used this context stopped early. */
+    public boolean exceeded() {
+        return exceeded;
+    }
+}
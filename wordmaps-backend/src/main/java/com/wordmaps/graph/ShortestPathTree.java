@@ -0,0 +1,79 @@
+package com.wordmaps.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-source BFS tree over a {@link WordGraph}: {@code parent[v]} is the lowest-id word one
+ * step closer to the source than {@code v}, -1 if {@code v} is unreachable. Any destination is
+ * then answered by walking parents in O(path length). Among equally short ladders that picks
+ * the one the bidirectional search returns, so responses do not depend on which one answered.
+ * <p>
+ * The build visits the whole component of the source, so it runs within a {@link SearchContext}
+ * like any other search and stops with {@link SearchBudgetExceededException} when that runs out.
+ */
+public final class ShortestPathTree {
+
+    private final int source;
+    private final int[] parent;
+
+    private ShortestPathTree(int source, int[] parent) {
+        this.source = source;
+        this.parent = parent;
+    }
+
+    public static ShortestPathTree build(WordGraph graph, int source, SearchContext context) {
+        int[] parent = new int[graph.vertexCount()];
+        Arrays.fill(parent, -1);
+        int[] distance = new int[graph.vertexCount()];
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        parent[source] = source;
+        queue[tail++] = source;
+        while (head < tail) {
+            context.expand();
+            int u = queue[head++];
+            for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                int v = graph.neighborAt(i);
+                if (parent[v] == -1) {
+                    parent[v] = u;
+                    distance[v] = distance[u] + 1;
+                    queue[tail++] = v;
+                } else if (distance[v] == distance[u] + 1 && u < parent[v]) {
+                    parent[v] = u;
+                }
+            }
+            context.frontier(tail - head);
+        }
+        return new ShortestPathTree(source, parent);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public boolean reaches(int target) {
+        return parent[target] != -1;
+    }
+
+    /** Words from the source to {@code target}, or null if it is unreachable. */
+    public List<String> pathTo(WordGraph graph, int target) {
+        if (!reaches(target))
+            return null;
+        List<String> path = new ArrayList<>();
+        for (int v = target; v != source; v = parent[v]) {
+            path.add(graph.word(v));
+        }
+        path.add(graph.word(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /** Approximate retained size, used for memory-budgeted caching. */
+    public long sizeInBytes() {
+        return 16L + 16L + 4L * parent.length;
+    }
+}
@@ -0,0 +1,387 @@
+package com.wordmaps.graph;
+
+import org.jgrapht.Graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Immutable, int-indexed word graph stored in compressed sparse row (CSR) form.
+ * <p>
+ * Words are sorted by (length, alphabetical order) and packed into a single Latin-1
+ * byte array, so every word length occupies a contiguous id range. The neighbours of
+ * word {@code id} are {@code neighbors[offsets[id] .. offsets[id + 1])}, sorted ascending.
+ * Word to id lookups go through an open-addressing table keyed by {@link String#hashCode()}.
+ */
+public final class WordGraph {
+
+    private final byte[] letters;
+    private final int[] wordOffsets;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] lookup; // stores id + 1, 0 marks an empty slot
+    private final int[] lengthStarts; // first id of each length, indexed by length
+    private final ComponentIndex components;
+    private final String version;
+    private final boolean edits;
+
+    private volatile Graph<String, Long> view;
+    private volatile PatternIndex patternIndex;
+    private volatile LandmarkIndex landmarks;
+    private volatile WordGraph editGraph;
+    private volatile CommunityIndex communities;
+    // One lock per lazy index, so a slow build (communities) does not block the others
+    private final Object patternIndexLock = new Object();
+    private final Object landmarksLock = new Object();
+    private final Object editGraphLock = new Object();
+    private final Object communitiesLock = new Object();
+
+    WordGraph(byte[] letters, int[] wordOffsets, int[] offsets, int[] neighbors, int[] lookup) {
+        this(letters, wordOffsets, offsets, neighbors, lookup, false);
+    }
+
+    /** {@code edits} marks an insert/delete ladder graph; its version differs even without such edges. */
+    WordGraph(byte[] letters, int[] wordOffsets, int[] offsets, int[] neighbors, int[] lookup, boolean edits) {
+        this.letters = letters;
+        this.wordOffsets = wordOffsets;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.lookup = lookup;
+        this.lengthStarts = computeLengthStarts(wordOffsets);
+        this.components = ComponentIndex.of(this);
+        this.edits = edits;
+        this.version = computeVersion(letters, wordOffsets, offsets, neighbors, edits);
+    }
+
+    public static WordGraph of(String... words) {
+        WordGraphBuilder builder = new WordGraphBuilder();
+        for (String word : words) {
+            builder.addWord(word);
+        }
+        return builder.build();
+    }
+
+    // --- Vocabulary ---
+
+    public int vertexCount() {
+        return wordOffsets.length - 1;
+    }
+
+    public String word(int id) {
+        return new String(letters, wordOffsets[id], wordLength(id), StandardCharsets.ISO_8859_1);
+    }
+
+    public int wordLength(int id) {
+        return wordOffsets[id + 1] - wordOffsets[id];
+    }
+
+    /** Latin-1 code of the letter at {@code position} of word {@code id}. */
+    public int letterAt(int id, int position) {
+        return letters[wordOffsets[id] + position] & 0xFF;
+    }
+
+    /** Returns the id of an (upper-case) word, or -1 if it is not in the vocabulary. */
+    public int id(String word) {
+        int mask = lookup.length - 1;
+        int slot = spread(word.hashCode()) & mask;
+        int entry;
+        while ((entry = lookup[slot]) != 0) {
+            if (matches(entry - 1, word)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(String word) {
+        return id(word) >= 0;
+    }
+
+    public int maxWordLength() {
+        return lengthStarts.length - 2;
+    }
+
+    /** First id of the contiguous range holding words of {@code length}. */
+    public int firstIdOfLength(int length) {
+        if (length < 0)
+            return 0;
+        return length >= lengthStarts.length ? vertexCount() : lengthStarts[length];
+    }
+
+    /** Exclusive end of the contiguous range holding words of {@code length}. */
+    public int endIdOfLength(int length) {
+        return firstIdOfLength(length + 1);
+    }
+
+    public List<String> words(int fromId, int toId) {
+        List<String> result = new ArrayList<>(toId - fromId);
+        for (int id = fromId; id < toId; id++) {
+            result.add(word(id));
+        }
+        return result;
+    }
+
+    // --- Adjacency ---
+
+    public int edgeCount() {
+        return neighbors.length / 2;
+    }
+
+    /** Number of edges between words of the given length. */
+    public int edgeCount(int length) {
+        return (offsets[endIdOfLength(length)] - offsets[firstIdOfLength(length)]) / 2;
+    }
+
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /** Index of the first neighbour of {@code id}, to be read with {@link #neighborAt(int)}. */
+    public int neighborsStart(int id) {
+        return offsets[id];
+    }
+
+    /** Exclusive end index of the neighbours of {@code id}. */
+    public int neighborsEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    public int neighborAt(int index) {
+        return neighbors[index];
+    }
+
+    public boolean containsEdge(int u, int v) {
+        return Arrays.binarySearch(neighbors, offsets[u], offsets[u + 1], v) >= 0;
+    }
+
+    public boolean containsEdge(String a, String b) {
+        int u = id(a);
+        int v = id(b);
+        return u >= 0 && v >= 0 && containsEdge(u, v);
+    }
+
+    public List<String> neighbors(String word) {
+        int id = id(word);
+        if (id < 0)
+            return Collections.emptyList();
+        List<String> result = new ArrayList<>(degree(id));
+        for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+            result.add(word(neighbors[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Hex digest of the words, the edges and the ladder mode, computed when this graph was
+     * created, so a substitution graph and its {@link #editGraph()} differ. Equal versions mean
+     * equal ladders and neighbours, not equal everything: {@link #bytesByLength()} grows as
+     * indexes are built, and searches may pick different ladders among equally short ones.
+     */
+    public String version() {
+        return version;
+    }
+
+    /** Whether steps may also insert or delete a letter, as in an {@link #editGraph()}. */
+    public boolean isEditGraph() {
+        return edits;
+    }
+
+    /** Connected components, computed when this graph was created. */
+    public ComponentIndex components() {
+        return components;
+    }
+
+    /** Positional letter index for wildcard searches, built on first use. */
+    public PatternIndex patternIndex() {
+        PatternIndex result = patternIndex;
+        if (result == null) {
+            synchronized (patternIndexLock) {
+                result = patternIndex;
+                if (result == null) {
+                    result = PatternIndex.of(this);
+                    patternIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Landmark distances for the ALT heuristic, built on first use. */
+    public LandmarkIndex landmarks() {
+        LandmarkIndex result = landmarks;
+        if (result == null) {
+            synchronized (landmarksLock) {
+                result = landmarks;
+                if (result == null) {
+                    result = LandmarkIndex.of(this);
+                    landmarks = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Label propagation communities, computed on the common pool on first use. */
+    public CommunityIndex communities() {
+        CommunityIndex result = communities;
+        if (result == null) {
+            synchronized (communitiesLock) {
+                result = communities;
+                if (result == null) {
+                    result = CommunityIndex.of(this, ForkJoinPool.commonPool());
+                    communities = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ladder graph over the same vocabulary and ids in which a step may also insert or delete
+     * one letter, linking words across lengths. Built on first use; it is its own edit graph.
+     */
+    public WordGraph editGraph() {
+        WordGraph result = editGraph;
+        if (result == null) {
+            synchronized (editGraphLock) {
+                result = editGraph;
+                if (result == null) {
+                    result = DeletionNeighborhoodIndex.editGraph(this);
+                    result.editGraph = result;
+                    editGraph = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resident bytes per word length: packed letters, word and CSR offsets, neighbours, a
+     * proportional share of the lookup table and component sizes, and the pattern and landmark
+     * indexes once they are built.
+     */
+    public Map<Integer, Long> bytesByLength() {
+        int n = vertexCount();
+        PatternIndex patterns = patternIndex;
+        boolean hasLandmarks = landmarks != null;
+        Map<Integer, Long> result = new TreeMap<>();
+        for (int length = 1; length <= maxWordLength(); length++) {
+            int from = firstIdOfLength(length);
+            int count = endIdOfLength(length) - from;
+            if (count == 0)
+                continue;
+            long bytes = (long) count * length
+                    + 3L * Integer.BYTES * count // word offset, CSR offset, component id
+                    + (long) Integer.BYTES * (offsets[from + count] - offsets[from])
+                    + (long) Integer.BYTES * (lookup.length + components.count()) * count / n;
+            if (patterns != null) {
+                bytes += patterns.sizeInBytes(length);
+            }
+            if (hasLandmarks) {
+                bytes += (long) LandmarkIndex.LANDMARKS_PER_COMPONENT * Short.BYTES * count;
+            }
+            result.put(length, bytes);
+        }
+        return result;
+    }
+
+    /**
+     * Read-only JGraphT view over this graph for algorithms that have no CSR
+     * implementation. Edges are encoded as {@code (min << 32) | max} of their endpoint ids.
+     */
+    public Graph<String, Long> asGraph() {
+        Graph<String, Long> result = view;
+        if (result == null) {
+            result = new WordGraphView(this);
+            view = result;
+        }
+        return result;
+    }
+
+    // --- Internals shared with the builder and snapshot format ---
+
+    byte[] letters() {
+        return letters;
+    }
+
+    int[] wordOffsets() {
+        return wordOffsets;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] neighbors() {
+        return neighbors;
+    }
+
+    int[] lookup() {
+        return lookup;
+    }
+
+    boolean matches(int id, String word) {
+        int start = wordOffsets[id];
+        int length = wordOffsets[id + 1] - start;
+        if (length != word.length())
+            return false;
+        for (int i = 0; i < length; i++) {
+            if ((letters[start + i] & 0xFF) != word.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /** First 64 bits of the SHA-256 of the packed words, adjacency and mode, as 16 hex digits. */
+    private static String computeVersion(byte[] letters, int[] wordOffsets, int[] offsets, int[] neighbors,
+            boolean edits) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(toBytes(wordOffsets));
+            digest.update(letters);
+            digest.update(toBytes(offsets));
+            digest.update(toBytes(neighbors));
+            digest.update((byte) (edits ? 1 : 0));
+            return String.format("%016x", ByteBuffer.wrap(digest.digest()).getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ByteBuffer toBytes(int[] values) {
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        return bytes;
+    }
+
+    private static int[] computeLengthStarts(int[] wordOffsets) {
+        int n = wordOffsets.length - 1;
+        int maxLength = 0;
+        for (int id = 0; id < n; id++) {
+            maxLength = Math.max(maxLength, wordOffsets[id + 1] - wordOffsets[id]);
+        }
+        int[] starts = new int[maxLength + 2];
+        int id = 0;
+        for (int length = 0; length <= maxLength + 1; length++) {
+            while (id < n && wordOffsets[id + 1] - wordOffsets[id] < length) {
+                id++;
+            }
+            starts[length] = id;
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,473 @@
+package com.wordmaps.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Collects a vocabulary and turns it into an immutable {@link WordGraph}.
+ * Words are expected upper-case; anything outside Latin-1 is rejected.
+ * <p>
+ * With a {@link #forkJoinPool(ForkJoinPool) pool}, words may be added from several threads and
+ * the build runs in parallel: vocabulary sorting per (length, first letter) bucket, edges per
+ * (length, wildcard position) pass, or per length for the pairwise builder, and neighbour
+ * sorting per range of ids. Each edge task collects into its own list; a one-letter edge is
+ * found by exactly one position pass, so the lists are simply concatenated.
+ * <p>
+ * With a {@link #maxBytes(long) memory budget}, the resident size of every word length is
+ * estimated once its edges are known. Lengths are admitted shortest first; a length that
+ * would take the graph over the budget is either dropped ({@link OverBudget#TRIM}) or fails
+ * the build ({@link OverBudget#REFUSE}).
+ */
+public final class WordGraphBuilder {
+
+    static final Comparator<String> BY_LENGTH_THEN_ALPHA = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    /** What {@link #build()} does when the vocabulary does not fit the memory budget. */
+    public enum OverBudget {
+        TRIM, REFUSE
+    }
+
+    // Per word, besides letters and adjacency: word and CSR offsets, up to four lookup slots,
+    // component id and size, and the landmark distances
+    private static final int INDEX_BYTES_PER_WORD = 2 * Integer.BYTES + 4 * Integer.BYTES + 2 * Integer.BYTES
+            + LandmarkIndex.LANDMARKS_PER_COMPONENT * Short.BYTES;
+
+    private static final int LOCAL_ID_BITS = 24;
+    private static final long LOCAL_ID_MASK = (1L << LOCAL_ID_BITS) - 1;
+
+    private final Set<String> words = ConcurrentHashMap.newKeySet();
+    private EdgeBuilder edgeBuilder = EdgeBuilder.BUCKET;
+    private ForkJoinPool pool;
+    private int minWordLength = 1;
+    private int maxWordLength = Integer.MAX_VALUE;
+    private long maxBytes;
+    private OverBudget overBudget = OverBudget.TRIM;
+    private final Map<Integer, Long> buildNanosByLength = new TreeMap<>();
+    private final Map<Integer, Long> estimatedBytesByLength = new TreeMap<>();
+    private final Map<Integer, Long> trimmedLengths = new TreeMap<>();
+
+    public WordGraphBuilder edgeBuilder(EdgeBuilder edgeBuilder) {
+        this.edgeBuilder = edgeBuilder;
+        return this;
+    }
+
+    /** Pool for the edge build; null (the default) builds on the calling thread. */
+    public WordGraphBuilder forkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Word lengths to keep; {@link #addWord(String)} skips anything shorter or longer. */
+    public WordGraphBuilder lengthRange(int minLength, int maxLength) {
+        if (minLength < 1 || maxLength < minLength)
+            throw new IllegalArgumentException("Invalid word length range " + minLength + ".." + maxLength);
+        this.minWordLength = minLength;
+        this.maxWordLength = maxLength;
+        return this;
+    }
+
+    /** Ceiling on the estimated resident size of the graph and its indexes; 0 (the default) means none. */
+    public WordGraphBuilder maxBytes(long maxBytes, OverBudget overBudget) {
+        this.maxBytes = maxBytes;
+        this.overBudget = overBudget;
+        return this;
+    }
+
+    /** Adds a word to the vocabulary; returns false if it is empty, a duplicate, out of range or not Latin-1. */
+    public boolean addWord(String word) {
+        return word.length() >= minWordLength && word.length() <= maxWordLength
+                && isStorable(word) && words.add(word);
+    }
+
+    /** True if {@code word} is non-empty and Latin-1, the only words a {@link WordGraph} can hold. */
+    static boolean isStorable(String word) {
+        if (word.isEmpty())
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > 0xFF)
+                return false;
+        }
+        return true;
+    }
+
+    /** Reads one word per line, trimmed and upper-cased; returns the number of non-empty lines. */
+    public int addWords(BufferedReader reader) throws IOException {
+        String line;
+        int count = 0;
+        while ((line = reader.readLine()) != null) {
+            String word = line.trim().toUpperCase();
+            if (!word.isEmpty()) {
+                addWord(word);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /** Edge construction time of the last {@link #build()}, per word length, summed over its tasks. */
+    public Map<Integer, Long> getBuildNanosByLength() {
+        return buildNanosByLength;
+    }
+
+    /** Estimated resident bytes of each word length in the last {@link #build()}, trimmed ones included. */
+    public Map<Integer, Long> getEstimatedBytesByLength() {
+        return estimatedBytesByLength;
+    }
+
+    /** Lengths the last {@link #build()} dropped to stay within the budget, with their estimated bytes. */
+    public Map<Integer, Long> getTrimmedLengths() {
+        return trimmedLengths;
+    }
+
+    public WordGraph build() {
+        trimmedLengths.clear();
+        return buildWithinBudget();
+    }
+
+    private WordGraph buildWithinBudget() {
+        // Bucket by (length, first letter): buckets in key order are already in id order, so
+        // each one can be sorted, and its letters packed, independently of the others
+        String[] unsorted = words.toArray(new String[0]);
+        int n = unsorted.length;
+        int maxLength = 0;
+        for (String word : unsorted) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        int[] bucketStarts = new int[(maxLength + 1) * 256 + 1];
+        for (String word : unsorted) {
+            bucketStarts[bucketOf(word) + 1]++;
+        }
+        for (int b = 0; b + 1 < bucketStarts.length; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        String[] sorted = new String[n];
+        int[] cursor = Arrays.copyOf(bucketStarts, bucketStarts.length - 1);
+        for (String word : unsorted) {
+            sorted[cursor[bucketOf(word)]++] = word;
+        }
+
+        int[] wordOffsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            wordOffsets[id + 1] = wordOffsets[id] + sorted[id].length();
+        }
+        byte[] letters = new byte[wordOffsets[n]];
+        List<Runnable> bucketTasks = new ArrayList<>();
+        for (int b = 0; b + 1 < bucketStarts.length; b++) {
+            int from = bucketStarts[b];
+            int to = bucketStarts[b + 1];
+            if (from < to) {
+                bucketTasks.add(() -> {
+                    Arrays.sort(sorted, from, to);
+                    for (int id = from; id < to; id++) {
+                        byte[] bytes = sorted[id].getBytes(StandardCharsets.ISO_8859_1);
+                        System.arraycopy(bytes, 0, letters, wordOffsets[id], bytes.length);
+                    }
+                });
+            }
+        }
+        runAll(bucketTasks);
+
+        List<EdgeTask> edgeTasks = new ArrayList<>();
+        for (int length = 1; length <= maxLength; length++) {
+            int groupStart = bucketStarts[length * 256];
+            int groupEnd = bucketStarts[(length + 1) * 256];
+            if (groupStart == groupEnd)
+                continue;
+            if (edgeBuilder == EdgeBuilder.PAIRWISE) {
+                edgeTasks.add(new EdgeTask(letters, wordOffsets[groupStart], length, groupStart, groupEnd, -1));
+            } else {
+                for (int position = 0; position < length; position++) {
+                    edgeTasks.add(new EdgeTask(letters, wordOffsets[groupStart], length, groupStart, groupEnd, position));
+                }
+            }
+        }
+        runAll(edgeTasks);
+
+        buildNanosByLength.clear();
+        List<EdgeList> edges = new ArrayList<>(edgeTasks.size());
+        Map<Integer, Long> adjacencyByLength = new TreeMap<>();
+        for (EdgeTask task : edgeTasks) {
+            edges.add(task.edges);
+            buildNanosByLength.merge(task.length, task.nanos, Long::sum);
+            adjacencyByLength.merge(task.length, 2L * task.edges.size, Long::sum);
+        }
+
+        if (trimmedLengths.isEmpty()) {
+            estimatedBytesByLength.clear();
+            for (Map.Entry<Integer, Long> entry : adjacencyByLength.entrySet()) {
+                int length = entry.getKey();
+                int groupStart = bucketStarts[length * 256];
+                int groupEnd = bucketStarts[(length + 1) * 256];
+                estimatedBytesByLength.put(length, estimateBytes(letters, wordOffsets[groupStart], length,
+                        groupEnd - groupStart, entry.getValue()));
+            }
+        }
+        if (maxBytes > 0 && trimmedLengths.isEmpty() && fitBudget()) {
+            // Rebuild without the dropped lengths; ids and the lookup table shrink with them
+            words.removeIf(word -> trimmedLengths.containsKey(word.length()));
+            return buildWithinBudget();
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] neighbors = toAdjacency(n, edges, offsets);
+        return new WordGraph(letters, wordOffsets, offsets, neighbors, buildLookup(sorted));
+    }
+
+    /**
+     * Admits lengths shortest first while they fit the budget, recording the others in
+     * {@link #trimmedLengths}. Returns true if anything was trimmed; throws under
+     * {@link OverBudget#REFUSE} if anything would have to be.
+     */
+    private boolean fitBudget() {
+        long total = 0;
+        for (long bytes : estimatedBytesByLength.values()) {
+            total += bytes;
+        }
+        if (total <= maxBytes)
+            return false;
+        if (overBudget == OverBudget.REFUSE)
+            throw new IllegalStateException("Dictionary needs an estimated " + total + " bytes, over the budget of "
+                    + maxBytes + " bytes");
+        long admitted = 0;
+        for (Map.Entry<Integer, Long> entry : estimatedBytesByLength.entrySet()) {
+            if (admitted + entry.getValue() <= maxBytes) {
+                admitted += entry.getValue();
+            } else {
+                trimmedLengths.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Upper bound on what {@link WordGraph#bytesByLength()} reports for the {@code count} words
+     * of one length starting at {@code base}, once the pattern and landmark indexes are built.
+     */
+    private static long estimateBytes(byte[] letters, int base, int length, int count, long adjacency) {
+        long bytes = (long) count * (length + INDEX_BYTES_PER_WORD) + adjacency * Integer.BYTES;
+        boolean[] seen = new boolean[256];
+        for (int position = 0; position < length; position++) {
+            Arrays.fill(seen, false);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                int letter = letters[base + i * length + position] & 0xFF;
+                if (!seen[letter]) {
+                    seen[letter] = true;
+                    distinct++;
+                }
+            }
+            bytes += PatternIndex.positionBytes(count, distinct);
+        }
+        return bytes;
+    }
+
+    private static int bucketOf(String word) {
+        return word.length() * 256 + word.charAt(0);
+    }
+
+    /** Runs the tasks on the pool and waits for all of them, or runs them in order without a pool. */
+    private void runAll(List<? extends Runnable> tasks) {
+        if (pool == null) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            submitted.add(pool.submit(task));
+        }
+        submitted.forEach(ForkJoinTask::join);
+    }
+
+    // Words of one length are fixed-width, so within a group the letters of word
+    // from + i start at base + i * length.
+
+    private static void addPairwiseEdges(byte[] letters, int base, int length, int from, int to, EdgeList edges) {
+        for (int u = from; u < to; u++) {
+            for (int v = u + 1; v < to; v++) {
+                if (differByOne(letters, base + (u - from) * length, base + (v - from) * length, length)) {
+                    edges.add(u, v);
+                }
+            }
+        }
+    }
+
+    private static boolean differByOne(byte[] letters, int a, int b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            if (letters[a + i] != letters[b + i] && ++diff > 1)
+                return false;
+        }
+        return diff == 1;
+    }
+
+    /**
+     * Sorts the words of one length by a hash of each wildcard mask; words sharing a mask
+     * end up next to each other and every verified pair inside a run is an edge.
+     */
+    private static void addBucketEdges(byte[] letters, int base, int length, int from, int to, int position,
+            EdgeList edges) {
+        int count = to - from;
+        if (count > LOCAL_ID_MASK)
+            throw new IllegalArgumentException("Too many words of length " + length + ": " + count);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (maskedHash(letters, base + i * length, length, position) & ~LOCAL_ID_MASK) | i;
+        }
+        Arrays.sort(keys);
+
+        int runStart = 0;
+        while (runStart < count) {
+            long bucket = keys[runStart] & ~LOCAL_ID_MASK;
+            int runEnd = runStart + 1;
+            while (runEnd < count && (keys[runEnd] & ~LOCAL_ID_MASK) == bucket) {
+                runEnd++;
+            }
+            for (int i = runStart; i < runEnd; i++) {
+                int a = (int) (keys[i] & LOCAL_ID_MASK);
+                for (int j = i + 1; j < runEnd; j++) {
+                    int b = (int) (keys[j] & LOCAL_ID_MASK);
+                    // Guard against hash collisions between different masks
+                    if (equalExcept(letters, base + a * length, base + b * length, length, position)) {
+                        edges.add(from + Math.min(a, b), from + Math.max(a, b));
+                    }
+                }
+            }
+            runStart = runEnd;
+        }
+    }
+
+    private static long maskedHash(byte[] letters, int start, int length, int position) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            int c = i == position ? 0 : (letters[start + i] & 0xFF) + 1;
+            hash = (hash ^ c) * 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+
+    private static boolean equalExcept(byte[] letters, int a, int b, int length, int position) {
+        for (int i = 0; i < length; i++) {
+            if (i != position && letters[a + i] != letters[b + i])
+                return false;
+        }
+        return true;
+    }
+
+    private int[] toAdjacency(int n, List<EdgeList> edgeLists, int[] offsets) {
+        for (EdgeList edges : edgeLists) {
+            for (int e = 0; e < edges.size; e++) {
+                offsets[edges.source(e) + 1]++;
+                offsets[edges.target(e) + 1]++;
+            }
+        }
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        int[] neighbors = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (EdgeList edges : edgeLists) {
+            for (int e = 0; e < edges.size; e++) {
+                int u = edges.source(e);
+                int v = edges.target(e);
+                neighbors[cursor[u]++] = v;
+                neighbors[cursor[v]++] = u;
+            }
+        }
+        List<Runnable> sorts = new ArrayList<>();
+        int chunk = Math.max(1024, n / 64);
+        for (int first = 0; first < n; first += chunk) {
+            int from = first;
+            int to = Math.min(n, first + chunk);
+            sorts.add(() -> {
+                for (int id = from; id < to; id++) {
+                    Arrays.sort(neighbors, offsets[id], offsets[id + 1]);
+                }
+            });
+        }
+        runAll(sorts);
+        return neighbors;
+    }
+
+    private static int[] buildLookup(String[] sorted) {
+        int capacity = Integer.highestOneBit(Math.max(2, sorted.length * 2 - 1)) << 1;
+        int[] lookup = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < sorted.length; id++) {
+            int slot = WordGraph.spread(sorted[id].hashCode()) & mask;
+            while (lookup[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            lookup[slot] = id + 1;
+        }
+        return lookup;
+    }
+
+    /** Edges of one length (pairwise) or one wildcard position of one length (bucket). */
+    private static final class EdgeTask implements Runnable {
+        final byte[] letters;
+        final int base;
+        final int length;
+        final int from;
+        final int to;
+        final int position; // -1 for the pairwise builder
+        final EdgeList edges = new EdgeList();
+        long nanos;
+
+        EdgeTask(byte[] letters, int base, int length, int from, int to, int position) {
+            this.letters = letters;
+            this.base = base;
+            this.length = length;
+            this.from = from;
+            this.to = to;
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            if (position < 0) {
+                addPairwiseEdges(letters, base, length, from, to, edges);
+            } else {
+                addBucketEdges(letters, base, length, from, to, position, edges);
+            }
+            nanos = System.nanoTime() - start;
+        }
+    }
+
+    /** Growable list of undirected edges packed as {@code (u << 32) | v}. */
+    private static final class EdgeList {
+        private long[] data = new long[1024];
+        private int size;
+
+        void add(int u, int v) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = ((long) u << 32) | v;
+        }
+
+        int source(int e) {
+            return (int) (data[e] >>> 32);
+        }
+
+        int target(int e) {
+            return (int) data[e];
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.wordmaps.graph;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Derives a new {@link WordGraph} from an existing one with words added and removed, without
+ * rebuilding the edges from scratch.
+ * <p>
+ * Ids stay ordered by (length, alphabetical order), so surviving words keep their relative
+ * order and their adjacency lists are copied over through an old-to-new id map, dropping
+ * removed neighbours. Only the added words get new edges: every one-letter variant of an added
+ * word (over the letters present in the vocabulary) is looked up in the new vocabulary. The
+ * source graph is never modified, so readers holding it are unaffected.
+ */
+public final class WordGraphUpdate {
+
+    private final WordGraph graph;
+    private final int added;
+    private final int removed;
+
+    private WordGraphUpdate(WordGraph graph, int added, int removed) {
+        this.graph = graph;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /** The updated graph, or the source graph itself when nothing changed. */
+    public WordGraph graph() {
+        return graph;
+    }
+
+    /** Number of words that were not in the source graph and are now. */
+    public int added() {
+        return added;
+    }
+
+    /** Number of words that were in the source graph and are gone. */
+    public int removed() {
+        return removed;
+    }
+
+    /**
+     * Applies the changes to {@code source}. Words are expected upper-case; words that cannot be
+     * stored (empty or outside Latin-1), added words already present and removed words that are
+     * absent are ignored. A word both added and removed ends up removed.
+     */
+    public static WordGraphUpdate apply(WordGraph source, Collection<String> add, Collection<String> remove) {
+        boolean[] removedIds = new boolean[source.vertexCount()];
+        int removedCount = 0;
+        for (String word : remove) {
+            int id = source.id(word);
+            if (id >= 0 && !removedIds[id]) {
+                removedIds[id] = true;
+                removedCount++;
+            }
+        }
+        Set<String> removedWords = new HashSet<>(remove);
+        TreeSet<String> addedWords = new TreeSet<>(WordGraphBuilder.BY_LENGTH_THEN_ALPHA);
+        for (String word : add) {
+            if (WordGraphBuilder.isStorable(word) && !source.contains(word) && !removedWords.contains(word)) {
+                addedWords.add(word);
+            }
+        }
+        if (removedCount == 0 && addedWords.isEmpty())
+            return new WordGraphUpdate(source, 0, 0);
+
+        // Merge surviving and added words in id order
+        int n = source.vertexCount() - removedCount + addedWords.size();
+        int[] oldToNew = new int[source.vertexCount()];
+        int[] addedIds = new int[addedWords.size()];
+        int[] wordOffsets = new int[n + 1];
+        byte[] letters = new byte[source.letters().length + addedWords.stream().mapToInt(String::length).sum()];
+        int next = 0;
+        int oldId = 0;
+        int addedIndex = 0;
+        for (String word : addedWords) {
+            while (oldId < source.vertexCount() && compare(source, oldId, word) < 0) {
+                next = copyOld(source, oldId++, removedIds, oldToNew, letters, wordOffsets, next);
+            }
+            byte[] bytes = word.getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(bytes, 0, letters, wordOffsets[next], bytes.length);
+            wordOffsets[next + 1] = wordOffsets[next] + bytes.length;
+            addedIds[addedIndex++] = next++;
+        }
+        while (oldId < source.vertexCount()) {
+            next = copyOld(source, oldId++, removedIds, oldToNew, letters, wordOffsets, next);
+        }
+        letters = Arrays.copyOf(letters, wordOffsets[n]);
+        int[] lookup = buildLookup(letters, wordOffsets, n);
+
+        // Edges of added words: one-letter variants that exist in the new vocabulary
+        boolean[] isAdded = new boolean[n];
+        for (int id : addedIds) {
+            isAdded[id] = true;
+        }
+        byte[] alphabet = alphabet(letters);
+        int[] degree = new int[n];
+        long[] newEdges = new long[16];
+        int newEdgeCount = 0;
+        for (int u : addedIds) {
+            int start = wordOffsets[u];
+            int length = wordOffsets[u + 1] - start;
+            byte[] variant = Arrays.copyOfRange(letters, start, start + length);
+            for (int position = 0; position < length; position++) {
+                byte original = variant[position];
+                for (byte letter : alphabet) {
+                    if (letter == original)
+                        continue;
+                    variant[position] = letter;
+                    int v = find(lookup, letters, wordOffsets, variant);
+                    // Edges between two added words are found from both ends; keep one
+                    if (v >= 0 && (!isAdded[v] || u < v)) {
+                        if (newEdgeCount == newEdges.length) {
+                            newEdges = Arrays.copyOf(newEdges, newEdgeCount * 2);
+                        }
+                        newEdges[newEdgeCount++] = ((long) u << 32) | v;
+                        degree[u]++;
+                        degree[v]++;
+                    }
+                }
+                variant[position] = original;
+            }
+        }
+
+        // Surviving edges keep their order under the monotone id map
+        for (int u = 0; u < source.vertexCount(); u++) {
+            if (removedIds[u])
+                continue;
+            for (int i = source.neighborsStart(u); i < source.neighborsEnd(u); i++) {
+                if (!removedIds[source.neighborAt(i)]) {
+                    degree[oldToNew[u]]++;
+                }
+            }
+        }
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + degree[id];
+        }
+        int[] neighbors = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int u = 0; u < source.vertexCount(); u++) {
+            if (removedIds[u])
+                continue;
+            int mapped = oldToNew[u];
+            for (int i = source.neighborsStart(u); i < source.neighborsEnd(u); i++) {
+                int v = source.neighborAt(i);
+                if (!removedIds[v]) {
+                    neighbors[cursor[mapped]++] = oldToNew[v];
+                }
+            }
+        }
+        boolean[] unsorted = new boolean[n];
+        for (int e = 0; e < newEdgeCount; e++) {
+            int u = (int) (newEdges[e] >>> 32);
+            int v = (int) newEdges[e];
+            neighbors[cursor[u]++] = v;
+            neighbors[cursor[v]++] = u;
+            unsorted[u] = true;
+            unsorted[v] = true;
+        }
+        for (int id = 0; id < n; id++) {
+            if (unsorted[id]) {
+                Arrays.sort(neighbors, offsets[id], offsets[id + 1]);
+            }
+        }
+
+        WordGraph graph = new WordGraph(letters, wordOffsets, offsets, neighbors, lookup);
+        return new WordGraphUpdate(graph, addedWords.size(), removedCount);
+    }
+
+    private static int copyOld(WordGraph source, int oldId, boolean[] removedIds, int[] oldToNew, byte[] letters,
+            int[] wordOffsets, int next) {
+        if (removedIds[oldId]) {
+            oldToNew[oldId] = -1;
+            return next;
+        }
+        int start = source.wordOffsets()[oldId];
+        int length = source.wordLength(oldId);
+        System.arraycopy(source.letters(), start, letters, wordOffsets[next], length);
+        wordOffsets[next + 1] = wordOffsets[next] + length;
+        oldToNew[oldId] = next;
+        return next + 1;
+    }
+
+    /** Compares word {@code id} of {@code graph} with {@code word} in (length, alphabetical) order. */
+    private static int compare(WordGraph graph, int id, String word) {
+        int length = graph.wordLength(id);
+        if (length != word.length())
+            return Integer.compare(length, word.length());
+        for (int i = 0; i < length; i++) {
+            int diff = graph.letterAt(id, i) - word.charAt(i);
+            if (diff != 0)
+                return diff;
+        }
+        return 0;
+    }
+
+    private static byte[] alphabet(byte[] letters) {
+        boolean[] seen = new boolean[256];
+        int count = 0;
+        for (byte letter : letters) {
+            if (!seen[letter & 0xFF]) {
+                seen[letter & 0xFF] = true;
+                count++;
+            }
+        }
+        byte[] alphabet = new byte[count];
+        int i = 0;
+        for (int c = 0; c < 256; c++) {
+            if (seen[c]) {
+                alphabet[i++] = (byte) c;
+            }
+        }
+        return alphabet;
+    }
+
+    /** Same table as WordGraphBuilder builds, hashing the Latin-1 bytes like {@link String#hashCode()}. */
+    private static int[] buildLookup(byte[] letters, int[] wordOffsets, int n) {
+        int capacity = Integer.highestOneBit(Math.max(2, n * 2 - 1)) << 1;
+        int[] lookup = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < n; id++) {
+            int slot = WordGraph.spread(hash(letters, wordOffsets[id], wordOffsets[id + 1])) & mask;
+            while (lookup[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            lookup[slot] = id + 1;
+        }
+        return lookup;
+    }
+
+    private static int find(int[] lookup, byte[] letters, int[] wordOffsets, byte[] word) {
+        int mask = lookup.length - 1;
+        int slot = WordGraph.spread(hash(word, 0, word.length)) & mask;
+        int entry;
+        while ((entry = lookup[slot]) != 0) {
+            int id = entry - 1;
+            if (Arrays.equals(letters, wordOffsets[id], wordOffsets[id + 1], word, 0, word.length))
+                return id;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + (bytes[i] & 0xFF);
+        }
+        return hash;
+    }
+}
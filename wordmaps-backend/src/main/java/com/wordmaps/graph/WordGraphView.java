@@ -0,0 +1,304 @@
+package com.wordmaps.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Unmodifiable JGraphT adapter over a {@link WordGraph}. Nothing is copied: vertex and
+ * edge sets are computed views over the CSR arrays. Edges are {@code (min << 32) | max}.
+ */
+final class WordGraphView extends AbstractGraph<String, Long> {
+
+    private final WordGraph graph;
+    private final Set<String> vertexSet;
+    private final Set<Long> edgeSet;
+
+    WordGraphView(WordGraph graph) {
+        this.graph = graph;
+        this.vertexSet = new VertexSet();
+        this.edgeSet = new EdgeSet();
+    }
+
+    static long edge(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    private int requireId(String vertex) {
+        int id = vertex == null ? -1 : graph.id(vertex);
+        if (id < 0)
+            throw new IllegalArgumentException("no such vertex in graph: " + vertex);
+        return id;
+    }
+
+    @Override
+    public Set<Long> getAllEdges(String sourceVertex, String targetVertex) {
+        Long edge = getEdge(sourceVertex, targetVertex);
+        return edge == null ? Collections.emptySet() : Collections.singleton(edge);
+    }
+
+    @Override
+    public Long getEdge(String sourceVertex, String targetVertex) {
+        int u = sourceVertex == null ? -1 : graph.id(sourceVertex);
+        int v = targetVertex == null ? -1 : graph.id(targetVertex);
+        if (u < 0 || v < 0 || !graph.containsEdge(u, v))
+            return null;
+        return edge(u, v);
+    }
+
+    @Override
+    public Supplier<String> getVertexSupplier() {
+        return null;
+    }
+
+    @Override
+    public Supplier<Long> getEdgeSupplier() {
+        return null;
+    }
+
+    @Override
+    public Long addEdge(String sourceVertex, String targetVertex) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public boolean addEdge(String sourceVertex, String targetVertex, Long e) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public String addVertex() {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public boolean addVertex(String v) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public boolean containsEdge(Long e) {
+        if (e == null)
+            return false;
+        int u = (int) (e >>> 32);
+        int v = (int) e.longValue();
+        int n = graph.vertexCount();
+        return u >= 0 && u < n && v >= 0 && v < n && graph.containsEdge(u, v);
+    }
+
+    @Override
+    public boolean containsVertex(String v) {
+        return v != null && graph.contains(v);
+    }
+
+    @Override
+    public Set<Long> edgeSet() {
+        return edgeSet;
+    }
+
+    @Override
+    public int degreeOf(String vertex) {
+        return graph.degree(requireId(vertex));
+    }
+
+    @Override
+    public Set<Long> edgesOf(String vertex) {
+        return new IncidentEdges(requireId(vertex));
+    }
+
+    @Override
+    public int inDegreeOf(String vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Long> incomingEdgesOf(String vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(String vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Long> outgoingEdgesOf(String vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public Long removeEdge(String sourceVertex, String targetVertex) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public boolean removeEdge(Long e) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public boolean removeVertex(String v) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    @Override
+    public Set<String> vertexSet() {
+        return vertexSet;
+    }
+
+    @Override
+    public String getEdgeSource(Long e) {
+        return graph.word((int) (e >>> 32));
+    }
+
+    @Override
+    public String getEdgeTarget(Long e) {
+        return graph.word((int) e.longValue());
+    }
+
+    @Override
+    public GraphType getType() {
+        return DefaultGraphType.simple();
+    }
+
+    @Override
+    public double getEdgeWeight(Long e) {
+        return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(Long e, double weight) {
+        throw new UnsupportedOperationException("WordGraph is immutable");
+    }
+
+    private final class VertexSet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < graph.vertexCount();
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return graph.word(next++);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String s && graph.contains(s);
+        }
+
+        @Override
+        public int size() {
+            return graph.vertexCount();
+        }
+    }
+
+    private final class EdgeSet extends AbstractSet<Long> {
+        @Override
+        public Iterator<Long> iterator() {
+            return new Iterator<>() {
+                private int u;
+                private int index = -1;
+
+                {
+                    advance();
+                }
+
+                // Moves to the next CSR slot whose neighbour is greater than its owner
+                private void advance() {
+                    index++;
+                    while (u < graph.vertexCount()) {
+                        while (index < graph.neighborsEnd(u)) {
+                            if (graph.neighborAt(index) > u)
+                                return;
+                            index++;
+                        }
+                        u++;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return u < graph.vertexCount();
+                }
+
+                @Override
+                public Long next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    long edge = ((long) u << 32) | graph.neighborAt(index);
+                    advance();
+                    return edge;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Long e && containsEdge(e);
+        }
+
+        @Override
+        public int size() {
+            return graph.edgeCount();
+        }
+    }
+
+    private final class IncidentEdges extends AbstractSet<Long> {
+        private final int id;
+
+        IncidentEdges(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            return new Iterator<>() {
+                private int index = graph.neighborsStart(id);
+
+                @Override
+                public boolean hasNext() {
+                    return index < graph.neighborsEnd(id);
+                }
+
+                @Override
+                public Long next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return edge(id, graph.neighborAt(index++));
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Long e))
+                return false;
+            int u = (int) (e >>> 32);
+            int v = (int) e.longValue();
+            return (u == id || v == id) && containsEdge(e);
+        }
+
+        @Override
+        public int size() {
+            return graph.degree(id);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictionaryUpdate {
+    private int added;
+    private int removed;
+    private int rejected; // not letters-only, so never stored
+    private int vertexCount;
+    private int edgeCount;
+    private long elapsedMillis;
+}
@@ -0,0 +1,19 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A word pair to solve, with the length of its shortest ladder. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Puzzle {
+    private String origin;
+    private String destination;
+    private int length;
+    private int steps;
+    private String difficulty; // EASY, MEDIUM, HARD
+}
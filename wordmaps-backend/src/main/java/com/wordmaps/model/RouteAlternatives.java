@@ -0,0 +1,21 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteAlternatives {
+    private String origin;
+    private String destination;
+    private int requested;
+    private boolean complete; // false when the search budget ran out before k routes were ranked
+    private long expandedNodes;
+    private List<Route> routes;
+}
@@ -0,0 +1,22 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchEntry {
+    public static final String SOLVED = "SOLVED";
+    public static final String FAILED = "FAILED";
+    public static final String TIMED_OUT = "TIMED_OUT";
+
+    private String origin;
+    private String destination;
+    private String status; // SOLVED, FAILED, TIMED_OUT
+    private Route route;
+    private String error;
+}
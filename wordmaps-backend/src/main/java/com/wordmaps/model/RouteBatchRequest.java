@@ -0,0 +1,17 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchRequest {
+    private List<RoutePair> pairs;
+    private Long deadlineMillis; // optional, capped by the server-side batch deadline
+}
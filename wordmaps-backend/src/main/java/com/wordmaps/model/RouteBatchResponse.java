@@ -0,0 +1,20 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchResponse {
+    private int solved;
+    private int failed;
+    private int timedOut;
+    private long elapsedMillis;
+    private List<RouteBatchEntry> results;
+}
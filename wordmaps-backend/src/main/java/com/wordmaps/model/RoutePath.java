@@ -0,0 +1,24 @@
+package com.wordmaps.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A found route before it is expanded into a {@link Route}: the words and the summary fields,
+ * without per-step transformations. Serialized straight to the Route JSON by RouteJsonWriter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePath {
+    private String origin;
+    private String destination;
+    private List<String> path;
+    private String routeType; // FASTEST, ALTERNATIVE
+    private String difficulty; // EASY, MEDIUM, HARD
+}
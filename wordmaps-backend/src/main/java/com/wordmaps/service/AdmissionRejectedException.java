@@ -0,0 +1,9 @@
+package com.wordmaps.service;
+
+/** Thrown by {@link RouteAdmissionLimiter} when a route request finds no free search slot in time. */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
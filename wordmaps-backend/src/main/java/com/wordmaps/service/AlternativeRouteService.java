@@ -0,0 +1,73 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.KShortestPaths;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RouteAlternatives;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranks up to k distinct ladders between two words, shortest first. The first is reported as
+ * FASTEST, the rest as ALTERNATIVE. Every search runs under a node and wall-clock budget.
+ */
+@Service
+public class AlternativeRouteService {
+
+    private final RouteFinderService routeFinderService;
+    private final GraphService graphService;
+    private final int maxK;
+    private final long maxExpanded;
+    private final long maxMillis;
+
+    @Autowired
+    public AlternativeRouteService(RouteFinderService routeFinderService, GraphService graphService,
+            @Value("${wordmaps.alternatives.max-k:10}") int maxK,
+            @Value("${wordmaps.alternatives.max-expanded:200000}") long maxExpanded,
+            @Value("${wordmaps.alternatives.max-millis:250}") long maxMillis) {
+        this.routeFinderService = routeFinderService;
+        this.graphService = graphService;
+        this.maxK = maxK;
+        this.maxExpanded = maxExpanded;
+        this.maxMillis = maxMillis;
+    }
+
+    public RouteAlternatives findAlternativeRoutes(String origin, String destination, int k) {
+        String from = origin.toUpperCase();
+        String to = destination.toUpperCase();
+        routeFinderService.validatePair(from, to);
+        if (k < 1 || k > maxK)
+            throw new IllegalArgumentException("k must be between 1 and " + maxK + ".");
+
+        WordGraph graph = graphService.getGraph();
+        int originId = routeFinderService.idOf(graph, from);
+        int destinationId = routeFinderService.idOf(graph, to);
+        SearchContext context = SearchContext.of(maxExpanded, maxMillis);
+        List<int[]> paths = graph.components().connected(originId, destinationId)
+                ? KShortestPaths.find(graph, originId, destinationId, k, context)
+                : List.of();
+
+        List<Route> routes = new ArrayList<>(paths.size());
+        for (int[] ids : paths) {
+            List<String> path = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                path.add(graph.word(id));
+            }
+            routes.add(routeFinderService.toRoute(from, to, path, routes.isEmpty() ? "FASTEST" : "ALTERNATIVE"));
+        }
+
+        return RouteAlternatives.builder()
+                .origin(from)
+                .destination(to)
+                .requested(k)
+                .complete(!context.exceeded())
+                .expandedNodes(context.expanded())
+                .routes(routes)
+                .build();
+    }
+}
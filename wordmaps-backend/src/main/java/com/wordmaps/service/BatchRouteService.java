@@ -0,0 +1,195 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.ShortestPathTree;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RouteBatchEntry;
+import com.wordmaps.model.RouteBatchRequest;
+import com.wordmaps.model.RouteBatchResponse;
+import com.wordmaps.model.RoutePair;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Solves many origin/destination pairs in one call.
+ * <p>
+ * Pairs are grouped by origin and each group runs as one task on a bounded pool: a group
+ * with several destinations builds a single shortest path tree from its origin and walks
+ * it for every destination. That build stops at the batch deadline, and searches give up
+ * once {@code invokeAll} cancels them; whatever has not finished by then is reported as
+ * timed out.
+ */
+@Service
+public class BatchRouteService {
+
+    private static final String DEADLINE_EXCEEDED = "Batch deadline exceeded.";
+
+    private final RouteFinderService routeFinderService;
+    private final GraphService graphService;
+    private final ExecutorService executor;
+    private final int maxPairs;
+    private final long deadlineMillis;
+
+    @Autowired
+    public BatchRouteService(RouteFinderService routeFinderService, GraphService graphService,
+            @Value("${wordmaps.batch.parallelism:0}") int parallelism,
+            @Value("${wordmaps.batch.max-pairs:1000}") int maxPairs,
+            @Value("${wordmaps.batch.deadline-millis:5000}") long deadlineMillis) {
+        this.routeFinderService = routeFinderService;
+        this.graphService = graphService;
+        this.maxPairs = maxPairs;
+        this.deadlineMillis = deadlineMillis;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "route-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public RouteBatchResponse findRoutes(RouteBatchRequest request) {
+        List<RoutePair> pairs = request.getPairs();
+        if (pairs == null || pairs.isEmpty())
+            throw new IllegalArgumentException("Batch must contain at least one pair.");
+        if (pairs.size() > maxPairs)
+            throw new IllegalArgumentException("Batch exceeds the limit of " + maxPairs + " pairs.");
+
+        long start = System.nanoTime();
+        long budgetMillis = request.getDeadlineMillis() == null
+                ? deadlineMillis
+                : Math.max(1, Math.min(request.getDeadlineMillis(), deadlineMillis));
+
+        // Group pair indexes by normalised origin, keeping request order
+        Map<String, List<Integer>> byOrigin = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            RoutePair pair = pairs.get(i);
+            String origin = pair.getOrigin() == null ? "" : pair.getOrigin().toUpperCase();
+            byOrigin.computeIfAbsent(origin, k -> new ArrayList<>()).add(i);
+        }
+
+        AtomicReferenceArray<RouteBatchEntry> entries = new AtomicReferenceArray<>(pairs.size());
+        WordGraph graph = graphService.getGraph();
+        long deadlineNanos = start + budgetMillis * 1_000_000;
+        List<Callable<Void>> tasks = new ArrayList<>(byOrigin.size());
+        for (Map.Entry<String, List<Integer>> group : byOrigin.entrySet()) {
+            tasks.add(graphService.inCurrentDictionary(() -> {
+                long remainingMillis = Math.max(1, (deadlineNanos - System.nanoTime()) / 1_000_000);
+                solveGroup(graph, group.getKey(), group.getValue(), pairs, entries, remainingMillis);
+                return null;
+            }));
+        }
+
+        try {
+            executor.invokeAll(tasks, budgetMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        RouteBatchEntry[] results = new RouteBatchEntry[pairs.size()];
+        int solved = 0;
+        int failed = 0;
+        int timedOut = 0;
+        for (int i = 0; i < results.length; i++) {
+            RouteBatchEntry entry = entries.get(i);
+            if (entry == null) {
+                entry = entry(pairs.get(i), RouteBatchEntry.TIMED_OUT, null, DEADLINE_EXCEEDED);
+            }
+            switch (entry.getStatus()) {
+                case RouteBatchEntry.SOLVED -> solved++;
+                case RouteBatchEntry.TIMED_OUT -> timedOut++;
+                default -> failed++;
+            }
+            results[i] = entry;
+        }
+
+        return RouteBatchResponse.builder()
+                .solved(solved)
+                .failed(failed)
+                .timedOut(timedOut)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private void solveGroup(WordGraph graph, String origin, List<Integer> indexes, List<RoutePair> pairs,
+            AtomicReferenceArray<RouteBatchEntry> entries, long remainingMillis) {
+        if (indexes.size() == 1) {
+            int index = indexes.get(0);
+            entries.set(index, solveSingle(pairs.get(index)));
+            return;
+        }
+
+        ShortestPathTree tree = null;
+        for (int index : indexes) {
+            if (Thread.currentThread().isInterrupted())
+                return;
+            RoutePair pair = pairs.get(index);
+            String destination = pair.getDestination() == null ? "" : pair.getDestination().toUpperCase();
+            try {
+                routeFinderService.validatePair(origin, destination);
+                if (tree == null) {
+                    SearchContext context = SearchContext.of(0, remainingMillis);
+                    tree = ShortestPathTree.build(graph, routeFinderService.idOf(graph, origin), context);
+                }
+                List<String> path = tree.pathTo(graph, routeFinderService.idOf(graph, destination));
+                entries.set(index, path == null
+                        ? entry(pair, RouteBatchEntry.FAILED, null, "No route found.")
+                        : entry(pair, RouteBatchEntry.SOLVED, routeFinderService.toRoute(origin, destination, path), null));
+            } catch (IllegalArgumentException e) {
+                entries.set(index, entry(pair, RouteBatchEntry.FAILED, null, e.getMessage()));
+            } catch (SearchBudgetExceededException e) {
+                return; // the rest of the group is reported as timed out
+            }
+        }
+    }
+
+    private RouteBatchEntry solveSingle(RoutePair pair) {
+        try {
+            if (pair.getOrigin() == null || pair.getDestination() == null)
+                throw new IllegalArgumentException("Origin and destination are required.");
+            Route route = routeFinderService.findFastestRoute(pair.getOrigin(), pair.getDestination());
+            return route == null
+                    ? entry(pair, RouteBatchEntry.FAILED, null, "No route found.")
+                    : entry(pair, RouteBatchEntry.SOLVED, route, null);
+        } catch (IllegalArgumentException e) {
+            return entry(pair, RouteBatchEntry.FAILED, null, e.getMessage());
+        } catch (SearchBudgetExceededException e) {
+            // Interrupted means invokeAll cancelled it at the batch deadline, not that its own budget ran out
+            if (Thread.currentThread().isInterrupted())
+                return entry(pair, RouteBatchEntry.TIMED_OUT, null, DEADLINE_EXCEEDED);
+            return entry(pair, RouteBatchEntry.FAILED, null, e.getMessage());
+        }
+    }
+
+    private static RouteBatchEntry entry(RoutePair pair, String status, Route route, String error) {
+        return RouteBatchEntry.builder()
+                .origin(pair.getOrigin())
+                .destination(pair.getDestination())
+                .status(status)
+                .route(route)
+                .error(error)
+                .build();
+    }
+}
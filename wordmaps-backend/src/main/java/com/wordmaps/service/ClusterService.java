@@ -1,20 +1,20 @@
 package com.wordmaps.service;
 
-import org.jgrapht.Graph;
-import org.jgrapht.alg.clustering.LabelPropagationClustering;
-import org.jgrapht.alg.connectivity.ConnectivityInspector;
-import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
-
-import org.jgrapht.graph.DefaultEdge;
+import com.wordmaps.graph.CommunityIndex;
+import com.wordmaps.graph.ComponentIndex;
+import com.wordmaps.graph.WordGraph;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class ClusterService {
 
+    public static final int MAX_COMMUNITY_RESULTS = 100;
+
     private final GraphService graphService;
 
     @Autowired
@@ -23,36 +23,110 @@ public class ClusterService {
     }
 
     public Map<String, Object> getGraphStats() {
-        Graph<String, DefaultEdge> graph = graphService.getGraph();
+        return getGraphStats(GraphService.LadderMode.SUBSTITUTION);
+    }
+
+    /** Stats of the substitution graph, or of the insert/delete ladder graph in EDIT mode. */
+    public Map<String, Object> getGraphStats(GraphService.LadderMode mode) {
+        WordGraph substitutions = graphService.getGraph();
+        WordGraph graph = mode == GraphService.LadderMode.EDIT ? substitutions.editGraph() : substitutions;
         Map<String, Object> stats = new HashMap<>();
-        stats.put("vertexCount", graph.vertexSet().size());
-        stats.put("edgeCount", graph.edgeSet().size());
+        stats.put("vertexCount", graph.vertexCount());
+        stats.put("edgeCount", graph.edgeCount());
+        if (mode == GraphService.LadderMode.EDIT) {
+            stats.put("insertDeleteEdgeCount", graph.edgeCount() - substitutions.edgeCount());
+        }
+
+        // Connectivity, from the component index built with the graph
+        ComponentIndex components = graph.components();
+        stats.put("connectedComponents", components.count());
+        stats.put("largestComponentSize", components.largestSize());
+        stats.put("largestComponentSizes", components.largestSizes(10));
 
-        // Connectivity
-        ConnectivityInspector<String, DefaultEdge> inspector = new ConnectivityInspector<>(graph);
-        stats.put("connectedComponents", inspector.connectedSets().size());
+        // Memory, per word length, of the graph and the indexes built for it
+        Map<Integer, Long> bytesByLength = graph.bytesByLength();
+        stats.put("bytesByLength", bytesByLength);
+        stats.put("totalBytes", bytesByLength.values().stream().mapToLong(Long::longValue).sum());
 
         return stats;
     }
 
     public List<String> getIsolatedNodes() {
-        Graph<String, DefaultEdge> graph = graphService.getGraph();
-        return graph.vertexSet().stream()
-                .filter(v -> graph.degreeOf(v) == 0)
+        WordGraph graph = graphService.getGraph();
+        return IntStream.range(0, graph.vertexCount())
+                .filter(id -> graph.components().componentSizeOf(id) == 1)
+                .mapToObj(graph::word)
                 .collect(Collectors.toList());
     }
 
     public List<String> getTopConnectedNodes(int limit) {
-        Graph<String, DefaultEdge> graph = graphService.getGraph();
-        return graph.vertexSet().stream()
-                .sorted((v1, v2) -> Integer.compare(graph.degreeOf(v2), graph.degreeOf(v1)))
+        WordGraph graph = graphService.getGraph();
+        return IntStream.range(0, graph.vertexCount())
+                .boxed()
+                .sorted((v1, v2) -> Integer.compare(graph.degree(v2), graph.degree(v1)))
                 .limit(limit)
+                .map(graph::word)
                 .collect(Collectors.toList());
     }
 
-    public ClusteringAlgorithm.Clustering<String> detectCommunities() {
-        Graph<String, DefaultEdge> graph = graphService.getGraph();
-        LabelPropagationClustering<String, DefaultEdge> alg = new LabelPropagationClustering<>(graph);
-        return alg.getClustering();
+    /** Communities of the current graph, computed by its first caller and cached with the graph. */
+    public CommunityIndex detectCommunities() {
+        return graphService.getGraph().communities();
+    }
+
+    /**
+     * The {@code limit} largest communities with their sizes and, when {@code community} is
+     * given, a page of its members starting at {@code offset}. Limits are capped at
+     * {@value #MAX_COMMUNITY_RESULTS}.
+     */
+    public Map<String, Object> getCommunities(Integer community, int offset, int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be positive.");
+        if (offset < 0)
+            throw new IllegalArgumentException("Offset must not be negative.");
+        WordGraph graph = graphService.getGraph();
+        CommunityIndex communities = graph.communities();
+        int count = Math.min(Math.min(limit, MAX_COMMUNITY_RESULTS), communities.count());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("communityCount", communities.count());
+        result.put("rounds", communities.rounds());
+        List<Map<String, Object>> largest = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) { // community ids are ordered by size
+            largest.add(Map.of("id", c, "size", communities.size(c)));
+        }
+        result.put("communities", largest);
+
+        if (community != null) {
+            if (community < 0 || community >= communities.count())
+                throw new IllegalArgumentException("Unknown community: " + community + ".");
+            int from = communities.membersStart(community) + offset;
+            int to = Math.min(communities.membersEnd(community), from + Math.min(limit, MAX_COMMUNITY_RESULTS));
+            List<String> members = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                members.add(graph.word(communities.memberAt(i)));
+            }
+            result.put("community", community);
+            result.put("size", communities.size(community));
+            result.put("offset", offset);
+            result.put("members", members);
+        }
+        return result;
+    }
+
+    /** Community of one word and its size, read from the cached communities. */
+    public Map<String, Object> getWordCommunity(String word) {
+        WordGraph graph = graphService.getGraph();
+        String normalized = word.toUpperCase();
+        int id = graph.id(normalized);
+        if (id < 0)
+            throw new IllegalArgumentException("Word does not exist in the dictionary.");
+        CommunityIndex communities = graph.communities();
+        int community = communities.communityOf(id);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("word", normalized);
+        result.put("community", community);
+        result.put("size", communities.size(community));
+        return result;
     }
 }
@@ -0,0 +1,223 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Named dictionaries besides the default one, loaded on first use and kept within a memory budget.
+ * <p>
+ * Dictionary {@code name} is {@code <path>/<name>/} (its {@code .txt} files) or
+ * {@code <path>/<name>.txt}, loaded with the length range of {@link DictionarySettings}.
+ * Concurrent first requests for a name wait for a single build. Loaded graphs are kept in
+ * least-recently-used order and evicted once their resident bytes exceed {@code maxBytes}; the
+ * dictionary just loaded is never evicted, and one that alone exceeds the budget has lengths
+ * trimmed by the builder. Requests that already hold an evicted graph finish on it.
+ * <p>
+ * A request selects its dictionary with {@link #select(String)}, which binds the graph to the
+ * calling thread until {@link #clearSelection()}; {@link GraphService#getGraph()} then returns it.
+ */
+@Component
+public class DictionaryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DictionaryRegistry.class);
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9_-]{1,32}");
+
+    private final String path;
+    private final String defaultName;
+    private final long maxBytes;
+    private final DictionarySettings settings;
+
+    private final ThreadLocal<WordGraph> selected = new ThreadLocal<>();
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** A dictionary being loaded or loaded; {@code bytes} is set once the graph is built. */
+    private static final class Slot {
+        final CompletableFuture<WordGraph> graph = new CompletableFuture<>();
+        long bytes = -1;
+    }
+
+    @Autowired
+    public DictionaryRegistry(@Value("${wordmaps.dictionaries.path:}") String path,
+            @Value("${wordmaps.dictionaries.default-name:en}") String defaultName,
+            @Value("${wordmaps.dictionaries.max-bytes:268435456}") long maxBytes,
+            DictionarySettings settings) {
+        this.path = path == null ? "" : path.trim();
+        this.defaultName = defaultName;
+        this.maxBytes = maxBytes;
+        this.settings = settings;
+    }
+
+    /** Only the default dictionary. */
+    public static DictionaryRegistry none() {
+        return new DictionaryRegistry("", "en", 0, DictionarySettings.bundled());
+    }
+
+    public String getDefaultName() {
+        return defaultName;
+    }
+
+    /**
+     * Binds dictionary {@code name} to the calling thread, loading it if needed; null or the
+     * default name selects the default dictionary. Throws IllegalArgumentException for an unknown
+     * name.
+     */
+    public void select(String name) {
+        if (name == null || name.isBlank() || name.equalsIgnoreCase(defaultName)) {
+            selected.remove();
+        } else {
+            selected.set(get(name.toLowerCase()));
+        }
+    }
+
+    /** Binds {@code graph} to the calling thread, e.g. to carry a request's selection onto a worker. */
+    public void select(WordGraph graph) {
+        if (graph == null) {
+            selected.remove();
+        } else {
+            selected.set(graph);
+        }
+    }
+
+    public void clearSelection() {
+        selected.remove();
+    }
+
+    /** The graph bound to the calling thread, or null for the default dictionary. */
+    public WordGraph selected() {
+        return selected.get();
+    }
+
+    /** Graph of dictionary {@code name}, built by the first caller and awaited by the others. */
+    WordGraph get(String name) {
+        Slot slot;
+        boolean owner = false;
+        synchronized (this) {
+            slot = slots.get(name);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(name, slot);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                WordGraph graph = load(name);
+                admit(slot, graph);
+                slot.graph.complete(graph);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    slots.remove(name, slot);
+                }
+                slot.graph.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return slot.graph.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private WordGraph load(String name) {
+        if (!NAME.matcher(name).matches())
+            throw new IllegalArgumentException("Unknown dictionary: " + name + ".");
+        List<Path> files = files(name);
+        if (files.isEmpty())
+            throw new IllegalArgumentException("Unknown dictionary: " + name + ".");
+
+        long start = System.nanoTime();
+        WordGraphBuilder builder = new WordGraphBuilder()
+                .forkJoinPool(ForkJoinPool.commonPool())
+                .lengthRange(settings.getMinLength(), settings.getMaxLength())
+                .maxBytes(maxBytes, WordGraphBuilder.OverBudget.TRIM);
+        for (Path file : files) {
+            GraphService.loadWords(builder, file);
+        }
+        WordGraph graph = builder.build();
+        GraphService.buildIndexes(graph, ForkJoinPool.commonPool());
+        loads.increment();
+        log.info("Dictionary {} loaded in {} ms (V={}, E={})", name, (System.nanoTime() - start) / 1_000_000,
+                graph.vertexCount(), graph.edgeCount());
+        return graph;
+    }
+
+    private List<Path> files(String name) {
+        if (path.isEmpty())
+            return List.of();
+        Path root = Path.of(path);
+        Path directory = root.resolve(name);
+        Path file = root.resolve(name + ".txt");
+        try {
+            if (Files.isDirectory(directory))
+                return DictionarySettings.files(directory);
+            return Files.isRegularFile(file) ? List.of(file) : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Accounts a newly built graph and evicts least recently used dictionaries over the budget. */
+    private synchronized void admit(Slot slot, WordGraph graph) {
+        slot.bytes = graph.bytesByLength().values().stream().mapToLong(Long::longValue).sum();
+        residentBytes += slot.bytes;
+        if (maxBytes <= 0)
+            return;
+        Iterator<Map.Entry<String, Slot>> eldest = slots.entrySet().iterator();
+        while (residentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Slot> entry = eldest.next();
+            Slot candidate = entry.getValue();
+            if (candidate == slot || candidate.bytes < 0)
+                continue; // the new dictionary, or one still loading
+            residentBytes -= candidate.bytes;
+            eldest.remove();
+            evictions.increment();
+            log.info("Evicted dictionary {} ({} bytes) to stay within {} bytes", entry.getKey(), candidate.bytes,
+                    maxBytes);
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        List<Map<String, Object>> loaded = new ArrayList<>();
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            if (slot.bytes >= 0) {
+                WordGraph graph = slot.graph.getNow(null);
+                loaded.add(Map.of("name", entry.getKey(), "bytes", slot.bytes,
+                        "vertices", graph == null ? 0 : graph.vertexCount()));
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("default", defaultName);
+        stats.put("maxBytes", maxBytes);
+        stats.put("residentBytes", residentBytes);
+        stats.put("loaded", loaded); // least recently used first
+        stats.put("loads", loads.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,95 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.WordGraphBuilder.OverBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Where the dictionary comes from and how much of it the graph may hold.
+ * <p>
+ * A blank {@code path} serves the word lists bundled on the classpath. Otherwise it names a
+ * word list file, or a directory whose {@code .txt} files are all loaded, one word per line.
+ * Words outside {@code minLength..maxLength} are skipped, and with a positive {@code maxBytes}
+ * the build keeps the estimated graph size under that ceiling as {@code overBudget} dictates.
+ */
+@Component
+public class DictionarySettings {
+
+    private final String path;
+    private final int minLength;
+    private final int maxLength;
+    private final long maxBytes;
+    private final OverBudget overBudget;
+
+    @Autowired
+    public DictionarySettings(@Value("${wordmaps.dictionary.path:}") String path,
+            @Value("${wordmaps.dictionary.min-length:2}") int minLength,
+            @Value("${wordmaps.dictionary.max-length:15}") int maxLength,
+            @Value("${wordmaps.dictionary.max-bytes:0}") long maxBytes,
+            @Value("${wordmaps.dictionary.over-budget:TRIM}") OverBudget overBudget) {
+        if (minLength < 1 || maxLength < minLength)
+            throw new IllegalArgumentException("Invalid dictionary length range " + minLength + ".." + maxLength);
+        this.path = path == null ? "" : path.trim();
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.maxBytes = maxBytes;
+        this.overBudget = overBudget;
+    }
+
+    /** The bundled word lists with the default length range and no memory ceiling. */
+    public static DictionarySettings bundled() {
+        return new DictionarySettings("", 2, 15, 0, OverBudget.TRIM);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public OverBudget getOverBudget() {
+        return overBudget;
+    }
+
+    public boolean isExternal() {
+        return !path.isEmpty();
+    }
+
+    /** The word list files to load: {@code path} itself, or the {@code .txt} files in it sorted by name. */
+    public List<Path> files() throws IOException {
+        return files(Path.of(path));
+    }
+
+    /** {@code source} itself if it is a file, otherwise its {@code .txt} files sorted by name. */
+    static List<Path> files(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            if (!Files.isRegularFile(source))
+                throw new IOException("Dictionary not found: " + source);
+            return List.of(source);
+        }
+        try (Stream<Path> entries = Files.list(source)) {
+            return entries.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".txt"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.ComponentIndex;
+import com.wordmaps.graph.GraphAnalytics;
+import com.wordmaps.graph.MultiSourceBfs;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Puzzle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Random puzzles and distance analytics, both served from one {@link GraphAnalytics} pass per
+ * graph. The pass runs on the common pool when first needed after startup, a dictionary update
+ * or the first request for a named dictionary; until then every request reads the cached result.
+ * Concurrent first requests for a graph wait for a single pass, without holding up requests for
+ * graphs already computed. Each request reads one graph and passes it along, so a dictionary
+ * update in between cannot mix ids of one graph with analytics of another.
+ */
+@Service
+public class GraphAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphAnalyticsService.class);
+
+    private static final Set<String> DIFFICULTIES = Set.of("EASY", "MEDIUM", "HARD");
+
+    private final GraphService graphService;
+    private final int maxSources;
+    private final int samplesPerBucket;
+
+    // Replaced after a snapshot restore, so restored instances do not share one sequence
+    private volatile SecureRandom random = new SecureRandom();
+
+    // Keyed by graph identity; an entry goes once its graph is replaced or its dictionary evicted
+    private final Map<WordGraph, CompletableFuture<GraphAnalytics>> cached = new WeakHashMap<>();
+
+    public GraphAnalyticsService(GraphService graphService) {
+        this(graphService, 20_000, 256);
+    }
+
+    @Autowired
+    public GraphAnalyticsService(GraphService graphService,
+            @Value("${wordmaps.analytics.max-sources:20000}") int maxSources,
+            @Value("${wordmaps.puzzles.samples-per-bucket:256}") int samplesPerBucket) {
+        this.graphService = graphService;
+        this.maxSources = maxSources;
+        this.samplesPerBucket = samplesPerBucket;
+    }
+
+    /** Starts a new random sequence for puzzles, seeded from the operating system on first use. */
+    public void reseed() {
+        random = new SecureRandom();
+    }
+
+    /** Analytics of {@code graph}, computed by its first caller and awaited by the others. */
+    public GraphAnalytics getAnalytics(WordGraph graph) {
+        CompletableFuture<GraphAnalytics> future;
+        boolean owner = false;
+        synchronized (cached) {
+            future = cached.get(graph);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                cached.put(graph, future);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                long start = System.nanoTime();
+                GraphAnalytics analytics = GraphAnalytics.of(graph, ForkJoinPool.commonPool(), maxSources,
+                        samplesPerBucket);
+                log.info("Graph analytics computed in {} ms from {} sources (V={})",
+                        (System.nanoTime() - start) / 1_000_000, analytics.sourceCount(), graph.vertexCount());
+                future.complete(analytics);
+            } catch (RuntimeException e) {
+                synchronized (cached) {
+                    cached.remove(graph, future);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * A random pair whose shortest ladder has the given difficulty, or null if there is none.
+     * Distances are drawn in proportion to how many pairs lie at each distance, then a pair is
+     * drawn from that distance's sample. Null {@code length} or {@code difficulty} means any.
+     */
+    public Puzzle randomPuzzle(Integer length, String difficulty) {
+        String wanted = difficulty == null ? null : difficulty.toUpperCase();
+        if (wanted != null && !DIFFICULTIES.contains(wanted))
+            throw new IllegalArgumentException("Difficulty must be one of EASY, MEDIUM or HARD.");
+        if (length != null && length < 1)
+            throw new IllegalArgumentException("Length must be positive.");
+
+        WordGraph graph = graphService.getGraph();
+        GraphAnalytics analytics = getAnalytics(graph);
+        int fromLength = length == null ? 1 : length;
+        int toLength = length == null ? graph.maxWordLength() : length;
+
+        List<int[]> buckets = new ArrayList<>();
+        List<Long> weights = new ArrayList<>();
+        long total = 0;
+        for (int l = fromLength; l <= toLength; l++) {
+            for (int d = 1; d <= analytics.maxDistance(); d++) {
+                if (analytics.sampleCount(l, d) == 0)
+                    continue;
+                if (wanted != null && !wanted.equals(RouteFinderService.difficultyOf(d)))
+                    continue;
+                buckets.add(new int[] { l, d });
+                weights.add(analytics.pairs(l, d));
+                total += analytics.pairs(l, d);
+            }
+        }
+        if (buckets.isEmpty())
+            return null;
+
+        SecureRandom random = this.random;
+        long pick = random.nextLong(Math.max(1, total));
+        int chosen = 0;
+        while (chosen + 1 < buckets.size() && pick >= weights.get(chosen)) {
+            pick -= weights.get(chosen++);
+        }
+        int l = buckets.get(chosen)[0];
+        int d = buckets.get(chosen)[1];
+        long pair = analytics.samplePair(l, d, random.nextInt(analytics.sampleCount(l, d)));
+        int u = (int) (pair >>> 32);
+        int v = (int) pair;
+        if (random.nextBoolean()) {
+            int swap = u;
+            u = v;
+            v = swap;
+        }
+        return Puzzle.builder()
+                .origin(graph.word(u))
+                .destination(graph.word(v))
+                .length(l)
+                .steps(d)
+                .difficulty(RouteFinderService.difficultyOf(d))
+                .build();
+    }
+
+    /**
+     * Diameter, average ladder length and the distance distribution over all connected pairs,
+     * plus the size and diameter of the {@code limit} largest components.
+     */
+    public Map<String, Object> getGraphAnalytics(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be positive.");
+        WordGraph graph = graphService.getGraph();
+        GraphAnalytics analytics = getAnalytics(graph);
+        ComponentIndex components = graph.components();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("exact", analytics.isExact());
+        result.put("sources", analytics.sourceCount());
+        int diameter = 0;
+        for (int c = 0; c < components.count(); c++) {
+            diameter = Math.max(diameter, analytics.componentDiameter(c));
+        }
+        result.put("diameter", diameter);
+        result.put("averageLadderLength", Math.round(analytics.averageDistance() * 1000) / 1000.0);
+        Map<Integer, Long> distribution = new TreeMap<>();
+        long[] counts = analytics.distanceDistribution();
+        for (int d = 1; d < counts.length; d++) {
+            distribution.put(d, counts[d]);
+        }
+        result.put("distanceDistribution", distribution);
+        result.put("components", IntStream.range(0, components.count())
+                .boxed()
+                .sorted(Comparator.comparingInt(components::size).reversed())
+                .limit(limit)
+                .map(c -> Map.of("size", components.size(c), "diameter", analytics.componentDiameter(c)))
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    /** Greatest ladder distance from {@code word} to any word it can reach. */
+    public Map<String, Object> getEccentricity(String word) {
+        WordGraph graph = graphService.getGraph();
+        String normalized = word.toUpperCase();
+        int id = graph.id(normalized);
+        if (id < 0)
+            throw new IllegalArgumentException("Word does not exist in the dictionary.");
+        GraphAnalytics analytics = getAnalytics(graph);
+        int eccentricity = analytics.eccentricity(id);
+        if (eccentricity < 0) {
+            // Not one of the sampled sources: a single-source run answers it
+            eccentricity = new MultiSourceBfs(graph).run(new int[] { id }, 0, 1, (w, sources, distance) -> {
+            });
+        }
+        int component = graph.components().componentOf(id);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("word", normalized);
+        result.put("eccentricity", eccentricity);
+        result.put("componentSize", graph.components().size(component));
+        result.put("componentDiameter", analytics.componentDiameter(component));
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.wordmaps.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/** Publishes the loaded graph's size and how long {@link GraphService#init()} took. */
+@Component
+public class GraphMetrics implements MeterBinder {
+
+    private final GraphService graphService;
+
+    @Autowired
+    public GraphMetrics(GraphService graphService) {
+        this.graphService = graphService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("wordmaps.graph.init", graphService, TimeUnit.NANOSECONDS, GraphService::getInitNanos)
+                .description("Time to load the word graph at startup")
+                .register(registry);
+        Gauge.builder("wordmaps.graph.vertices", graphService, service -> service.getGraph().vertexCount())
+                .description("Words in the loaded graph")
+                .register(registry);
+        Gauge.builder("wordmaps.graph.edges", graphService, service -> service.getGraph().edgeCount())
+                .description("Edges in the loaded graph")
+                .register(registry);
+    }
+}
@@ -1,134 +1,434 @@
 package com.wordmaps.service;
 
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.GraphSnapshot;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder;
+import com.wordmaps.graph.WordGraphUpdate;
+import com.wordmaps.model.DictionaryUpdate;
 import jakarta.annotation.PostConstruct;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 @Service
 public class GraphService {
 
-    private final Graph<String, DefaultEdge> wordGraph;
+    private static final Logger log = LoggerFactory.getLogger(GraphService.class);
+
+    public static final int MAX_PATTERN_RESULTS = 50;
+
+    public enum SearchMode {
+        INDEX, REGEX;
+
+        /** The mode named by a request parameter, in any case. */
+        public static SearchMode parse(String mode) {
+            return parseMode(SearchMode.class, mode);
+        }
+    }
+
+    /** Which steps a ladder may take: letter substitutions only, or also single-letter insertions and deletions. */
+    public enum LadderMode {
+        SUBSTITUTION, EDIT;
+
+        /** The mode named by a request parameter, in any case. */
+        public static LadderMode parse(String mode) {
+            return parseMode(LadderMode.class, mode);
+        }
+    }
+
+    /** Throws IllegalArgumentException listing the accepted values, without the enum's class name. */
+    private static <E extends Enum<E>> E parseMode(Class<E> type, String mode) {
+        for (E value : type.getEnumConstants()) {
+            if (value.name().equalsIgnoreCase(mode))
+                return value;
+        }
+        List<String> accepted = new ArrayList<>();
+        for (E value : type.getEnumConstants()) {
+            accepted.add(value.name().toLowerCase());
+        }
+        throw new IllegalArgumentException("Unknown mode '" + mode + "'; use one of "
+                + String.join(", ", accepted) + ".");
+    }
+
+    static final String[] WORD_LISTS = { "words/words-3.txt", "words/words-4.txt", "words/words-5.txt" };
+    static final String DEFAULT_SNAPSHOT = "graph/wordgraph.bin";
+
+    private final EdgeBuilder edgeBuilder;
+    private final String snapshotPath;
+    private final int buildParallelism;
+    private final DictionarySettings dictionary;
+    private final DictionaryRegistry dictionaries;
+    private final Object updateLock = new Object();
+    private volatile WordGraph wordGraph; // replaced whole by updates, never modified in place
+    private long initNanos;
 
-    @Autowired
     public GraphService() {
-        this.wordGraph = new SimpleGraph<>(DefaultEdge.class);
+        this(EdgeBuilder.BUCKET);
+    }
+
+    public GraphService(EdgeBuilder edgeBuilder) {
+        this(edgeBuilder, DEFAULT_SNAPSHOT);
+    }
+
+    public GraphService(EdgeBuilder edgeBuilder, String snapshotPath) {
+        this(edgeBuilder, snapshotPath, 0);
+    }
+
+    public GraphService(EdgeBuilder edgeBuilder, String snapshotPath, int buildParallelism) {
+        this(edgeBuilder, snapshotPath, buildParallelism, DictionarySettings.bundled());
+    }
+
+    public GraphService(EdgeBuilder edgeBuilder, String snapshotPath, int buildParallelism,
+            DictionarySettings dictionary) {
+        this(edgeBuilder, snapshotPath, buildParallelism, dictionary, DictionaryRegistry.none());
+    }
+
+    /**
+     * {@code buildParallelism} threads load and build the default graph; 0 uses every available
+     * processor. Named dictionaries come from {@code dictionaries} when a request selects one.
+     */
+    @Autowired
+    public GraphService(@Value("${wordmaps.graph.edge-builder:BUCKET}") EdgeBuilder edgeBuilder,
+            @Value("${wordmaps.graph.snapshot:" + DEFAULT_SNAPSHOT + "}") String snapshotPath,
+            @Value("${wordmaps.graph.build-parallelism:0}") int buildParallelism,
+            DictionarySettings dictionary,
+            DictionaryRegistry dictionaries) {
+        this.edgeBuilder = edgeBuilder;
+        this.snapshotPath = snapshotPath;
+        this.buildParallelism = buildParallelism;
+        this.dictionary = dictionary;
+        this.dictionaries = dictionaries;
+        this.wordGraph = WordGraph.of();
+    }
+
+    /** Service over an already built graph, for tools and benchmarks that bring their own dictionary. */
+    public static GraphService of(WordGraph graph) {
+        GraphService service = new GraphService();
+        service.wordGraph = graph;
+        return service;
     }
 
     @PostConstruct
     public void init() {
+        int threads = buildParallelism > 0 ? buildParallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
         try {
-            // Load words of length 3, 4, and 5
-            loadWords("words/words-3.txt");
-            loadWords("words/words-4.txt");
-            loadWords("words/words-5.txt");
+            long start = System.nanoTime();
+            List<byte[]> sources = dictionary.isExternal() ? List.of() : readWordLists();
+            WordGraph snapshot = edgeBuilder == EdgeBuilder.BUCKET && !dictionary.isExternal()
+                    ? loadSnapshot(sources)
+                    : null;
+            if (snapshot != null) {
+                buildIndexes(snapshot, pool);
+                wordGraph = snapshot;
+                initNanos = System.nanoTime() - start;
+                log.info("Graph initialised from snapshot in {} ms (V={}, E={})", initNanos / 1_000_000,
+                        wordGraph.vertexCount(), wordGraph.edgeCount());
+                return;
+            }
+
+            WordGraphBuilder builder = new WordGraphBuilder()
+                    .edgeBuilder(edgeBuilder)
+                    .forkJoinPool(pool)
+                    .lengthRange(dictionary.getMinLength(), dictionary.getMaxLength())
+                    .maxBytes(dictionary.getMaxBytes(), dictionary.getOverBudget());
+
+            // One load task per word list
+            List<Runnable> loads = new ArrayList<>();
+            if (dictionary.isExternal()) {
+                for (Path file : dictionary.files()) {
+                    loads.add(() -> loadWords(builder, file));
+                }
+            } else {
+                for (int i = 0; i < WORD_LISTS.length; i++) {
+                    String resourcePath = WORD_LISTS[i];
+                    byte[] content = sources.get(i);
+                    loads.add(() -> loadWords(builder, resourcePath, content));
+                }
+            }
+            if (pool == null) {
+                loads.forEach(Runnable::run);
+            } else {
+                List<ForkJoinTask<?>> submitted = new ArrayList<>(loads.size());
+                for (Runnable load : loads) {
+                    submitted.add(pool.submit(load));
+                }
+                submitted.forEach(ForkJoinTask::join);
+            }
 
             // Build edges
-            buildEdges();
-        } catch (IOException e) {
+            WordGraph built = builder.build();
+            buildIndexes(built, pool);
+            wordGraph = built;
+            for (Map.Entry<Integer, Long> entry : builder.getBuildNanosByLength().entrySet()) {
+                int length = entry.getKey();
+                log.info("Built {} edges for {} words of length {} in {} ms ({})", wordGraph.edgeCount(length),
+                        wordGraph.endIdOfLength(length) - wordGraph.firstIdOfLength(length), length,
+                        entry.getValue() / 1_000_000, edgeBuilder);
+            }
+            for (Map.Entry<Integer, Long> entry : builder.getTrimmedLengths().entrySet()) {
+                log.warn("Dropped words of length {} (~{} bytes) to stay within the dictionary budget of {} bytes",
+                        entry.getKey(), entry.getValue(), dictionary.getMaxBytes());
+            }
+            initNanos = System.nanoTime() - start;
+            log.info("Graph initialised from word lists in {} ms on {} thread(s) (V={}, E={})", initNanos / 1_000_000,
+                    threads, wordGraph.vertexCount(), wordGraph.edgeCount());
+        } catch (IOException | UncheckedIOException e) {
             throw new RuntimeException("Failed to load dictionaries", e);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
         }
     }
 
-    private void loadWords(String resourcePath) throws IOException {
-        ClassPathResource resource = new ClassPathResource(resourcePath);
-        if (!resource.exists()) {
-            System.out.println("Resource not found: " + resourcePath);
+    /** Builds the lazy pattern and landmark indexes up front, side by side when a pool is available. */
+    static void buildIndexes(WordGraph graph, ForkJoinPool pool) {
+        if (pool == null) {
+            graph.patternIndex();
+            graph.landmarks();
             return;
         }
+        ForkJoinTask<?> patternIndex = pool.submit(graph::patternIndex);
+        graph.landmarks();
+        patternIndex.join();
+    }
+
+    private List<byte[]> readWordLists() throws IOException {
+        List<byte[]> sources = new ArrayList<>();
+        for (String resourcePath : WORD_LISTS) {
+            ClassPathResource resource = new ClassPathResource(resourcePath);
+            if (!resource.exists()) {
+                log.warn("Resource not found: {}", resourcePath);
+                sources.add(new byte[0]);
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                sources.add(in.readAllBytes());
+            }
+        }
+        return sources;
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-            String line;
-            int count = 0;
-            while ((line = reader.readLine()) != null) {
-                String word = line.trim().toUpperCase();
-                if (!word.isEmpty()) {
-                    wordGraph.addVertex(word);
-                    count++;
+    /**
+     * Maps the prebuilt snapshot of the bundled lists, or returns null if it is missing, stale or
+     * does not satisfy the dictionary settings, so the caller falls back to text.
+     */
+    private WordGraph loadSnapshot(List<byte[]> sources) {
+        if (snapshotPath == null || snapshotPath.isBlank() || dictionary.getMaxBytes() > 0)
+            return null;
+        ClassPathResource resource = new ClassPathResource(snapshotPath);
+        if (!resource.exists()) {
+            log.info("Graph snapshot not found: {}, falling back to word lists", snapshotPath);
+            return null;
+        }
+        long expectedChecksum = GraphSnapshot.sourceChecksum(sources);
+        try {
+            WordGraph snapshot;
+            if (resource.isFile()) {
+                snapshot = GraphSnapshot.map(resource.getFile().toPath(), expectedChecksum);
+            } else {
+                // Packaged inside a jar: no file to map, so decode from a heap copy instead
+                try (InputStream in = resource.getInputStream()) {
+                    snapshot = GraphSnapshot.decode(ByteBuffer.wrap(in.readAllBytes()), expectedChecksum);
                 }
             }
-            System.out.println("Loaded " + count + " words from " + resourcePath);
+            if (snapshot.firstIdOfLength(dictionary.getMinLength()) > 0
+                    || snapshot.maxWordLength() > dictionary.getMaxLength()) {
+                log.info("Graph snapshot {} holds word lengths outside {}..{}, falling back to word lists",
+                        snapshotPath, dictionary.getMinLength(), dictionary.getMaxLength());
+                return null;
+            }
+            return snapshot;
+        } catch (IOException | GraphSnapshot.InvalidSnapshotException e) {
+            log.warn("Graph snapshot {} unusable ({}), falling back to word lists", snapshotPath, e.getMessage());
+            return null;
         }
     }
 
-    private void buildEdges() {
-        // Optimization: Only compare words of the same length
-        Map<Integer, List<String>> wordsByLength = new HashMap<>();
+    private void loadWords(WordGraphBuilder builder, String resourcePath, byte[] content) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            int count = builder.addWords(reader);
+            log.info("Loaded {} words from {}", count, resourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory source, cannot happen
+        }
+    }
 
-        for (String word : wordGraph.vertexSet()) {
-            wordsByLength.computeIfAbsent(word.length(), k -> new ArrayList<>()).add(word);
+    /** Streams one external word list; the file is never read into memory whole. */
+    static void loadWords(WordGraphBuilder builder, Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int count = builder.addWords(reader);
+            log.info("Loaded {} words from {}", count, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        for (List<String> words : wordsByLength.values()) {
-            for (int i = 0; i < words.size(); i++) {
-                for (int j = i + 1; j < words.size(); j++) {
-                    String w1 = words.get(i);
-                    String w2 = words.get(j);
-                    if (differByOne(w1, w2)) {
-                        wordGraph.addEdge(w1, w2);
-                    }
-                }
+    /** Wall-clock time of the last {@link #init()}, 0 before it ran. */
+    public long getInitNanos() {
+        return initNanos;
+    }
+
+    /** The graph of the dictionary selected for this thread's request, the default one if none. */
+    public WordGraph getGraph() {
+        WordGraph selected = dictionaries.selected();
+        return selected != null ? selected : wordGraph;
+    }
+
+    /** Whether this thread's request selected a named dictionary rather than the default one. */
+    public boolean isDictionarySelected() {
+        return dictionaries.selected() != null;
+    }
+
+    public DictionaryRegistry getDictionaries() {
+        return dictionaries;
+    }
+
+    /** Wraps {@code task} to run with the calling thread's dictionary, for work handed to other threads. */
+    public <T> Callable<T> inCurrentDictionary(Callable<T> task) {
+        WordGraph selected = dictionaries.selected();
+        return () -> {
+            dictionaries.select(selected);
+            try {
+                return task.call();
+            } finally {
+                dictionaries.clearSelection();
+            }
+        };
+    }
+
+    /** Adds words (trimmed, upper-cased) to the default dictionary and publishes the updated graph. */
+    public DictionaryUpdate addWords(Collection<String> words) {
+        List<String> accepted = new ArrayList<>(words.size());
+        int rejected = normalize(words, accepted);
+        return update(accepted, List.of(), rejected);
+    }
+
+    /** Removes words (trimmed, upper-cased) from the default dictionary and publishes the updated graph. */
+    public DictionaryUpdate removeWords(Collection<String> words) {
+        List<String> accepted = new ArrayList<>(words.size());
+        int rejected = normalize(words, accepted);
+        return update(List.of(), accepted, rejected);
+    }
+
+    /** Adds one word per line from {@code reader}, in the format of the bundled word lists. */
+    public DictionaryUpdate importWords(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                lines.add(line);
             }
         }
+        return addWords(lines);
     }
 
-    private boolean differByOne(String w1, String w2) {
-        if (w1.length() != w2.length())
-            return false;
-        int diff = 0;
-        for (int i = 0; i < w1.length(); i++) {
-            if (w1.charAt(i) != w2.charAt(i)) {
-                diff++;
+    /**
+     * Derives the next graph from the current one and swaps it in with a single volatile write.
+     * Readers take the graph once per request and keep working on that snapshot; updates are
+     * serialised so none is lost.
+     */
+    private DictionaryUpdate update(Collection<String> add, Collection<String> remove, int rejected) {
+        synchronized (updateLock) {
+            long start = System.nanoTime();
+            WordGraphUpdate update = WordGraphUpdate.apply(wordGraph, add, remove);
+            WordGraph next = update.graph();
+            if (next != wordGraph) {
+                // Build the lazy indexes before publishing, so no request pays for them
+                next.patternIndex();
+                next.landmarks();
+                wordGraph = next;
             }
-            if (diff > 1)
-                return false;
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Dictionary updated in {} ms: {} added, {} removed, {} rejected (V={}, E={})", elapsedMillis,
+                    update.added(), update.removed(), rejected, next.vertexCount(), next.edgeCount());
+            return DictionaryUpdate.builder()
+                    .added(update.added())
+                    .removed(update.removed())
+                    .rejected(rejected)
+                    .vertexCount(next.vertexCount())
+                    .edgeCount(next.edgeCount())
+                    .elapsedMillis(elapsedMillis)
+                    .build();
         }
-        return diff == 1;
     }
 
-    public Graph<String, DefaultEdge> getGraph() {
-        return wordGraph;
+    /** Upper-cases letter-only words into {@code accepted}; returns how many others were skipped. */
+    private static int normalize(Collection<String> words, List<String> accepted) {
+        int rejected = 0;
+        for (String raw : words) {
+            String word = raw == null ? "" : raw.trim().toUpperCase();
+            boolean valid = !word.isEmpty();
+            for (int i = 0; i < word.length() && valid; i++) {
+                char c = word.charAt(i);
+                valid = c <= 0xFF && Character.isLetter(c);
+            }
+            if (valid) {
+                accepted.add(word);
+            } else {
+                rejected++;
+            }
+        }
+        return rejected;
     }
 
     public boolean wordExists(String word) {
-        return wordGraph.containsVertex(word.toUpperCase());
+        return getGraph().contains(word.toUpperCase());
     }
 
-    public Set<DefaultEdge> getEdgesOf(String word) {
-        if (!wordExists(word))
-            return Collections.emptySet();
-        return wordGraph.edgesOf(word.toUpperCase());
+    public List<String> getNeighbors(String word) {
+        return getGraph().neighbors(word.toUpperCase());
     }
 
-    public String getEdgeTarget(String source, DefaultEdge edge) {
-        return wordGraph.getEdgeTarget(edge).equals(source)
-                ? wordGraph.getEdgeSource(edge) // JGraphT edges are undirected in SimpleGraph usually, but
-                                                // getEdgeTarget returns one end.
-                : wordGraph.getEdgeTarget(edge); // If target is source, return source (other end). Actually SimpleGraph
-                                                 // is undirected.
+    public List<String> findWordsByPattern(String pattern) {
+        return findWordsByPattern(pattern, 0, SearchMode.INDEX);
     }
 
-    public List<String> getNeighbors(String word) {
-        String w = word.toUpperCase();
-        if (!wordGraph.containsVertex(w))
-            return Collections.emptyList();
-        return org.jgrapht.Graphs.neighborListOf(wordGraph, w);
-    }
+    /**
+     * Returns up to {@value #MAX_PATTERN_RESULTS} words matching {@code pattern}, skipping the
+     * first {@code offset} matches. INDEX mode resolves "?" patterns from the positional index;
+     * REGEX mode is the original full scan with a user-supplied regular expression.
+     */
+    public List<String> findWordsByPattern(String pattern, int offset, SearchMode mode) {
+        if (offset < 0)
+            throw new IllegalArgumentException("Offset must not be negative.");
+        String normalized = pattern.toUpperCase();
+        WordGraph graph = getGraph();
+        if (mode == SearchMode.INDEX) {
+            return graph.patternIndex().find(normalized, offset, MAX_PATTERN_RESULTS);
+        }
 
-    public List<String> findWordsByPattern(String pattern) {
-        String regex = pattern.toUpperCase().replace("?", ".");
+        String regex = normalized.replace("?", ".");
         java.util.regex.Pattern p = java.util.regex.Pattern.compile(regex);
-        return wordGraph.vertexSet().stream()
-                .filter(v -> p.matcher(v).matches())
-                .limit(50)
-                .collect(java.util.stream.Collectors.toList());
+        List<String> matches = new ArrayList<>();
+        int skipped = 0;
+        for (int id = 0; id < graph.vertexCount() && matches.size() < MAX_PATTERN_RESULTS; id++) {
+            String word = graph.word(id);
+            if (p.matcher(word).matches() && skipped++ >= offset) {
+                matches.add(word);
+            }
+        }
+        return matches;
     }
 }
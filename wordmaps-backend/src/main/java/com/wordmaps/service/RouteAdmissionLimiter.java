@@ -0,0 +1,75 @@
+package com.wordmaps.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many route searches run at once. A request beyond the cap waits up to
+ * {@code queueMillis} for a slot and is then rejected with {@link AdmissionRejectedException},
+ * so a burst of expensive searches cannot hold every request thread. Rejections are counted in
+ * {@link RouteMetrics}.
+ */
+@Component
+public class RouteAdmissionLimiter {
+
+    private final Semaphore slots;
+    private final int maxConcurrent;
+    private final long queueMillis;
+    private final RouteMetrics routeMetrics;
+
+    @Autowired
+    public RouteAdmissionLimiter(@Value("${wordmaps.route.max-concurrent:0}") int maxConcurrent,
+            @Value("${wordmaps.route.queue-millis:50}") long queueMillis,
+            RouteMetrics routeMetrics) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : 2 * Runtime.getRuntime().availableProcessors();
+        this.queueMillis = Math.max(0, queueMillis);
+        this.slots = new Semaphore(this.maxConcurrent, true);
+        this.routeMetrics = routeMetrics;
+    }
+
+    /** A search slot, released by {@link #close()}; meant for try-with-resources. */
+    public final class Permit implements AutoCloseable {
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                slots.release();
+            }
+        }
+    }
+
+    /** Takes a slot for {@code endpoint}, waiting up to the queue time before rejecting. */
+    public Permit acquire(String endpoint) {
+        boolean admitted;
+        try {
+            admitted = queueMillis == 0 ? slots.tryAcquire() : slots.tryAcquire(queueMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            routeMetrics.recordRejected(endpoint);
+            throw new AdmissionRejectedException("Too many route searches in progress; retry shortly.");
+        }
+        return new Permit();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", maxConcurrent - slots.availablePermits());
+        stats.put("queued", slots.getQueueLength());
+        return stats;
+    }
+}
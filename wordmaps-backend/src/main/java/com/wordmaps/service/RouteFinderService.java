@@ -1,71 +1,247 @@
 package com.wordmaps.service;
 
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.ShortestPathTree;
+import com.wordmaps.graph.WordGraph;
 import com.wordmaps.model.Route;
+import com.wordmaps.model.RoutePath;
 import com.wordmaps.model.Transformation;
+import com.wordmaps.service.GraphService.LadderMode;
 import com.wordmaps.strategy.PathFindingStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class RouteFinderService {
 
+    private static final Logger log = LoggerFactory.getLogger(RouteFinderService.class);
+
     private final GraphService graphService;
     private final PathFindingStrategy defaultStrategy;
+    private final String strategyName;
+    private final ShortestPathTreeCache treeCache;
+    private final RouteMetrics routeMetrics;
+    private final long maxExpanded;
+    private final long maxMillis;
+
+    public RouteFinderService(GraphService graphService, PathFindingStrategy defaultStrategy) {
+        this(graphService, defaultStrategy, new ShortestPathTreeCache());
+    }
+
+    public RouteFinderService(GraphService graphService, PathFindingStrategy defaultStrategy,
+            ShortestPathTreeCache treeCache) {
+        this(graphService, defaultStrategy, treeCache, new RouteMetrics(new SimpleMeterRegistry()));
+    }
+
+    public RouteFinderService(GraphService graphService, PathFindingStrategy defaultStrategy,
+            ShortestPathTreeCache treeCache, RouteMetrics routeMetrics) {
+        this(graphService, defaultStrategy, treeCache, routeMetrics, 1_000_000, 500);
+    }
 
     @Autowired
     public RouteFinderService(GraphService graphService,
-            @Qualifier("bfsStrategy") PathFindingStrategy defaultStrategy) {
+            @Qualifier("bidirectionalBfs") PathFindingStrategy defaultStrategy,
+            ShortestPathTreeCache treeCache,
+            RouteMetrics routeMetrics,
+            @Value("${wordmaps.route.max-expanded:1000000}") long maxExpanded,
+            @Value("${wordmaps.route.max-millis:500}") long maxMillis) {
         this.graphService = graphService;
         this.defaultStrategy = defaultStrategy;
+        this.strategyName = defaultStrategy.getClass().getSimpleName();
+        this.treeCache = treeCache;
+        this.routeMetrics = routeMetrics;
+        this.maxExpanded = maxExpanded;
+        this.maxMillis = maxMillis;
+    }
+
+    /** A fresh budget for one strategy call: {@code wordmaps.route.max-expanded} nodes and {@code max-millis}. */
+    public SearchContext newSearchContext() {
+        return SearchContext.of(maxExpanded, maxMillis);
     }
 
     public Route findFastestRoute(String origin, String destination) {
+        return findFastestRoute(origin, destination, LadderMode.SUBSTITUTION);
+    }
+
+    public Route findFastestRoute(String origin, String destination, LadderMode mode) {
+        return findFastestRoute(origin, destination, mode, newSearchContext());
+    }
+
+    /** As {@link #findFastestRoute(String, String, LadderMode)}, searching within {@code context}. */
+    public Route findFastestRoute(String origin, String destination, LadderMode mode, SearchContext context) {
+        RoutePath found = findFastestPath(origin, destination, mode, context);
+        return found == null ? null : toRoute(found.getOrigin(), found.getDestination(), found.getPath());
+    }
+
+    /** Same search as {@link #findFastestRoute}, without expanding the path into transformations. */
+    public RoutePath findFastestPath(String origin, String destination) {
+        return findFastestPath(origin, destination, LadderMode.SUBSTITUTION);
+    }
+
+    /**
+     * Shortest ladder between two words. In {@link LadderMode#EDIT} mode steps may also insert
+     * or delete a letter, so the words may differ in length; those searches, like those on a named
+     * dictionary, skip the tree cache, which is bound to the default substitution graph. A search
+     * that outgrows its budget throws {@link SearchBudgetExceededException}.
+     */
+    public RoutePath findFastestPath(String origin, String destination, LadderMode mode) {
+        return findFastestPath(origin, destination, mode, newSearchContext());
+    }
+
+    /** As {@link #findFastestPath(String, String, LadderMode)}, with {@code budget} for the strategy search. */
+    public RoutePath findFastestPath(String origin, String destination, LadderMode mode, SearchContext budget) {
         String from = origin.toUpperCase();
         String to = destination.toUpperCase();
+        validatePair(from, to, mode);
 
-        if (!graphService.wordExists(from) || !graphService.wordExists(to)) {
-            System.out.println("Word existence check failed: " + from + "=" + graphService.wordExists(from) + ", " + to
-                    + "=" + graphService.wordExists(to));
-            throw new IllegalArgumentException("One or both words do not exist in the dictionary.");
+        WordGraph graph = graphService.getGraph();
+        if (mode == LadderMode.EDIT) {
+            graph = graph.editGraph();
         }
-
-        if (from.length() != to.length()) {
-            throw new IllegalArgumentException("Words must be of the same length.");
+        log.debug("Finding path from {} to {}", from, to);
+        if (log.isTraceEnabled()) {
+            log.trace("Graph info: V={}, E={}", graph.vertexCount(), graph.edgeCount());
         }
 
-        System.out.println("Finding path from " + from + " to " + to);
-        if (graphService.getGraph() != null) {
-            System.out.println("Graph info: V=" + graphService.getGraph().vertexSet().size() + ", E="
-                    + graphService.getGraph().edgeSet().size());
+        long start = System.nanoTime();
+        int originId = idOf(graph, from);
+        int destinationId = idOf(graph, to);
+        if (!graph.components().connected(originId, destinationId)) {
+            log.debug("No route: {} and {} are in different components", from, to);
+            routeMetrics.recordRoute(RouteMetrics.COMPONENT_INDEX, System.nanoTime() - start, null, null);
+            return null;
         }
 
-        System.out.println("Invoking strategy...");
-        List<String> path = defaultStrategy.findPath(graphService.getGraph(), from, to);
-        System.out.println("Strategy returned: " + path);
+        List<String> path;
+        String source;
+        SearchContext context = null;
+        ShortestPathTree tree;
+        try {
+            tree = mode == LadderMode.SUBSTITUTION && !graphService.isDictionarySelected()
+                    ? treeCache.get(graph, originId, budget)
+                    : null;
+        } catch (SearchBudgetExceededException e) {
+            log.debug("Shortest path tree of {} gave up: {}", from, e.getMessage());
+            routeMetrics.recordBudgetExceeded(RouteMetrics.TREE_CACHE, System.nanoTime() - start, budget);
+            throw e;
+        }
+        if (tree != null) {
+            if (budget.expanded() > 0) {
+                context = budget; // this request built the tree
+            }
+            path = tree.pathTo(graph, destinationId);
+            source = RouteMetrics.TREE_CACHE;
+            log.debug("Shortest path tree of {} returned: {}", from, path);
+        } else {
+            context = budget;
+            try {
+                path = defaultStrategy.findPath(graph, from, to, context);
+            } catch (SearchBudgetExceededException e) {
+                log.debug("Strategy {} gave up on {} -> {}: {}", strategyName, from, to, e.getMessage());
+                routeMetrics.recordBudgetExceeded(strategyName, System.nanoTime() - start, context);
+                throw e;
+            }
+            source = strategyName;
+            log.debug("Strategy {} returned: {} ({} nodes expanded)", strategyName, path, context.expanded());
+        }
+        routeMetrics.recordRoute(source, System.nanoTime() - start, context, path);
 
         if (path == null) {
-            System.out.println("Path was null");
+            log.debug("Path was null");
             return null; // or throw Exception
         }
 
+        return RoutePath.builder()
+                .origin(from)
+                .destination(to)
+                .path(path)
+                .routeType("FASTEST")
+                .difficulty(calculateDifficulty(path.size() - 1))
+                .build();
+    }
+
+    /**
+     * Whether a ladder joins two words, answered from the component index without searching.
+     * Pairs that {@link #findFastestPath} would reject throw {@link IllegalArgumentException}.
+     */
+    public boolean routeExists(String origin, String destination, LadderMode mode) {
+        String from = origin.toUpperCase();
+        String to = destination.toUpperCase();
+        validatePair(from, to, mode);
+        WordGraph graph = graphService.getGraph();
+        if (mode == LadderMode.EDIT) {
+            graph = graph.editGraph();
+        }
+        return graph.components().connected(idOf(graph, from), idOf(graph, to));
+    }
+
+    /** Throws IllegalArgumentException unless both (upper-case) words exist and have the same length. */
+    void validatePair(String from, String to) {
+        validatePair(from, to, LadderMode.SUBSTITUTION);
+    }
+
+    /** As {@link #validatePair(String, String)}; words of different lengths are fine in EDIT mode. */
+    void validatePair(String from, String to, LadderMode mode) {
+        if (!graphService.wordExists(from) || !graphService.wordExists(to)) {
+            log.debug("Word existence check failed: {}={}, {}={}", from, graphService.wordExists(from), to,
+                    graphService.wordExists(to));
+            throw new IllegalArgumentException("One or both words do not exist in the dictionary.");
+        }
+
+        if (mode == LadderMode.SUBSTITUTION && from.length() != to.length()) {
+            throw new IllegalArgumentException("Words must be of the same length.");
+        }
+    }
+
+    /**
+     * Id of a validated word in {@code graph}. The graph may have been swapped by a dictionary
+     * update since validation, so a word removed in between is reported like an unknown one.
+     */
+    int idOf(WordGraph graph, String word) {
+        int id = graph.id(word);
+        if (id < 0)
+            throw new IllegalArgumentException("One or both words do not exist in the dictionary.");
+        return id;
+    }
+
+    Route toRoute(String from, String to, List<String> path) {
+        return toRoute(from, to, path, "FASTEST");
+    }
+
+    Route toRoute(String from, String to, List<String> path, String routeType) {
         return Route.builder()
                 .origin(from)
                 .destination(to)
                 .path(path)
                 .steps(path.size() - 1)
-                .routeType("FASTEST")
+                .routeType(routeType)
                 .difficulty(calculateDifficulty(path.size() - 1))
                 .transformations(generateTransformations(path))
                 .build();
     }
 
+    public Map<String, Object> getCacheStats() {
+        return treeCache.getStats();
+    }
+
     // Helper methods
     private String calculateDifficulty(int steps) {
+        return difficultyOf(steps);
+    }
+
+    /** EASY, MEDIUM or HARD for a ladder of {@code steps} steps; puzzles are bucketed the same way. */
+    static String difficultyOf(int steps) {
         if (steps <= 3)
             return "EASY";
         if (steps <= 6)
@@ -84,16 +260,25 @@ public class RouteFinderService {
     }
 
     private Transformation createTransformation(String from, String to, int stepNum) {
-        for (int i = 0; i < from.length(); i++) {
-            if (from.charAt(i) != to.charAt(i)) {
-                return Transformation.builder()
-                        .from(from)
-                        .to(to)
-                        .stepNumber(stepNum)
-                        .description("Change '" + from.charAt(i) + "' -> '" + to.charAt(i) + "' at position " + (i + 1))
-                        .build();
-            }
+        int i = 0;
+        while (i < from.length() && i < to.length() && from.charAt(i) == to.charAt(i)) {
+            i++;
+        }
+        String description;
+        if (from.length() == to.length()) {
+            if (i == from.length())
+                return null;
+            description = "Change '" + from.charAt(i) + "' -> '" + to.charAt(i) + "' at position " + (i + 1);
+        } else if (from.length() < to.length()) {
+            description = "Insert '" + to.charAt(i) + "' at position " + (i + 1);
+        } else {
+            description = "Delete '" + from.charAt(i) + "' at position " + (i + 1);
         }
-        return null;
+        return Transformation.builder()
+                .from(from)
+                .to(to)
+                .stepNumber(stepNum)
+                .description(description)
+                .build();
     }
 }
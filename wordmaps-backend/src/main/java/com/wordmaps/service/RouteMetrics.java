@@ -0,0 +1,127 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.SearchContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for route searches, tagged by what answered the query: the strategy class,
+ * the shortest path tree cache or the component index. Meters are created once per tag and
+ * reused, so recording a route allocates nothing.
+ * <ul>
+ * <li>{@code wordmaps.route.latency} - timer with percentile histogram, tagged {@code found=true|false}</li>
+ * <li>{@code wordmaps.route.expanded.nodes} - nodes taken off the search frontier</li>
+ * <li>{@code wordmaps.route.frontier.peak} - largest frontier seen during the search</li>
+ * <li>{@code wordmaps.route.path.length} - steps of the returned ladder</li>
+ * <li>{@code wordmaps.route.budget.exceeded} - searches stopped by their node or time budget</li>
+ * <li>{@code wordmaps.route.rejected} - requests shed by {@link RouteAdmissionLimiter}, tagged {@code endpoint}</li>
+ * </ul>
+ */
+@Component
+public class RouteMetrics {
+
+    public static final String TREE_CACHE = "ShortestPathTreeCache";
+    public static final String COMPONENT_INDEX = "ComponentIndex";
+
+    private final MeterRegistry registry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RouteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records one route query. {@code context} is null when no search ran, {@code path} is null
+     * when no ladder exists.
+     */
+    public void recordRoute(String source, long nanos, SearchContext context, List<String> path) {
+        Meters m = meters.computeIfAbsent(source, this::register);
+        (path != null ? m.found : m.notFound).record(nanos, TimeUnit.NANOSECONDS);
+        if (context != null) {
+            m.expanded.record(context.expanded());
+            m.frontierPeak.record(context.frontierPeak());
+        }
+        if (path != null) {
+            m.pathLength.record(path.size() - 1);
+        }
+    }
+
+    /** Records a search that {@code context} stopped before it finished. */
+    public void recordBudgetExceeded(String source, long nanos, SearchContext context) {
+        Meters m = meters.computeIfAbsent(source, this::register);
+        m.budgetExceeded.increment();
+        m.notFound.record(nanos, TimeUnit.NANOSECONDS);
+        m.expanded.record(context.expanded());
+        m.frontierPeak.record(context.frontierPeak());
+    }
+
+    /** Records a request turned away before it started searching. */
+    public void recordRejected(String endpoint) {
+        rejected.computeIfAbsent(endpoint, e -> Counter.builder("wordmaps.route.rejected")
+                .description("Route requests rejected by admission control")
+                .tag("endpoint", e)
+                .register(registry))
+                .increment();
+    }
+
+    /** Removes every route meter from the registry; they are registered again when next recorded. */
+    public void reset() {
+        for (Meters m : meters.values()) {
+            for (Meter meter : List.of(m.found, m.notFound, m.expanded, m.frontierPeak, m.pathLength,
+                    m.budgetExceeded)) {
+                registry.remove(meter);
+            }
+        }
+        meters.clear();
+        rejected.values().forEach(registry::remove);
+        rejected.clear();
+    }
+
+    private Meters register(String source) {
+        return new Meters(
+                latency(source, true),
+                latency(source, false),
+                DistributionSummary.builder("wordmaps.route.expanded.nodes")
+                        .description("Nodes expanded per route search")
+                        .tag("strategy", source)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                DistributionSummary.builder("wordmaps.route.frontier.peak")
+                        .description("Largest search frontier per route search")
+                        .tag("strategy", source)
+                        .register(registry),
+                DistributionSummary.builder("wordmaps.route.path.length")
+                        .description("Steps of the returned ladder")
+                        .tag("strategy", source)
+                        .register(registry),
+                Counter.builder("wordmaps.route.budget.exceeded")
+                        .description("Route searches stopped by their node or time budget")
+                        .tag("strategy", source)
+                        .register(registry));
+    }
+
+    private Timer latency(String source, boolean found) {
+        return Timer.builder("wordmaps.route.latency")
+                .description("Route search latency")
+                .tag("strategy", source)
+                .tag("found", Boolean.toString(found))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record Meters(Timer found, Timer notFound, DistributionSummary expanded,
+            DistributionSummary frontierPeak, DistributionSummary pathLength, Counter budgetExceeded) {
+    }
+}
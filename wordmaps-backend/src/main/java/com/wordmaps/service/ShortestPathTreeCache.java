@@ -0,0 +1,120 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.ShortestPathTree;
+import com.wordmaps.graph.WordGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory-bounded LRU of single-source shortest path trees keyed by origin word id.
+ * <p>
+ * A tree is only built once an origin has been asked for {@code admitAfter} times, so
+ * one-off origins keep using the regular point-to-point search. Entries are evicted in
+ * least-recently-used order whenever the retained tree bytes exceed the budget. The cache
+ * is tied to one graph instance and resets itself when the graph changes.
+ */
+@Component
+public class ShortestPathTreeCache {
+
+    private final long maxBytes;
+    private final int admitAfter;
+
+    private final LinkedHashMap<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private WordGraph graph;
+    private AtomicIntegerArray originRequests = new AtomicIntegerArray(0);
+    private long retainedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    public ShortestPathTreeCache() {
+        this(16L * 1024 * 1024, 2);
+    }
+
+    @Autowired
+    public ShortestPathTreeCache(@Value("${wordmaps.route-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${wordmaps.route-cache.admit-after:2}") int admitAfter) {
+        this.maxBytes = maxBytes;
+        this.admitAfter = admitAfter;
+    }
+
+    /**
+     * Returns the tree rooted at {@code origin}, building it if the origin is hot enough,
+     * or null when the caller should fall back to a point-to-point search. A build runs
+     * within {@code context} and, if that runs out, throws without caching anything.
+     */
+    public ShortestPathTree get(WordGraph graph, int origin, SearchContext context) {
+        AtomicIntegerArray requests;
+        synchronized (this) {
+            if (this.graph != graph) {
+                reset(graph);
+            }
+            ShortestPathTree tree = trees.get(origin);
+            if (tree != null) {
+                hits.increment();
+                return tree;
+            }
+            requests = originRequests;
+        }
+        misses.increment();
+        if (maxBytes <= 0 || requests.incrementAndGet(origin) < admitAfter)
+            return null;
+
+        ShortestPathTree tree = ShortestPathTree.build(graph, origin, context);
+        builds.increment();
+        synchronized (this) {
+            if (this.graph == graph && tree.sizeInBytes() <= maxBytes && !trees.containsKey(origin)) {
+                trees.put(origin, tree);
+                retainedBytes += tree.sizeInBytes();
+                evictOverBudget();
+            }
+        }
+        return tree;
+    }
+
+    private void evictOverBudget() {
+        Iterator<ShortestPathTree> eldest = trees.values().iterator();
+        while (retainedBytes > maxBytes && eldest.hasNext()) {
+            retainedBytes -= eldest.next().sizeInBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void reset(WordGraph graph) {
+        this.graph = graph;
+        this.originRequests = new AtomicIntegerArray(graph.vertexCount());
+        trees.clear();
+        retainedBytes = 0;
+    }
+
+    public synchronized void clear() {
+        trees.clear();
+        retainedBytes = 0;
+        if (graph != null) {
+            originRequests = new AtomicIntegerArray(graph.vertexCount());
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("builds", builds.sum());
+        stats.put("entries", trees.size());
+        stats.put("retainedBytes", retainedBytes);
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+}
@@ -0,0 +1,70 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.strategy.PathFindingStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs one query through every registered {@link PathFindingStrategy} and reports ladder length,
+ * nodes expanded, peak frontier and time for each, to compare search effort side by side. Each
+ * strategy gets its own route search budget; one that runs out is reported with
+ * {@code budgetExceeded} instead of a ladder length.
+ */
+@Service
+public class StrategyComparisonService {
+
+    private final GraphService graphService;
+    private final RouteFinderService routeFinderService;
+    private final Map<String, PathFindingStrategy> strategies;
+
+    @Autowired
+    public StrategyComparisonService(GraphService graphService, RouteFinderService routeFinderService,
+            Map<String, PathFindingStrategy> strategies) {
+        this.graphService = graphService;
+        this.routeFinderService = routeFinderService;
+        this.strategies = new TreeMap<>(strategies);
+    }
+
+    public List<Map<String, Object>> compare(String origin, String destination) {
+        String from = origin.toUpperCase();
+        String to = destination.toUpperCase();
+        routeFinderService.validatePair(from, to);
+
+        WordGraph graph = graphService.getGraph();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, PathFindingStrategy> entry : strategies.entrySet()) {
+            SearchContext context = routeFinderService.newSearchContext();
+            long start = System.nanoTime();
+            List<String> path;
+            try {
+                path = entry.getValue().findPath(graph, from, to, context);
+            } catch (SearchBudgetExceededException e) {
+                path = null;
+            }
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("strategy", entry.getKey());
+            result.put("steps", path == null ? null : path.size() - 1);
+            if (context.exceeded()) {
+                result.put("budgetExceeded", true);
+            }
+            if (context.expanded() > 0) { // strategies without native counting leave the context untouched
+                result.put("expandedNodes", context.expanded());
+                result.put("frontierPeak", context.frontierPeak());
+            }
+            result.put("micros", micros);
+            results.add(result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,177 @@
+package com.wordmaps.strategy;
+
+import com.wordmaps.graph.LandmarkIndex;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A* over the CSR graph guided by the Hamming distance to the destination: every step changes
+ * exactly one letter, so the number of differing letters never overestimates the remaining
+ * ladder and the heuristic is consistent. On an {@link WordGraph#editGraph() edit graph} an
+ * insertion and a deletion can shift every letter at once, so only the landmark bound is used.
+ * <p>
+ * The open set is a binary heap of packed {@code (f, h, word)} longs, so ties on {@code f} go to
+ * the word closest to the destination. Per-thread state is reused across searches and reset
+ * with an epoch counter, as in {@link BidirectionalBfsStrategy}.
+ */
+@Component("aStarStrategy")
+public class AStarStrategy implements PathFindingStrategy {
+
+    private static final ThreadLocal<SearchState> STATE = ThreadLocal.withInitial(SearchState::new);
+    private static final long WORD_MASK = 0xFFFF_FFFFL;
+
+    private final boolean useLandmarks;
+
+    public AStarStrategy() {
+        this(false);
+    }
+
+    protected AStarStrategy(boolean useLandmarks) {
+        this.useLandmarks = useLandmarks;
+    }
+
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination) {
+        return findPath(graph, origin, destination, SearchContext.unbounded());
+    }
+
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination, SearchContext context) {
+        int source = graph.id(origin);
+        int target = graph.id(destination);
+        if (source < 0 || target < 0 || !graph.components().connected(source, target))
+            return null;
+
+        LandmarkIndex landmarks = useLandmarks ? graph.landmarks() : null;
+        SearchState state = STATE.get();
+        state.prepare(graph.vertexCount());
+        int epoch = state.epoch;
+        int[] cost = state.cost;
+        int[] parent = state.parent;
+        int[] seen = state.seen;
+        int[] closed = state.closed;
+
+        seen[source] = epoch;
+        cost[source] = 0;
+        parent[source] = -1;
+        int h = heuristic(graph, landmarks, source, target);
+        state.push(key(h, h, source));
+
+        while (state.size > 0) {
+            long top = state.pop();
+            int u = (int) (top & WORD_MASK);
+            if (closed[u] == epoch)
+                continue; // stale entry for a word already settled with a lower cost
+            closed[u] = epoch;
+            context.expand();
+            if (u == target)
+                return buildPath(graph, parent, target);
+
+            int nextCost = cost[u] + 1;
+            for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                int v = graph.neighborAt(i);
+                if (closed[v] == epoch || (seen[v] == epoch && cost[v] <= nextCost))
+                    continue;
+                seen[v] = epoch;
+                cost[v] = nextCost;
+                parent[v] = u;
+                int hv = heuristic(graph, landmarks, v, target);
+                state.push(key(nextCost + hv, hv, v));
+            }
+            context.frontier(state.size);
+        }
+        return null;
+    }
+
+    private static int heuristic(WordGraph graph, LandmarkIndex landmarks, int v, int target) {
+        int differing = 0;
+        if (!graph.isEditGraph() && graph.wordLength(v) == graph.wordLength(target)) {
+            for (int i = graph.wordLength(v) - 1; i >= 0; i--) {
+                if (graph.letterAt(v, i) != graph.letterAt(target, i)) {
+                    differing++;
+                }
+            }
+        }
+        return landmarks == null ? differing : Math.max(differing, landmarks.lowerBound(v, target));
+    }
+
+    private static long key(int f, int h, int word) {
+        return ((long) f << 48) | ((long) h << 32) | word;
+    }
+
+    private static List<String> buildPath(WordGraph graph, int[] parent, int target) {
+        List<String> path = new ArrayList<>();
+        for (int v = target; v != -1; v = parent[v]) {
+            path.add(graph.word(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static final class SearchState {
+        int[] cost = new int[0];
+        int[] parent = new int[0];
+        int[] seen = new int[0];
+        int[] closed = new int[0];
+        long[] heap = new long[64];
+        int size;
+        int epoch;
+
+        void prepare(int vertexCount) {
+            if (cost.length != vertexCount) {
+                cost = new int[vertexCount];
+                parent = new int[vertexCount];
+                seen = new int[vertexCount];
+                closed = new int[vertexCount];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                epoch = 1;
+            }
+            size = 0;
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (heap[up] <= value)
+                    break;
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size)
+                    break;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last)
+                    break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
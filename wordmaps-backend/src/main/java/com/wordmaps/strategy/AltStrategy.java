@@ -0,0 +1,15 @@
+package com.wordmaps.strategy;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AStarStrategy} with the ALT bound: the heuristic is the larger of the Hamming distance
+ * and the landmark lower bound precomputed in {@link com.wordmaps.graph.LandmarkIndex}.
+ */
+@Component("altStrategy")
+public class AltStrategy extends AStarStrategy {
+
+    public AltStrategy() {
+        super(true);
+    }
+}
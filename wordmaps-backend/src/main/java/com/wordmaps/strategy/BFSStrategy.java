@@ -1,19 +1,63 @@
 package com.wordmaps.strategy;
 
-import org.jgrapht.Graph;
-import org.jgrapht.alg.shortestpath.BFSShortestPath;
-import org.jgrapht.graph.DefaultEdge;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @Component("bfsStrategy")
 public class BFSStrategy implements PathFindingStrategy {
 
     @Override
-    public List<String> findPath(Graph<String, DefaultEdge> graph, String origin, String destination) {
-        BFSShortestPath<String, DefaultEdge> bfs = new BFSShortestPath<>(graph);
-        var path = bfs.getPath(origin, destination);
-        return path == null ? null : path.getVertexList();
+    public List<String> findPath(WordGraph graph, String origin, String destination) {
+        return findPath(graph, origin, destination, SearchContext.unbounded());
+    }
+
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination, SearchContext context) {
+        int source = graph.id(origin);
+        int target = graph.id(destination);
+        if (source < 0 || target < 0)
+            return null;
+
+        // parent[v] == -1 marks an unvisited vertex; the source points to itself
+        int[] parent = new int[graph.vertexCount()];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        parent[source] = source;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            context.expand();
+            if (current == target)
+                return buildPath(graph, parent, target);
+            for (int i = graph.neighborsStart(current); i < graph.neighborsEnd(current); i++) {
+                int next = graph.neighborAt(i);
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+            context.frontier(tail - head);
+        }
+        return null;
+    }
+
+    private List<String> buildPath(WordGraph graph, int[] parent, int target) {
+        List<String> path = new ArrayList<>();
+        for (int v = target; ; v = parent[v]) {
+            path.add(graph.word(v));
+            if (parent[v] == v)
+                break;
+        }
+        Collections.reverse(path);
+        return path;
     }
 }
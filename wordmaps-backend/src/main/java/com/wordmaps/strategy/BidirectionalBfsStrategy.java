@@ -0,0 +1,208 @@
+package com.wordmaps.strategy;
+
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Breadth-first search from both ends at once, always expanding the smaller frontier
+ * one full level at a time until the two searches meet.
+ * <p>
+ * Among equally short ladders it returns the one found by walking back from the destination,
+ * each time to the lowest-id word one step closer to the origin. The ladder therefore does not
+ * depend on which frontier met first, and {@link com.wordmaps.graph.ShortestPathTree} gives
+ * the same one.
+ * <p>
+ * Visited/distance state lives in int arrays owned by the calling thread and is
+ * invalidated by bumping an epoch counter instead of clearing, so a search allocates
+ * nothing but the returned path.
+ */
+@Component("bidirectionalBfs")
+public class BidirectionalBfsStrategy implements PathFindingStrategy {
+
+    private static final ThreadLocal<SearchState> STATE = ThreadLocal.withInitial(SearchState::new);
+
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination) {
+        return findPath(graph, origin, destination, SearchContext.unbounded());
+    }
+
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination, SearchContext context) {
+        int source = graph.id(origin);
+        int target = graph.id(destination);
+        if (source < 0 || target < 0)
+            return null;
+        if (source == target)
+            return List.of(graph.word(source));
+
+        SearchState state = STATE.get();
+        state.prepare(graph.vertexCount());
+        Side forward = state.forward;
+        Side backward = state.backward;
+        forward.start(source, state.epoch);
+        backward.start(target, state.epoch);
+
+        while (forward.hasFrontier() && backward.hasFrontier()) {
+            boolean expandForward = forward.frontierSize() <= backward.frontierSize();
+            Side current = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+
+            long meeting = expandLevel(graph, current, other, state.epoch, context);
+            context.frontier(forward.frontierSize() + backward.frontierSize());
+            if (meeting >= 0) {
+                int near = (int) (meeting >>> 32);
+                int far = (int) meeting;
+                int length = current.distance[near] + 1 + other.distance[far];
+                return buildPath(graph, state, target, length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Expands every vertex of the current frontier level. Returns the best meeting edge found
+     * as {@code (nearVertex << 32) | farVertex}, or -1 if the searches have not met yet.
+     */
+    private long expandLevel(WordGraph graph, Side current, Side other, int epoch, SearchContext context) {
+        int levelEnd = current.tail;
+        int bestLength = Integer.MAX_VALUE;
+        long best = -1;
+        while (current.head < levelEnd) {
+            int u = current.queue[current.head++];
+            context.expand();
+            int nextDistance = current.distance[u] + 1;
+            for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+                int w = graph.neighborAt(i);
+                if (other.seen[w] == epoch) {
+                    int length = nextDistance + other.distance[w];
+                    if (length < bestLength) {
+                        bestLength = length;
+                        best = ((long) u << 32) | w;
+                    }
+                }
+                if (current.seen[w] != epoch) {
+                    current.seen[w] = epoch;
+                    current.distance[w] = nextDistance;
+                    current.queue[current.tail++] = w;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The ladder of {@code length} steps that walks back from {@code target}, each time to the
+     * lowest-id neighbour lying on a shortest ladder one step closer to the origin.
+     */
+    private List<String> buildPath(WordGraph graph, SearchState state, int target, int length) {
+        int[] scratch = state.scratch;
+        scratch[length] = target;
+        for (int step = length - 1; step >= 0; step--) {
+            int current = scratch[step + 1];
+            int next = Integer.MAX_VALUE;
+            for (int i = graph.neighborsStart(current); i < graph.neighborsEnd(current); i++) {
+                int w = graph.neighborAt(i);
+                if (w < next && onShortestPath(graph, state, w, step, length)) {
+                    next = w;
+                }
+            }
+            scratch[step] = next;
+        }
+        List<String> path = new ArrayList<>(length + 1);
+        for (int i = 0; i <= length; i++) {
+            path.add(graph.word(scratch[i]));
+        }
+        return path;
+    }
+
+    /**
+     * Whether {@code v} lies {@code fromOrigin} steps from the origin on a shortest ladder of
+     * {@code length} steps. Both searches stop after whole levels, so within the forward depth the
+     * forward distance answers it; beyond, {@code v} must sit at the matching backward distance
+     * and lead to such a word one step closer. Answers are memoised per search.
+     */
+    private boolean onShortestPath(WordGraph graph, SearchState state, int v, int fromOrigin, int length) {
+        Side forward = state.forward;
+        Side backward = state.backward;
+        if (fromOrigin <= forward.depth())
+            return forward.seen[v] == state.epoch && forward.distance[v] == fromOrigin;
+        if (backward.seen[v] != state.epoch || backward.distance[v] != length - fromOrigin)
+            return false;
+        if (state.checked[v] == state.epoch)
+            return state.onPath[v];
+        boolean result = false;
+        for (int i = graph.neighborsStart(v); i < graph.neighborsEnd(v) && !result; i++) {
+            result = onShortestPath(graph, state, graph.neighborAt(i), fromOrigin - 1, length);
+        }
+        state.checked[v] = state.epoch;
+        state.onPath[v] = result;
+        return result;
+    }
+
+    /** One direction of the search; {@code seen[v] == epoch} marks v as visited in this search. */
+    private static final class Side {
+        int[] seen = new int[0];
+        int[] distance = new int[0];
+        int[] queue = new int[0];
+        int head;
+        int tail;
+
+        void resize(int vertexCount) {
+            seen = new int[vertexCount];
+            distance = new int[vertexCount];
+            queue = new int[vertexCount];
+        }
+
+        void start(int vertex, int epoch) {
+            head = 0;
+            tail = 0;
+            seen[vertex] = epoch;
+            distance[vertex] = 0;
+            queue[tail++] = vertex;
+        }
+
+        boolean hasFrontier() {
+            return head < tail;
+        }
+
+        /** Distance up to which every vertex is known: levels are always expanded whole. */
+        int depth() {
+            return distance[queue[tail - 1]];
+        }
+
+        int frontierSize() {
+            return tail - head;
+        }
+    }
+
+    private static final class SearchState {
+        final Side forward = new Side();
+        final Side backward = new Side();
+        int[] scratch = new int[0];
+        int[] checked = new int[0];
+        boolean[] onPath = new boolean[0];
+        int epoch;
+
+        void prepare(int vertexCount) {
+            if (scratch.length != vertexCount) {
+                forward.resize(vertexCount);
+                backward.resize(vertexCount);
+                scratch = new int[vertexCount];
+                checked = new int[vertexCount];
+                onPath = new boolean[vertexCount];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(forward.seen, 0);
+                Arrays.fill(backward.seen, 0);
+                Arrays.fill(checked, 0);
+                epoch = 1;
+            }
+        }
+    }
+}
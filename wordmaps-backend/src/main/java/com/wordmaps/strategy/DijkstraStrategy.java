@@ -1,18 +1,50 @@
 package com.wordmaps.strategy;
 
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
 import org.jgrapht.Graph;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
-import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.traverse.ClosestFirstIterator;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Component("dijkstraStrategy")
 public class DijkstraStrategy implements PathFindingStrategy {
 
     @Override
-    public List<String> findPath(Graph<String, DefaultEdge> graph, String origin, String destination) {
-        DijkstraShortestPath<String, DefaultEdge> dijkstra = new DijkstraShortestPath<>(graph);
-        return dijkstra.getPath(origin, destination).getVertexList();
+    public List<String> findPath(WordGraph graph, String origin, String destination) {
+        return findPath(graph, origin, destination, SearchContext.unbounded());
+    }
+
+    /** JGraphT's closest-first traversal, stepped one vertex at a time so the budget is checked. */
+    @Override
+    public List<String> findPath(WordGraph graph, String origin, String destination, SearchContext context) {
+        if (!graph.contains(origin) || !graph.contains(destination))
+            return null;
+        Graph<String, Long> view = graph.asGraph();
+        ClosestFirstIterator<String, Long> iterator = new ClosestFirstIterator<>(view, origin);
+        while (iterator.hasNext()) {
+            String vertex = iterator.next();
+            context.expand();
+            if (vertex.equals(destination))
+                return pathTo(view, iterator, destination);
+        }
+        return null;
+    }
+
+    private static List<String> pathTo(Graph<String, Long> view, ClosestFirstIterator<String, Long> iterator,
+            String destination) {
+        List<String> path = new ArrayList<>();
+        String vertex = destination;
+        path.add(vertex);
+        Long edge;
+        while ((edge = iterator.getSpanningTreeEdge(vertex)) != null) {
+            vertex = view.getEdgeSource(edge).equals(vertex) ? view.getEdgeTarget(edge) : view.getEdgeSource(edge);
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        return path;
     }
 }
@@ -1,7 +1,7 @@
 package com.wordmaps.strategy;
 
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultEdge;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
 
 import java.util.List;
 
@@ -10,5 +10,13 @@ import java.util.List;
  * Applies OCP (Open/Closed Principle) - new strategies can be added without modifying existing code.
  */
 public interface PathFindingStrategy {
-    List<String> findPath(Graph<String, DefaultEdge> graph, String origin, String destination);
+    List<String> findPath(WordGraph graph, String origin, String destination);
+
+    /**
+     * Same as {@link #findPath(WordGraph, String, String)}, reporting expanded nodes to {@code context}
+     * and stopping with its exception once its budget is spent. Strategies that cannot count ignore it.
+     */
+    default List<String> findPath(WordGraph graph, String origin, String destination, SearchContext context) {
+        return findPath(graph, origin, destination);
+    }
 }
@@ -0,0 +1,102 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphResponseCacheTest {
+
+    private final GraphService graphService = GraphService.of(WordGraph.of("CAT", "COT", "COG", "DOG"));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testServesCachedBytesUntilTheGraphChanges() {
+        GraphResponseCache cache = new GraphResponseCache(graphService, new ObjectMapper(), 60, 1 << 20, 1024);
+        String etag = "\"" + graphService.getGraph().version() + "\"";
+
+        ResponseEntity<?> first = cache.respond(null, "neighbors CAT", this::neighbors);
+        ResponseEntity<?> second = cache.respond(null, "neighbors CAT", this::neighbors);
+        assertEquals(1, calls.get());
+        assertEquals("[\"COT\"]", new String((byte[]) first.getBody(), StandardCharsets.UTF_8));
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertEquals("max-age=60, public", second.getHeaders().getCacheControl());
+
+        ResponseEntity<?> notModified = cache.respond("W/\"other\", " + etag, "neighbors CAT", this::neighbors);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(1, calls.get());
+
+        graphService.addWords(List.of("CAR"));
+        String updated = "\"" + graphService.getGraph().version() + "\"";
+        assertNotEquals(etag, updated);
+        assertEquals(HttpStatus.OK, cache.respond(etag, "neighbors CAT", this::neighbors).getStatusCode());
+        assertEquals(2, calls.get());
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(1L, stats.get("notModified"));
+    }
+
+    @Test
+    void testErrorsAreNotCachedAndLargeBodiesAreNotKept() {
+        GraphResponseCache cache = new GraphResponseCache(graphService, new ObjectMapper(), 60, 10, 16);
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<?> error = cache.respond(null, "stats bad", () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.badRequest().body(Map.of("message", "bad mode"));
+            });
+            assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+            assertNull(error.getHeaders().getETag());
+        }
+        assertEquals(2, calls.get());
+
+        cache.respond(null, "isolated", () -> ResponseEntity.ok(List.of("ABCDEFGHIJKLMNOPQRSTUVWXYZ")));
+        cache.respond(null, "neighbors CAT", this::neighbors);
+        cache.respond(null, "neighbors DOG", () -> ResponseEntity.ok(List.of("COG")));
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1, stats.get("entries")); // the long body was skipped, CAT evicted by DOG
+        assertEquals(7L, stats.get("residentBytes"));
+        assertEquals(1L, stats.get("evictions"));
+    }
+
+    @Test
+    void testWeakTagsAreKeptApartByGraphAndNotCached() {
+        GraphResponseCache cache = new GraphResponseCache(graphService, new ObjectMapper(), 60, 1 << 20, 1024);
+        WordGraph graph = graphService.getGraph();
+        String weak = "W/\"" + graph.version() + "\"";
+
+        ResponseEntity<?> response = cache.respondWeak(null, graph, "stats", this::neighbors);
+        assertEquals(weak, response.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.respondWeak(weak, graph, "stats", this::neighbors).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.respond("\"" + graph.version() + "\"", "stats", this::neighbors)
+                .getStatusCode());
+
+        WordGraph edits = graph.editGraph();
+        ResponseEntity<?> other = cache.respondWeak(weak, edits, "stats", this::neighbors);
+        assertEquals(HttpStatus.OK, other.getStatusCode());
+        assertEquals("W/\"" + edits.version() + "\"", other.getHeaders().getETag());
+        assertEquals(2, calls.get());
+
+        cache.respondWeak(null, edits, "stats", this::neighbors);
+        assertEquals(3, calls.get()); // weakly tagged bodies are not kept
+        assertEquals(0, cache.getStats().get("entries"));
+    }
+
+    private ResponseEntity<?> neighbors() {
+        calls.incrementAndGet();
+        return ResponseEntity.ok(graphService.getNeighbors("CAT"));
+    }
+}
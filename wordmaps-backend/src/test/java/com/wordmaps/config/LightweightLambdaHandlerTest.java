@@ -0,0 +1,100 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LightweightLambdaHandlerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static GraphService graphService;
+    private static RouteFinderService routeFinderService;
+    private static ClusterService clusterService;
+    private static AlternativeRouteService alternativeRouteService;
+
+    private final LightweightLambdaHandler handler = new LightweightLambdaHandler();
+
+    @BeforeAll
+    static void setUp() {
+        graphService = new GraphService();
+        graphService.init();
+        routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy());
+        clusterService = new ClusterService(graphService);
+        alternativeRouteService = new AlternativeRouteService(routeFinderService, graphService, 10, 200_000, 250);
+    }
+
+    @Test
+    void testBodiesMatchJacksonSerialization() throws IOException {
+        assertBody(MAPPER.writeValueAsString(routeFinderService.findFastestRoute("COLD", "WARM")),
+                invoke(v2("GET", "/api/routes/fastest", "{\"origin\":\"cold\",\"destination\":\"warm\"}")));
+        assertBody(MAPPER.writeValueAsString(alternativeRouteService.findAlternativeRoutes("CAT", "DOG", 3)),
+                invoke(v2("GET", "/api/routes/alternatives", "{\"origin\":\"CAT\",\"destination\":\"DOG\"}")));
+        assertBody(MAPPER.writeValueAsString(clusterService.getGraphStats()),
+                invoke(v2("GET", "/api/graph/stats", null)));
+        assertBody(MAPPER.writeValueAsString(clusterService.getTopConnectedNodes(5)),
+                invoke(v2("GET", "/api/graph/top-connected", "{\"limit\":\"5\"}")));
+        assertBody(MAPPER.writeValueAsString(graphService.getNeighbors("cat")),
+                invoke(v2("GET", "/api/words/cat/neighbors", null)));
+        assertBody("true", invoke(v2("GET", "/api/words/cat/exists", null)));
+        assertBody(MAPPER.writeValueAsString(graphService.findWordsByPattern("C?T")),
+                invoke(v2("GET", "/api/words/search", "{\"pattern\":\"C?T\"}")));
+    }
+
+    @Test
+    void testStatusCodes() throws IOException {
+        JsonNode invalid = MAPPER.readTree(invoke(v2("GET", "/api/routes/fastest",
+                "{\"origin\":\"CAT\",\"destination\":\"WORD\"}")));
+        assertEquals(400, invalid.get("statusCode").asInt());
+        assertEquals("Words must be of the same length.",
+                MAPPER.readTree(invalid.get("body").asText()).get("message").asText());
+
+        JsonNode missing = MAPPER.readTree(invoke(v2("GET", "/api/routes/fastest", "{\"origin\":\"CAT\"}")));
+        assertEquals(400, missing.get("statusCode").asInt());
+
+        JsonNode batch = MAPPER.readTree(invoke(v2("POST", "/api/routes/batch", null)));
+        assertEquals(404, batch.get("statusCode").asInt());
+    }
+
+    @Test
+    void testPayloadFormatVersion1() throws IOException {
+        String event = "{\"version\":\"1.0\",\"httpMethod\":\"GET\",\"path\":\"/api/words/dog/exists\","
+                + "\"queryStringParameters\":null,\"requestContext\":{\"httpMethod\":\"GET\"}}";
+        JsonNode response = MAPPER.readTree(invoke(event));
+        assertEquals(200, response.get("statusCode").asInt());
+        assertEquals("application/json", response.get("headers").get("Content-Type").asText());
+        assertEquals("true", response.get("body").asText());
+    }
+
+    private void assertBody(String expected, String response) throws IOException {
+        JsonNode node = MAPPER.readTree(response);
+        assertEquals(200, node.get("statusCode").asInt());
+        assertEquals(expected, node.get("body").asText());
+    }
+
+    private String invoke(String event) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, null);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String v2(String method, String path, String query) {
+        return "{\"version\":\"2.0\",\"routeKey\":\"$default\",\"rawPath\":\"" + path + "\","
+                + (query == null ? "" : "\"queryStringParameters\":" + query + ",")
+                + "\"requestContext\":{\"http\":{\"method\":\"" + method + "\",\"path\":\"" + path + "\"}},"
+                + "\"isBase64Encoded\":false}";
+    }
+}
@@ -0,0 +1,110 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.GraphAnalyticsService;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.RouteMetrics;
+import com.wordmaps.service.ShortestPathTreeCache;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.crac.CheckpointException;
+import org.crac.Context;
+import org.crac.Resource;
+import org.crac.RestoreException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimingResourceTest {
+
+    /** Stand-in for the JVM's global context: runs the registered hooks like a checkpoint/restore would. */
+    private static class SimulatedContext extends Context<Resource> {
+
+        private final List<Resource> resources = new ArrayList<>();
+
+        @Override
+        public void register(Resource resource) {
+            resources.add(resource);
+        }
+
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) throws CheckpointException {
+            try {
+                for (int i = resources.size() - 1; i >= 0; i--) {
+                    resources.get(i).beforeCheckpoint(this);
+                }
+            } catch (Exception e) {
+                CheckpointException failure = new CheckpointException();
+                failure.addSuppressed(e);
+                throw failure;
+            }
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) throws RestoreException {
+            try {
+                for (Resource resource : resources) {
+                    resource.afterRestore(this);
+                }
+            } catch (Exception e) {
+                RestoreException failure = new RestoreException();
+                failure.addSuppressed(e);
+                throw failure;
+            }
+        }
+    }
+
+    @Test
+    void testCheckpointPrimesAndRestoreResetsCachesAndMetrics() throws Exception {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        ShortestPathTreeCache treeCache = new ShortestPathTreeCache(16L * 1024 * 1024, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RouteMetrics routeMetrics = new RouteMetrics(registry);
+        RouteFinderService routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy(),
+                treeCache, routeMetrics);
+        GraphResponseCache responseCache = new GraphResponseCache(graphService, new ObjectMapper(), 300, 1 << 20,
+                1024);
+        PrimingResource priming = new PrimingResource(graphService, routeFinderService,
+                new AlternativeRouteService(routeFinderService, graphService, 10, 200_000, 250),
+                new ClusterService(graphService), treeCache, new GraphAnalyticsService(graphService),
+                routeMetrics, responseCache, 200);
+
+        SimulatedContext context = new SimulatedContext();
+        context.register(priming);
+        context.beforeCheckpoint(null);
+
+        assertTrue((Long) treeCache.getStats().get("builds") > 0);
+        assertTrue((Integer) treeCache.getStats().get("entries") > 0);
+        assertFalse(registry.find("wordmaps.route.latency").timers().isEmpty());
+        responseCache.respond(null, "isolated", () -> ResponseEntity.ok(List.of()));
+
+        context.afterRestore(null);
+        assertEquals(0, treeCache.getStats().get("entries"));
+        assertEquals(0L, treeCache.getStats().get("retainedBytes"));
+        assertTrue(registry.find("wordmaps.route.latency").timers().isEmpty());
+        assertEquals(0, responseCache.getStats().get("entries"));
+        assertEquals(0L, responseCache.getStats().get("misses"));
+        assertNotNull(routeFinderService.findFastestRoute("CAT", "DOG"));
+    }
+
+    @Test
+    void testPrimingIsDeterministic() {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        RouteFinderService routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy());
+        PrimingResource priming = new PrimingResource(graphService, routeFinderService,
+                new AlternativeRouteService(routeFinderService, graphService, 10, 200_000, 250),
+                new ClusterService(graphService), new ShortestPathTreeCache(), new GraphAnalyticsService(graphService),
+                new RouteMetrics(new SimpleMeterRegistry()), null, 100);
+
+        assertEquals(priming.prime(), priming.prime());
+    }
+}
@@ -0,0 +1,112 @@
+package com.wordmaps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Route;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteJsonWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static GraphService graphService;
+    private static RouteFinderService routeFinderService;
+
+    private final RouteJsonWriter writer = new RouteJsonWriter();
+
+    @BeforeAll
+    static void setUp() {
+        graphService = new GraphService();
+        graphService.init();
+        routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy());
+    }
+
+    @Test
+    void testMatchesJacksonOnRandomRoutes() throws Exception {
+        WordGraph graph = graphService.getGraph();
+        Random random = new Random(20240601L);
+        int compared = 0;
+        for (int i = 0; i < 1000; i++) {
+            int length = 3 + random.nextInt(3);
+            int from = graph.firstIdOfLength(length);
+            int size = graph.endIdOfLength(length) - from;
+            String origin = graph.word(from + random.nextInt(size));
+            String destination = graph.word(from + random.nextInt(size));
+
+            Route route = routeFinderService.findFastestRoute(origin, destination);
+            if (route == null)
+                continue;
+            compared++;
+            assertEquals(MAPPER.writeValueAsString(route), new String(writer.toBytes(graph, pathOf(route)), "UTF-8"),
+                    origin + " -> " + destination);
+        }
+        assertTrue(compared > 0, "Corpus should contain reachable pairs");
+    }
+
+    @Test
+    void testMatchesJacksonForNonAsciiAndUnknownWords() throws Exception {
+        GraphService small = GraphService.of(WordGraph.of("CAÑA", "CAÑO", "CAÍO"));
+        RouteFinderService service = new RouteFinderService(small, new BidirectionalBfsStrategy());
+        Route route = service.findFastestRoute("CAÑA", "CAÍO");
+        assertNotNull(route);
+        assertEquals(MAPPER.writeValueAsString(route),
+                new String(writer.toBytes(small.getGraph(), pathOf(route)), "UTF-8"));
+
+        // Words outside the graph (or no graph at all) are escaped on the fly, the way Jackson does
+        RoutePath odd = RoutePath.builder().origin("A\"B\t").destination("C\\D\n").path(List.of("A\"B\t", "C\\D\n"))
+                .routeType("FASTEST").difficulty("EASY").build();
+        String expected = "{\"origin\":\"A\\\"B\\t\",\"destination\":\"C\\\\D\\n\",\"path\":[\"A\\\"B\\t\",\"C\\\\D\\n\"],"
+                + "\"steps\":1,\"routeType\":\"FASTEST\",\"difficulty\":\"EASY\",\"transformations\":[{\"from\":\"A\\\"B\\t\","
+                + "\"to\":\"C\\\\D\\n\",\"stepNumber\":1,\"description\":\"Change 'A' -> 'C' at position 1\"}]}";
+        assertEquals(expected, new String(writer.toBytes(null, odd), "UTF-8"));
+    }
+
+    @Test
+    void testMatchesJacksonForInsertionsAndDeletions() throws Exception {
+        GraphService small = GraphService.of(WordGraph.of("AT", "CAT", "COT", "CART", "CARD", "CATS"));
+        RouteFinderService service = new RouteFinderService(small, new BidirectionalBfsStrategy());
+        WordGraph edits = small.getGraph().editGraph();
+        for (String[] pair : new String[][] { { "AT", "CARD" }, { "CATS", "CAT" } }) {
+            Route route = service.findFastestRoute(pair[0], pair[1], GraphService.LadderMode.EDIT);
+            String bytes = new String(writer.toBytes(edits, pathOf(route)), "UTF-8");
+            assertEquals(MAPPER.writeValueAsString(route), bytes);
+        }
+
+        String grow = new String(writer.toBytes(edits, service.findFastestPath("AT", "CARD",
+                GraphService.LadderMode.EDIT)), "UTF-8");
+        assertTrue(grow.contains("\"description\":\"Insert 'C' at position 1\""), grow);
+        assertTrue(grow.contains("\"description\":\"Insert 'R' at position 3\""), grow);
+        String shrink = new String(writer.toBytes(null, service.findFastestPath("CATS", "CAT",
+                GraphService.LadderMode.EDIT)), "UTF-8");
+        assertTrue(shrink.contains("\"description\":\"Delete 'S' at position 4\""), shrink);
+    }
+
+    @Test
+    void testSameWordRoute() throws Exception {
+        RoutePath path = routeFinderService.findFastestPath("cat", "cat");
+        Route route = routeFinderService.findFastestRoute("cat", "cat");
+        assertEquals(pathOf(route), path);
+        assertEquals(MAPPER.writeValueAsString(route),
+                new String(writer.toBytes(graphService.getGraph(), path), "UTF-8"));
+    }
+
+    private static RoutePath pathOf(Route route) {
+        return RoutePath.builder()
+                .origin(route.getOrigin())
+                .destination(route.getDestination())
+                .path(route.getPath())
+                .routeType(route.getRouteType())
+                .difficulty(route.getDifficulty())
+                .build();
+    }
+}
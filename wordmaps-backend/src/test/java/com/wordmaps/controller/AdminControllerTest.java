@@ -0,0 +1,72 @@
+package com.wordmaps.controller;
+
+import com.wordmaps.model.DictionaryUpdate;
+import com.wordmaps.service.DictionaryRegistry;
+import com.wordmaps.service.GraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.BufferedReader;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AdminController.class, properties = "wordmaps.admin.enabled=true")
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GraphService graphService;
+
+    @MockBean
+    private DictionaryRegistry dictionaryRegistry;
+
+    @Test
+    void testAddWords() throws Exception {
+        when(graphService.addWords(List.of("ZZQ", "ZZR"))).thenReturn(DictionaryUpdate.builder()
+                .added(2).vertexCount(10).edgeCount(5).build());
+
+        mockMvc.perform(post("/api/admin/words")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"ZZQ\",\"ZZR\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(2))
+                .andExpect(jsonPath("$.edgeCount").value(5));
+    }
+
+    @Test
+    void testRemoveWord() throws Exception {
+        when(graphService.removeWords(List.of("CAT"))).thenReturn(DictionaryUpdate.builder().removed(1).build());
+        when(graphService.removeWords(List.of("QQQ"))).thenReturn(DictionaryUpdate.builder().removed(0).build());
+
+        mockMvc.perform(delete("/api/admin/words/CAT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value(1));
+        mockMvc.perform(delete("/api/admin/words/QQQ"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testImportWords() throws Exception {
+        when(graphService.importWords(any(BufferedReader.class))).thenReturn(DictionaryUpdate.builder()
+                .added(3).rejected(1).build());
+
+        mockMvc.perform(post("/api/admin/words/import")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("ZZQ\nZZR\nZZS\nZ3Z\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(3))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+}
@@ -1,25 +1,58 @@
 package com.wordmaps.controller;
 
+import com.wordmaps.config.GraphResponseCache;
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.model.Puzzle;
 import com.wordmaps.model.Route;
+import com.wordmaps.model.RouteAlternatives;
+import com.wordmaps.model.RouteBatchEntry;
+import com.wordmaps.model.RouteBatchResponse;
+import com.wordmaps.model.RoutePath;
+import com.wordmaps.service.AdmissionRejectedException;
+import com.wordmaps.service.AlternativeRouteService;
+import com.wordmaps.service.BatchRouteService;
 import com.wordmaps.service.ClusterService;
+import com.wordmaps.service.DictionaryRegistry;
+import com.wordmaps.service.GraphAnalyticsService;
 import com.wordmaps.service.GraphService;
+import com.wordmaps.service.RouteAdmissionLimiter;
 import com.wordmaps.service.RouteFinderService;
+import com.wordmaps.service.StrategyComparisonService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(RouteController.class)
+// The byte cache would carry responses across tests; its headers and 304s still apply
+@WebMvcTest(controllers = RouteController.class, properties = "wordmaps.http.cache.max-bytes=0")
+@Import(GraphResponseCache.class)
 class RouteControllerTest {
 
     @Autowired
@@ -34,31 +67,79 @@ class RouteControllerTest {
     @MockBean
     private GraphService graphService;
 
+    @MockBean
+    private BatchRouteService batchRouteService;
+
+    @MockBean
+    private AlternativeRouteService alternativeRouteService;
+
+    @MockBean
+    private StrategyComparisonService strategyComparisonService;
+
+    @MockBean
+    private GraphAnalyticsService graphAnalyticsService;
+
+    @MockBean
+    private RouteAdmissionLimiter admissionLimiter;
+
+    @MockBean
+    private DictionaryRegistry dictionaryRegistry;
+
+    private final WordGraph graph = WordGraph.of("CAT", "COT", "COG", "DOG");
+
+    @BeforeEach
+    void setUp() {
+        when(graphService.getGraph()).thenReturn(graph);
+        when(routeFinderService.routeExists(anyString(), anyString(), any())).thenReturn(true);
+    }
+
     @Test
     void testGetFastestRoute_Success() throws Exception {
-        Route mockRoute = Route.builder()
+        RoutePath mockRoute = RoutePath.builder()
                 .origin("CAT")
                 .destination("DOG")
                 .path(Arrays.asList("CAT", "COT", "COG", "DOG"))
-                .steps(3)
                 .routeType("FASTEST")
                 .difficulty("EASY")
                 .build();
 
-        when(routeFinderService.findFastestRoute("CAT", "DOG")).thenReturn(mockRoute);
+        when(routeFinderService.findFastestPath("CAT", "DOG", GraphService.LadderMode.SUBSTITUTION))
+                .thenReturn(mockRoute);
 
         mockMvc.perform(get("/api/routes/fastest")
                 .param("origin", "CAT")
                 .param("destination", "DOG"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.origin").value("CAT"))
                 .andExpect(jsonPath("$.destination").value("DOG"))
-                .andExpect(jsonPath("$.steps").value(3));
+                .andExpect(jsonPath("$.steps").value(3))
+                .andExpect(jsonPath("$.transformations[1].description").value("Change 'T' -> 'G' at position 3"));
+    }
+
+    @Test
+    void testGetFastestRoute_EditModeDescribesInsertionsAndDeletions() throws Exception {
+        when(routeFinderService.findFastestPath("AT", "CARD", GraphService.LadderMode.EDIT)).thenReturn(RoutePath.builder()
+                .origin("AT").destination("CARD").path(Arrays.asList("AT", "CAT", "CART", "CARD"))
+                .routeType("FASTEST").difficulty("EASY").build());
+        when(routeFinderService.findFastestPath("CATS", "CAT", GraphService.LadderMode.EDIT)).thenReturn(RoutePath.builder()
+                .origin("CATS").destination("CAT").path(Arrays.asList("CATS", "CAT"))
+                .routeType("FASTEST").difficulty("EASY").build());
+
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "AT").param("destination", "CARD").param("mode", "edit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.steps").value(3))
+                .andExpect(jsonPath("$.transformations[0].description").value("Insert 'C' at position 1"))
+                .andExpect(jsonPath("$.transformations[1].description").value("Insert 'R' at position 3"))
+                .andExpect(jsonPath("$.transformations[2].description").value("Change 'T' -> 'D' at position 4"));
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CATS").param("destination", "CAT").param("mode", "edit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transformations[0].description").value("Delete 'S' at position 4"));
     }
 
     @Test
     void testGetFastestRoute_NotFound() throws Exception {
-        when(routeFinderService.findFastestRoute(anyString(), anyString())).thenReturn(null);
+        when(routeFinderService.findFastestPath(anyString(), anyString(), any())).thenReturn(null);
 
         mockMvc.perform(get("/api/routes/fastest")
                 .param("origin", "CAT")
@@ -74,4 +155,231 @@ class RouteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(true));
     }
+
+    @Test
+    void testSearchWords_RegexModeWithOffset() throws Exception {
+        when(graphService.findWordsByPattern(eq("C.T"), eq(50), eq(GraphService.SearchMode.REGEX)))
+                .thenReturn(Collections.singletonList("CUT"));
+
+        mockMvc.perform(get("/api/words/search")
+                .param("pattern", "C.T")
+                .param("offset", "50")
+                .param("mode", "regex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("CUT"));
+    }
+
+    @Test
+    void testSearchWords_InvalidPattern() throws Exception {
+        when(graphService.findWordsByPattern(anyString(), eq(0), eq(GraphService.SearchMode.INDEX)))
+                .thenThrow(new IllegalArgumentException("bad pattern"));
+
+        mockMvc.perform(get("/api/words/search").param("pattern", "C.*"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("bad pattern"));
+    }
+
+    @Test
+    void testUnknownModeListsAcceptedValues() throws Exception {
+        mockMvc.perform(get("/api/words/search")
+                .param("pattern", "C?T")
+                .param("mode", "fuzzy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown mode 'fuzzy'; use one of index, regex."));
+        mockMvc.perform(get("/api/graph/stats").param("mode", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown mode 'bogus'; use one of substitution, edit."));
+    }
+
+    @Test
+    void testBatchRoutes() throws Exception {
+        RouteBatchResponse response = RouteBatchResponse.builder()
+                .solved(1)
+                .timedOut(1)
+                .results(Arrays.asList(
+                        RouteBatchEntry.builder().origin("CAT").destination("DOG").status(RouteBatchEntry.SOLVED).build(),
+                        RouteBatchEntry.builder().origin("CAT").destination("COG").status(RouteBatchEntry.TIMED_OUT).build()))
+                .build();
+        when(batchRouteService.findRoutes(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/routes/batch")
+                .contentType("application/json")
+                .content("{\"pairs\":[{\"origin\":\"CAT\",\"destination\":\"DOG\"},"
+                        + "{\"origin\":\"CAT\",\"destination\":\"COG\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solved").value(1))
+                .andExpect(jsonPath("$.timedOut").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("TIMED_OUT"));
+    }
+
+    @Test
+    void testAlternativeRoutes() throws Exception {
+        Route fastest = Route.builder().origin("CAT").destination("DOG").steps(3).routeType("FASTEST").build();
+        Route alternative = Route.builder().origin("CAT").destination("DOG").steps(5).routeType("ALTERNATIVE").build();
+        when(alternativeRouteService.findAlternativeRoutes("CAT", "DOG", 2)).thenReturn(RouteAlternatives.builder()
+                .origin("CAT").destination("DOG").requested(2).complete(true)
+                .routes(Arrays.asList(fastest, alternative)).build());
+
+        mockMvc.perform(get("/api/routes/alternatives")
+                .param("origin", "CAT")
+                .param("destination", "DOG")
+                .param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.routes[0].routeType").value("FASTEST"))
+                .andExpect(jsonPath("$.routes[1].routeType").value("ALTERNATIVE"));
+    }
+
+    @Test
+    void testAlternativeRoutesInvalidK() throws Exception {
+        when(alternativeRouteService.findAlternativeRoutes("CAT", "DOG", 50))
+                .thenThrow(new IllegalArgumentException("k must be between 1 and 10."));
+
+        mockMvc.perform(get("/api/routes/alternatives")
+                .param("origin", "CAT")
+                .param("destination", "DOG")
+                .param("k", "50"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("k must be between 1 and 10."));
+    }
+
+    @Test
+    void testGetCommunities() throws Exception {
+        when(clusterService.getCommunities(0, 0, 2)).thenReturn(Map.of(
+                "communityCount", 2,
+                "communities", List.of(Map.of("id", 0, "size", 5), Map.of("id", 1, "size", 4)),
+                "members", List.of("BAT", "CAT")));
+
+        mockMvc.perform(get("/api/graph/communities")
+                .param("community", "0")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.communities[1].size").value(4))
+                .andExpect(jsonPath("$.members[1]").value("CAT"));
+    }
+
+    @Test
+    void testGetCommunities_UnknownCommunity() throws Exception {
+        when(clusterService.getCommunities(eq(99), anyInt(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Unknown community: 99."));
+
+        mockMvc.perform(get("/api/graph/communities").param("community", "99"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown community: 99."));
+    }
+
+    @Test
+    void testRandomPuzzle() throws Exception {
+        when(graphAnalyticsService.randomPuzzle(3, "hard")).thenReturn(Puzzle.builder()
+                .origin("CAT")
+                .destination("ZIP")
+                .length(3)
+                .steps(7)
+                .difficulty("HARD")
+                .build());
+
+        mockMvc.perform(get("/api/puzzles/random")
+                .param("length", "3")
+                .param("difficulty", "hard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.origin").value("CAT"))
+                .andExpect(jsonPath("$.steps").value(7))
+                .andExpect(jsonPath("$.difficulty").value("HARD"));
+    }
+
+    @Test
+    void testRandomPuzzle_NoneAvailable() throws Exception {
+        when(graphAnalyticsService.randomPuzzle(15, null)).thenReturn(null);
+
+        mockMvc.perform(get("/api/puzzles/random").param("length", "15"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetFastestRoute_BudgetExceeded() throws Exception {
+        when(routeFinderService.findFastestPath(anyString(), anyString(), any()))
+                .thenThrow(new SearchBudgetExceededException("Search deadline exceeded."));
+
+        mockMvc.perform(get("/api/routes/fastest")
+                .param("origin", "CAT")
+                .param("destination", "DOG"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.budgetExceeded").value(true))
+                .andExpect(jsonPath("$.message").value("Search budget exceeded: Search deadline exceeded."));
+    }
+
+    @Test
+    void testGetFastestRoute_Rejected() throws Exception {
+        when(admissionLimiter.acquire("fastest"))
+                .thenThrow(new AdmissionRejectedException("Too many route searches in progress; retry shortly."));
+
+        mockMvc.perform(get("/api/routes/fastest")
+                .param("origin", "CAT")
+                .param("destination", "DOG"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testUnknownDictionary() throws Exception {
+        doThrow(new IllegalArgumentException("Unknown dictionary: xx.")).when(dictionaryRegistry).select("xx");
+
+        mockMvc.perform(get("/api/routes/fastest")
+                .param("origin", "CAT")
+                .param("destination", "DOG")
+                .param("dict", "xx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown dictionary: xx."));
+        verify(routeFinderService, never()).findFastestPath(anyString(), anyString(), any());
+        verify(dictionaryRegistry).clearSelection();
+    }
+
+    @Test
+    void testNeighborsRevalidateWithGraphETag() throws Exception {
+        when(graphService.getNeighbors("cat")).thenReturn(List.of("COT"));
+        String etag = "\"" + graph.version() + "\"";
+
+        mockMvc.perform(get("/api/words/cat/neighbors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(jsonPath("$[0]").value("COT"));
+        mockMvc.perform(get("/api/words/cat/neighbors").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/words/cat/neighbors").header(HttpHeaders.IF_NONE_MATCH, "\"0000000000000000\""))
+                .andExpect(status().isOk());
+
+        verify(graphService, times(2)).getNeighbors("cat");
+    }
+
+    @Test
+    void testFastestRevalidatesAfterCheckingTheRequest() throws Exception {
+        RoutePath route = RoutePath.builder().origin("CAT").destination("DOG")
+                .path(Arrays.asList("CAT", "COT", "COG", "DOG")).routeType("FASTEST").difficulty("EASY").build();
+        when(routeFinderService.findFastestPath("CAT", "DOG", GraphService.LadderMode.SUBSTITUTION)).thenReturn(route);
+        when(routeFinderService.findFastestPath("CAT", "DOG", GraphService.LadderMode.EDIT)).thenReturn(route);
+        when(routeFinderService.routeExists("CAT", "ZZZ", GraphService.LadderMode.SUBSTITUTION)).thenReturn(false);
+        String etag = "\"" + graph.version() + "\"";
+
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CAT").param("destination", "DOG"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CAT").param("destination", "DOG")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CAT").param("destination", "DOG")
+                .param("mode", "bogus").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CAT").param("destination", "ZZZ")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/routes/fastest").param("origin", "CAT").param("destination", "DOG")
+                .param("mode", "edit").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + graph.editGraph().version() + "\""));
+
+        verify(admissionLimiter, times(5)).acquire("fastest");
+        verify(routeFinderService, times(1)).findFastestPath("CAT", "DOG", GraphService.LadderMode.SUBSTITUTION);
+    }
 }
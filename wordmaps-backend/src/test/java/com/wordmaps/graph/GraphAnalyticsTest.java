@@ -0,0 +1,145 @@
+package com.wordmaps.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphAnalyticsTest {
+
+    // More than two batches of words over a small alphabet, with several components
+    private final WordGraph graph = randomGraph(300);
+
+    @Test
+    void testMultiSourceBfsMatchesSingleSourceBfs() {
+        int[] sources = new int[graph.vertexCount()];
+        for (int id = 0; id < sources.length; id++) {
+            sources[id] = id;
+        }
+        MultiSourceBfs bfs = new MultiSourceBfs(graph);
+        for (int first = 0; first < sources.length; first += MultiSourceBfs.BATCH) {
+            int count = Math.min(MultiSourceBfs.BATCH, sources.length - first);
+            int[][] distances = new int[count][graph.vertexCount()];
+            for (int[] row : distances) {
+                Arrays.fill(row, -1);
+            }
+            int depth = bfs.run(sources, first, count, (word, reached, distance) -> {
+                for (long bits = reached; bits != 0; bits &= bits - 1) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    assertEquals(-1, distances[bit][word], "each source reaches a word once");
+                    distances[bit][word] = distance;
+                }
+            });
+
+            int deepest = 0;
+            for (int i = 0; i < count; i++) {
+                int[] expected = distancesFrom(first + i);
+                assertArrayEquals(expected, distances[i], "source " + graph.word(first + i));
+                deepest = Math.max(deepest, Arrays.stream(expected).max().orElse(0));
+            }
+            assertEquals(deepest, depth);
+        }
+    }
+
+    @Test
+    void testExactAnalyticsMatchBruteForce() {
+        GraphAnalytics analytics = GraphAnalytics.of(graph, new ForkJoinPool(3), graph.vertexCount(), 8);
+        assertTrue(analytics.isExact());
+
+        ComponentIndex components = graph.components();
+        int[] diameters = new int[components.count()];
+        long[][] pairs = new long[graph.maxWordLength() + 1][graph.vertexCount()];
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            int[] distances = distancesFrom(u);
+            int eccentricity = Arrays.stream(distances).max().orElse(0);
+            assertEquals(eccentricity, analytics.eccentricity(u), graph.word(u));
+            int c = components.componentOf(u);
+            diameters[c] = Math.max(diameters[c], eccentricity);
+            for (int v = u + 1; v < graph.vertexCount(); v++) {
+                if (distances[v] > 0) {
+                    pairs[graph.wordLength(v)][distances[v]]++;
+                }
+            }
+        }
+        for (int c = 0; c < components.count(); c++) {
+            assertEquals(diameters[c], analytics.componentDiameter(c));
+        }
+        for (int length = 0; length < pairs.length; length++) {
+            for (int d = 1; d < pairs[length].length; d++) {
+                assertEquals(pairs[length][d], analytics.pairs(length, d), "length " + length + ", distance " + d);
+                int samples = analytics.sampleCount(length, d);
+                assertEquals(Math.min(8, pairs[length][d]), samples);
+                for (int i = 0; i < samples; i++) {
+                    long pair = analytics.samplePair(length, d, i);
+                    int u = (int) (pair >>> 32);
+                    int v = (int) pair;
+                    assertTrue(u < v);
+                    assertEquals(length, graph.wordLength(u));
+                    assertEquals(d, distancesFrom(u)[v]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSampledAnalyticsDoNotDependOnThreads() {
+        GraphAnalytics serial = GraphAnalytics.of(graph, null, 100, 4);
+        GraphAnalytics parallel = GraphAnalytics.of(graph, new ForkJoinPool(3), 100, 4);
+        assertFalse(serial.isExact());
+        assertEquals(100, serial.sourceCount());
+        assertArrayEquals(serial.distanceDistribution(), parallel.distanceDistribution());
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            assertEquals(serial.eccentricity(id), parallel.eccentricity(id));
+            if (serial.eccentricity(id) >= 0) {
+                assertEquals(Arrays.stream(distancesFrom(id)).max().orElse(0), serial.eccentricity(id));
+            }
+        }
+        for (int length = 0; length <= graph.maxWordLength(); length++) {
+            for (int d = 1; d <= serial.maxDistance(); d++) {
+                assertEquals(serial.sampleCount(length, d), parallel.sampleCount(length, d));
+                for (int i = 0; i < serial.sampleCount(length, d); i++) {
+                    assertEquals(serial.samplePair(length, d, i), parallel.samplePair(length, d, i));
+                }
+            }
+        }
+    }
+
+    /** Plain BFS distances from {@code source}, -1 where unreachable. */
+    private int[] distancesFrom(int source) {
+        int[] distances = new int[graph.vertexCount()];
+        Arrays.fill(distances, -1);
+        distances[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int e = graph.neighborsStart(u); e < graph.neighborsEnd(u); e++) {
+                int v = graph.neighborAt(e);
+                if (distances[v] < 0) {
+                    distances[v] = distances[u] + 1;
+                    queue.add(v);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static WordGraph randomGraph(int size) {
+        Random random = new Random(7);
+        Set<String> vocabulary = new HashSet<>();
+        while (vocabulary.size() < size) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 3 + random.nextInt(3); i > 0; i--) {
+                word.append((char) ('A' + random.nextInt(4)));
+            }
+            vocabulary.add(word.toString());
+        }
+        return WordGraph.of(vocabulary.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,45 @@
+package com.wordmaps.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphSnapshotTest {
+
+    private final WordGraph graph = WordGraph.of("CAT", "COT", "COG", "DOG", "CARE", "CART", "ZZZ");
+
+    @Test
+    void testRoundTripThroughMappedFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("graph.bin");
+        GraphSnapshot.write(graph, 42L, file);
+
+        WordGraph loaded = GraphSnapshot.map(file, 42L);
+        assertEquals(graph.vertexCount(), loaded.vertexCount());
+        assertEquals(graph.edgeCount(), loaded.edgeCount());
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            assertEquals(graph.word(id), loaded.word(id));
+            assertEquals(id, loaded.id(graph.word(id)));
+            assertEquals(graph.neighbors(graph.word(id)), loaded.neighbors(graph.word(id)));
+        }
+    }
+
+    @Test
+    void testStaleSnapshotIsRejected() {
+        ByteBuffer image = GraphSnapshot.encode(graph, 42L);
+        GraphSnapshot.InvalidSnapshotException e = assertThrows(GraphSnapshot.InvalidSnapshotException.class,
+                () -> GraphSnapshot.decode(image, 43L));
+        assertTrue(e.getMessage().contains("stale"));
+    }
+
+    @Test
+    void testCorruptPayloadIsRejected() {
+        ByteBuffer image = GraphSnapshot.encode(graph, 42L);
+        int last = image.limit() - 1;
+        image.put(last, (byte) (image.get(last) ^ 0x7F));
+        assertThrows(GraphSnapshot.InvalidSnapshotException.class, () -> GraphSnapshot.decode(image, 42L));
+    }
+}
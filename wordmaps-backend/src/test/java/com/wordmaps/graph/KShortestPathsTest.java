@@ -0,0 +1,87 @@
+package com.wordmaps.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KShortestPathsTest {
+
+    private final WordGraph graph = WordGraph.of(
+            "CAT", "COT", "COG", "DOG", "CAG", "DAG", "DOT", "CUT", "GUT", "GOT", "ZZZ");
+
+    @Test
+    void testMatchesExhaustiveEnumeration() {
+        int source = graph.id("CAT");
+        int target = graph.id("DOG");
+        List<Integer> expected = allSimplePathLengths(source, target);
+
+        List<int[]> paths = KShortestPaths.find(graph, source, target, 100, SearchContext.unbounded());
+
+        assertEquals(expected.size(), paths.size());
+        Set<List<Integer>> distinct = new HashSet<>();
+        for (int i = 0; i < paths.size(); i++) {
+            int[] path = paths.get(i);
+            assertEquals(expected.get(i), path.length);
+            assertEquals(source, path[0]);
+            assertEquals(target, path[path.length - 1]);
+            List<Integer> ids = new ArrayList<>();
+            for (int j = 0; j < path.length; j++) {
+                ids.add(path[j]);
+                if (j > 0) {
+                    assertTrue(graph.containsEdge(path[j - 1], path[j]));
+                }
+            }
+            assertEquals(path.length, new HashSet<>(ids).size(), "ladder must not revisit a word");
+            assertTrue(distinct.add(ids), "ladders must be distinct");
+        }
+    }
+
+    @Test
+    void testReturnsAtMostK() {
+        List<int[]> paths = KShortestPaths.find(graph, graph.id("CAT"), graph.id("DOG"), 2, SearchContext.unbounded());
+        assertEquals(2, paths.size());
+        assertEquals(4, paths.get(0).length);
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        assertTrue(KShortestPaths.find(graph, graph.id("CAT"), graph.id("ZZZ"), 3, SearchContext.unbounded()).isEmpty());
+    }
+
+    @Test
+    void testStopsWhenBudgetIsExhausted() {
+        SearchContext context = SearchContext.of(12, 0);
+        List<int[]> paths = KShortestPaths.find(graph, graph.id("CAT"), graph.id("DOG"), 100, context);
+
+        assertTrue(context.exceeded());
+        assertEquals(13, context.expanded());
+        assertTrue(paths.size() < allSimplePathLengths(graph.id("CAT"), graph.id("DOG")).size());
+    }
+
+    private List<Integer> allSimplePathLengths(int source, int target) {
+        List<Integer> lengths = new ArrayList<>();
+        collect(source, target, new boolean[graph.vertexCount()], 1, lengths);
+        lengths.sort(null);
+        return lengths;
+    }
+
+    private void collect(int u, int target, boolean[] onPath, int length, List<Integer> lengths) {
+        if (u == target) {
+            lengths.add(length);
+            return;
+        }
+        onPath[u] = true;
+        for (int i = graph.neighborsStart(u); i < graph.neighborsEnd(u); i++) {
+            int v = graph.neighborAt(i);
+            if (!onPath[v]) {
+                collect(v, target, onPath, length + 1, lengths);
+            }
+        }
+        onPath[u] = false;
+    }
+}
@@ -0,0 +1,177 @@
+package com.wordmaps.graph;
+
+import org.jgrapht.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordGraphTest {
+
+    private final WordGraph graph = WordGraph.of("DOG", "CAT", "COT", "COG", "CART", "CARE", "ZZZ");
+
+    @Test
+    void testVocabularyIsSortedByLengthThenAlphabetically() {
+        assertEquals(7, graph.vertexCount());
+        assertEquals(List.of("CAT", "COG", "COT", "DOG", "ZZZ", "CARE", "CART"),
+                graph.words(0, graph.vertexCount()));
+        assertEquals(0, graph.firstIdOfLength(3));
+        assertEquals(5, graph.endIdOfLength(3));
+        assertEquals(5, graph.firstIdOfLength(4));
+        assertEquals(7, graph.endIdOfLength(4));
+        assertEquals(4, graph.maxWordLength());
+    }
+
+    @Test
+    void testWordLookup() {
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            assertEquals(id, graph.id(graph.word(id)));
+        }
+        assertEquals(-1, graph.id("CAR"));
+        assertEquals(-1, graph.id("cat"));
+        assertFalse(graph.contains("XYZ123"));
+    }
+
+    @Test
+    void testAdjacency() {
+        assertEquals(4, graph.edgeCount()); // CAT-COT, COT-COG, COG-DOG, CARE-CART
+        assertEquals(3, graph.edgeCount(3));
+        assertEquals(1, graph.edgeCount(4));
+        assertTrue(graph.containsEdge("CAT", "COT"));
+        assertTrue(graph.containsEdge("COT", "CAT"));
+        assertFalse(graph.containsEdge("CAT", "DOG"));
+        assertEquals(List.of("CAT", "COG"), graph.neighbors("COT"));
+        assertEquals(0, graph.degree(graph.id("ZZZ")));
+    }
+
+    @Test
+    void testComponentIndex() {
+        ComponentIndex components = graph.components();
+        assertEquals(3, components.count()); // {CAT, COT, COG, DOG}, {CARE, CART}, {ZZZ}
+        assertEquals(4, components.largestSize());
+        assertArrayEquals(new int[] { 4, 2 }, components.largestSizes(2));
+        assertTrue(components.connected(graph.id("CAT"), graph.id("DOG")));
+        assertFalse(components.connected(graph.id("CAT"), graph.id("ZZZ")));
+        assertEquals(1, components.componentSizeOf(graph.id("ZZZ")));
+    }
+
+    @Test
+    void testCommunitiesSplitDenseClusters() {
+        // Two cliques of five joined through COT, and an isolated word
+        WordGraph clusters = WordGraph.of("BAT", "CAT", "HAT", "MAT", "RAT", "COT", "COG", "DOG", "FOG", "HOG",
+                "LOG", "ZZZ");
+        CommunityIndex communities = clusters.communities();
+        assertSame(communities, clusters.communities());
+
+        int cat = communities.communityOf(clusters.id("CAT"));
+        int dog = communities.communityOf(clusters.id("DOG"));
+        assertNotEquals(cat, dog);
+        for (String word : List.of("BAT", "HAT", "MAT", "RAT")) {
+            assertEquals(cat, communities.communityOf(clusters.id(word)), word);
+        }
+        for (String word : List.of("FOG", "HOG", "LOG")) {
+            assertEquals(dog, communities.communityOf(clusters.id(word)), word);
+        }
+        assertEquals(1, communities.size(communities.communityOf(clusters.id("ZZZ"))));
+
+        int total = 0;
+        for (int c = 0; c < communities.count(); c++) {
+            if (c > 0) {
+                assertTrue(communities.size(c - 1) >= communities.size(c), "Communities are ordered by size");
+            }
+            for (int i = communities.membersStart(c); i < communities.membersEnd(c); i++) {
+                assertEquals(c, communities.communityOf(communities.memberAt(i)));
+            }
+            total += communities.size(c);
+        }
+        assertEquals(clusters.vertexCount(), total);
+    }
+
+    @Test
+    void testCommunitiesDoNotDependOnThreads() {
+        WordGraph clusters = WordGraph.of("BAT", "CAT", "HAT", "MAT", "RAT", "COT", "COG", "DOG", "FOG", "HOG");
+        CommunityIndex serial = CommunityIndex.of(clusters, null);
+        CommunityIndex parallel = CommunityIndex.of(clusters, new ForkJoinPool(3));
+        assertEquals(serial.rounds(), parallel.rounds());
+        for (int id = 0; id < clusters.vertexCount(); id++) {
+            assertEquals(serial.communityOf(id), parallel.communityOf(id));
+        }
+    }
+
+    @Test
+    void testEditGraphLinksInsertionsAndDeletions() {
+        WordGraph edits = graph.editGraph();
+        assertSame(edits, graph.editGraph());
+        assertSame(edits, edits.editGraph());
+        assertEquals(graph.words(0, graph.vertexCount()), edits.words(0, edits.vertexCount()));
+        assertTrue(edits.containsEdge("CAT", "COT"));
+        assertTrue(edits.containsEdge("CAT", "CART"));
+        assertFalse(edits.containsEdge("CARE", "CAT"));
+        assertEquals(5, edits.edgeCount()); // substitutions plus CAT-CART
+        assertTrue(edits.components().connected(edits.id("DOG"), edits.id("CARE")));
+        assertNotEquals(graph.version(), edits.version());
+    }
+
+    @Test
+    void testEditGraphMatchesPairwiseEditDistance() {
+        // A three-letter alphabet gives plenty of repeated letters and one-edit pairs
+        Random random = new Random(42);
+        Set<String> vocabulary = new HashSet<>();
+        while (vocabulary.size() < 400) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 1 + random.nextInt(6); i > 0; i--) {
+                word.append((char) ('A' + random.nextInt(3)));
+            }
+            vocabulary.add(word.toString());
+        }
+        WordGraph edits = WordGraph.of(vocabulary.toArray(new String[0])).editGraph();
+
+        int expected = 0;
+        for (int u = 0; u < edits.vertexCount(); u++) {
+            for (int v = u + 1; v < edits.vertexCount(); v++) {
+                boolean adjacent = oneEditApart(edits.word(u), edits.word(v));
+                assertEquals(adjacent, edits.containsEdge(u, v), edits.word(u) + " - " + edits.word(v));
+                expected += adjacent ? 1 : 0;
+            }
+            for (int i = edits.neighborsStart(u) + 1; i < edits.neighborsEnd(u); i++) {
+                assertTrue(edits.neighborAt(i - 1) < edits.neighborAt(i), "Neighbours must be unique");
+            }
+        }
+        assertEquals(expected, edits.edgeCount());
+    }
+
+    private static boolean oneEditApart(String a, String b) {
+        if (a.length() == b.length()) {
+            int diff = 0;
+            for (int i = 0; i < a.length(); i++) {
+                diff += a.charAt(i) != b.charAt(i) ? 1 : 0;
+            }
+            return diff == 1;
+        }
+        String shorter = a.length() < b.length() ? a : b;
+        String longer = a.length() < b.length() ? b : a;
+        if (longer.length() != shorter.length() + 1)
+            return false;
+        for (int i = 0; i < longer.length(); i++) {
+            if ((longer.substring(0, i) + longer.substring(i + 1)).equals(shorter))
+                return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testJGraphTView() {
+        Graph<String, Long> view = graph.asGraph();
+        assertEquals(graph.vertexCount(), view.vertexSet().size());
+        assertEquals(graph.edgeCount(), view.edgeSet().size());
+        assertEquals(graph.edgeCount(), view.edgeSet().stream().distinct().count());
+        assertTrue(view.containsEdge("COG", "DOG"));
+        assertEquals(2, view.degreeOf("COT"));
+        assertThrows(UnsupportedOperationException.class, () -> view.addVertex("BAT"));
+    }
+}
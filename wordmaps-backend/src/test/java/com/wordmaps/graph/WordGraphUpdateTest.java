@@ -0,0 +1,81 @@
+package com.wordmaps.graph;
+
+import com.wordmaps.service.GraphService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordGraphUpdateTest {
+
+    @Test
+    void testMatchesFullRebuildOnRandomChanges() {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        WordGraph graph = graphService.getGraph();
+        Random random = new Random(20240701L);
+
+        for (int round = 0; round < 5; round++) {
+            Set<String> vocabulary = new HashSet<>(graph.words(0, graph.vertexCount()));
+            List<String> remove = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                remove.add(graph.word(random.nextInt(graph.vertexCount())));
+            }
+            List<String> add = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                // One-letter variants of existing words, so most of them get edges
+                char[] letters = graph.word(random.nextInt(graph.vertexCount())).toCharArray();
+                letters[random.nextInt(letters.length)] = (char) ('A' + random.nextInt(26));
+                add.add(new String(letters));
+            }
+            add.add("QUARTZ"); // a length the graph has no words of yet
+
+            WordGraphUpdate update = WordGraphUpdate.apply(graph, add, remove);
+            vocabulary.removeAll(remove);
+            int before = vocabulary.size();
+            for (String word : add) {
+                if (!remove.contains(word)) {
+                    vocabulary.add(word);
+                }
+            }
+            assertEquals(vocabulary.size() - before, update.added());
+
+            assertSameGraph(WordGraph.of(vocabulary.toArray(new String[0])), update.graph());
+            graph = update.graph();
+        }
+    }
+
+    @Test
+    void testAddAndRemove() {
+        WordGraph graph = WordGraph.of("CAT", "COT", "DOG");
+        WordGraphUpdate update = WordGraphUpdate.apply(graph, List.of("COG", "CAT", "ÑOG"), List.of("COT", "ZZZ"));
+        assertEquals(2, update.added());
+        assertEquals(1, update.removed());
+        assertEquals(List.of("CAT", "COG", "DOG", "ÑOG"), update.graph().words(0, update.graph().vertexCount()));
+        assertEquals(List.of("DOG", "ÑOG"), update.graph().neighbors("COG"));
+        assertTrue(update.graph().neighbors("CAT").isEmpty());
+        assertEquals(3, update.graph().edgeCount()); // COG-DOG, COG-ÑOG, DOG-ÑOG
+
+        // The source graph is untouched
+        assertEquals(List.of("CAT"), graph.neighbors("COT"));
+        assertSame(graph, WordGraphUpdate.apply(graph, List.of("CAT"), List.of("ZZZ")).graph());
+    }
+
+    private static void assertSameGraph(WordGraph expected, WordGraph actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        assertEquals(expected.maxWordLength(), actual.maxWordLength());
+        for (int id = 0; id < expected.vertexCount(); id++) {
+            String word = expected.word(id);
+            assertEquals(word, actual.word(id));
+            assertEquals(id, actual.id(word));
+            assertEquals(expected.neighbors(word), actual.neighbors(word), word);
+        }
+        assertEquals(expected.components().count(), actual.components().count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.wordmaps.service;
+
+import com.wordmaps.model.RouteBatchEntry;
+import com.wordmaps.model.RouteBatchRequest;
+import com.wordmaps.model.RouteBatchResponse;
+import com.wordmaps.model.RoutePair;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRouteServiceTest {
+
+    private static GraphService graphService;
+    private static RouteFinderService routeFinderService;
+    private static BatchRouteService batchRouteService;
+
+    @BeforeAll
+    static void setUp() {
+        graphService = new GraphService();
+        graphService.init();
+        routeFinderService = new RouteFinderService(graphService, new BidirectionalBfsStrategy());
+        batchRouteService = new BatchRouteService(routeFinderService, graphService, 4, 100, 5000);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        batchRouteService.shutdown();
+    }
+
+    @Test
+    void testSolvesGroupedAndSinglePairs() {
+        RouteBatchResponse response = batchRouteService.findRoutes(request(
+                pair("CAT", "DOG"), pair("cat", "COG"), pair("CAT", "WORD"), pair("COLD", "WARM"), pair("CAT", "QQQ")));
+
+        assertEquals(3, response.getSolved());
+        assertEquals(2, response.getFailed());
+        assertEquals(0, response.getTimedOut());
+        List<RouteBatchEntry> results = response.getResults();
+        assertEquals(RouteBatchEntry.SOLVED, results.get(0).getStatus());
+        assertEquals(routeFinderService.findFastestRoute("CAT", "DOG").getSteps(), results.get(0).getRoute().getSteps());
+        assertEquals("cat", results.get(1).getOrigin());
+        assertEquals(RouteBatchEntry.FAILED, results.get(2).getStatus());
+        assertEquals("Words must be of the same length.", results.get(2).getError());
+        assertEquals(RouteBatchEntry.SOLVED, results.get(3).getStatus());
+        assertEquals(RouteBatchEntry.FAILED, results.get(4).getStatus());
+    }
+
+    @Test
+    void testSearchesCancelledAtTheDeadlineAreTimedOut() {
+        List<RoutePair> pairs = new ArrayList<>();
+        for (String origin : List.of("COLD", "WARM", "HEAD", "TAIL", "LOVE", "HATE", "WORD", "GAME")) {
+            pairs.add(pair(origin, "SHIP"));
+        }
+        RouteBatchResponse response = batchRouteService.findRoutes(
+                RouteBatchRequest.builder().pairs(pairs).deadlineMillis(1L).build());
+
+        for (RouteBatchEntry entry : response.getResults()) {
+            assertNotEquals(RouteBatchEntry.FAILED, entry.getStatus(), entry.getOrigin() + ": " + entry.getError());
+            if (RouteBatchEntry.TIMED_OUT.equals(entry.getStatus())) {
+                assertEquals("Batch deadline exceeded.", entry.getError());
+            }
+        }
+        assertEquals(pairs.size(), response.getSolved() + response.getTimedOut());
+    }
+
+    @Test
+    void testRejectsOversizedBatch() {
+        List<RoutePair> pairs = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            pairs.add(pair("CAT", "DOG"));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> batchRouteService.findRoutes(RouteBatchRequest.builder().pairs(pairs).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchRouteService.findRoutes(RouteBatchRequest.builder().pairs(List.of()).build()));
+    }
+
+    private static RouteBatchRequest request(RoutePair... pairs) {
+        return RouteBatchRequest.builder().pairs(Arrays.asList(pairs)).build();
+    }
+
+    private static RoutePair pair(String origin, String destination) {
+        return RoutePair.builder().origin(origin).destination(destination).build();
+    }
+}
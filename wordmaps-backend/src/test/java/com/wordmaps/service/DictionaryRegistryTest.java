@@ -0,0 +1,110 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryRegistryTest {
+
+    @Test
+    void testSelectsNamedDictionaryPerThread(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("es.txt"), "CASA\nCAZA\nMASA\n");
+        DictionaryRegistry dictionaries = new DictionaryRegistry(dir.toString(), "en", 0,
+                DictionarySettings.bundled());
+        GraphService service = new GraphService(EdgeBuilder.BUCKET, "", 1, DictionarySettings.bundled(),
+                dictionaries);
+        service.init();
+
+        dictionaries.select("es");
+        try {
+            assertTrue(service.isDictionarySelected());
+            assertTrue(service.wordExists("casa"));
+            assertFalse(service.wordExists("CAT"));
+            assertEquals(List.of("CAZA", "MASA"), service.getNeighbors("CASA"));
+            // Work handed to another thread keeps the selection
+            WordGraph selected = service.getGraph();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertSame(selected, executor.submit(service.inCurrentDictionary(service::getGraph)).get());
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            dictionaries.clearSelection();
+        }
+        assertFalse(service.isDictionarySelected());
+        assertTrue(service.wordExists("CAT"));
+
+        dictionaries.select("EN");
+        assertFalse(service.isDictionarySelected());
+        assertThrows(IllegalArgumentException.class, () -> dictionaries.select("fr"));
+        assertThrows(IllegalArgumentException.class, () -> dictionaries.select("../es"));
+    }
+
+    @Test
+    void testConcurrentFirstRequestsBuildOnce(@TempDir Path dir) throws Exception {
+        Files.createDirectory(dir.resolve("kids"));
+        Files.writeString(dir.resolve("kids").resolve("words.txt"), "CAT\nCOT\nDOG\nDOT\n");
+        DictionaryRegistry dictionaries = new DictionaryRegistry(dir.toString(), "en", 0,
+                DictionarySettings.bundled());
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<WordGraph>> graphs = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                graphs.add(executor.submit(() -> {
+                    start.await();
+                    return dictionaries.get("kids");
+                }));
+            }
+            start.countDown();
+            for (Future<WordGraph> graph : graphs) {
+                assertSame(graphs.get(0).get(), graph.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1L, dictionaries.getStats().get("loads"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedOverBudget(@TempDir Path dir) throws IOException {
+        for (String name : List.of("a", "b", "c")) {
+            Files.writeString(dir.resolve(name + ".txt"), "CAT\nCOT\nCOG\nDOG\n");
+        }
+        long oneDictionary = new DictionaryRegistry(dir.toString(), "en", 0, DictionarySettings.bundled())
+                .get("a").bytesByLength().values().stream().mapToLong(Long::longValue).sum();
+        DictionaryRegistry dictionaries = new DictionaryRegistry(dir.toString(), "en", 2 * oneDictionary,
+                DictionarySettings.bundled());
+
+        WordGraph a = dictionaries.get("a");
+        dictionaries.get("b");
+        assertSame(a, dictionaries.get("a")); // a is now the most recently used
+        dictionaries.get("c");
+
+        Map<String, Object> stats = dictionaries.getStats();
+        assertEquals(1L, stats.get("evictions"));
+        assertEquals(2 * oneDictionary, stats.get("residentBytes"));
+        assertEquals(List.of("a", "c"), ((List<?>) stats.get("loaded")).stream()
+                .map(entry -> ((Map<?, ?>) entry).get("name"))
+                .toList());
+        assertNotNull(dictionaries.get("b"));
+        assertEquals(4L, dictionaries.getStats().get("loads")); // b was loaded again
+    }
+}
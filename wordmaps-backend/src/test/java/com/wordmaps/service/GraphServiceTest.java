@@ -1,9 +1,29 @@
 package com.wordmaps.service;
 
+import com.wordmaps.graph.EdgeBuilder;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.graph.WordGraphBuilder.OverBudget;
+import com.wordmaps.model.DictionaryUpdate;
+import com.wordmaps.strategy.BidirectionalBfsStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -12,10 +32,20 @@ class GraphServiceTest {
     @Autowired
     private GraphService graphService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void testGraphInitialization() {
         assertNotNull(graphService.getGraph());
-        assertFalse(graphService.getGraph().vertexSet().isEmpty(), "Graph should not be empty after init");
+        assertTrue(graphService.getGraph().vertexCount() > 0, "Graph should not be empty after init");
+    }
+
+    @Test
+    void testGraphMetricsArePublished() {
+        assertTrue(graphService.getInitNanos() > 0);
+        assertTrue(meterRegistry.get("wordmaps.graph.init").timeGauge().value() > 0);
+        assertEquals(graphService.getGraph().vertexCount(), meterRegistry.get("wordmaps.graph.vertices").gauge().value());
     }
 
     @Test
@@ -34,4 +64,159 @@ class GraphServiceTest {
         // No connection: CAT -> DOG (needs steps)
         assertFalse(graphService.getGraph().containsEdge("CAT", "DOG"));
     }
+
+    @Test
+    void testBucketAndPairwiseBuildersProduceSameEdges() {
+        GraphService bucket = new GraphService(EdgeBuilder.BUCKET);
+        bucket.init();
+        GraphService pairwise = new GraphService(EdgeBuilder.PAIRWISE);
+        pairwise.init();
+
+        Set<String> bucketEdges = edgeKeys(bucket.getGraph());
+        Set<String> pairwiseEdges = edgeKeys(pairwise.getGraph());
+        assertFalse(bucketEdges.isEmpty());
+        assertEquals(pairwiseEdges, bucketEdges);
+    }
+
+    private static Set<String> edgeKeys(WordGraph graph) {
+        return graph.asGraph().edgeSet().stream()
+                .map(e -> graph.asGraph().getEdgeSource(e) + "-" + graph.asGraph().getEdgeTarget(e))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testSnapshotMatchesWordListGraph() {
+        GraphService fromText = new GraphService(EdgeBuilder.BUCKET, "");
+        fromText.init();
+
+        assertEquals(fromText.getGraph().vertexCount(), graphService.getGraph().vertexCount());
+        assertEquals(edgeKeys(fromText.getGraph()), edgeKeys(graphService.getGraph()));
+    }
+
+    @Test
+    void testParallelBuildMatchesSingleThreaded() {
+        GraphService sequential = new GraphService(EdgeBuilder.BUCKET, "", 1);
+        sequential.init();
+        for (EdgeBuilder edgeBuilder : EdgeBuilder.values()) {
+            GraphService parallel = new GraphService(edgeBuilder, "", 4);
+            parallel.init();
+
+            WordGraph expected = sequential.getGraph();
+            WordGraph actual = parallel.getGraph();
+            assertEquals(expected.words(0, expected.vertexCount()), actual.words(0, actual.vertexCount()));
+            for (int id = 0; id < expected.vertexCount(); id++) {
+                assertEquals(expected.neighbors(expected.word(id)), actual.neighbors(actual.word(id)), edgeBuilder.name());
+            }
+        }
+    }
+
+    @Test
+    void testExternalDictionaryDirectory(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("short.txt"), "at\nit\nA\n");
+        Files.writeString(dir.resolve("long.txt"), "stationery\nstationary\nextraordinarily\nunquestionableness\n");
+        Files.writeString(dir.resolve("notes.md"), "ignored\n");
+
+        GraphService service = new GraphService(EdgeBuilder.BUCKET, GraphService.DEFAULT_SNAPSHOT, 1,
+                new DictionarySettings(dir.toString(), 2, 15, 0, OverBudget.TRIM));
+        service.init();
+        WordGraph graph = service.getGraph();
+
+        // "A" and the 18-letter word are outside 2..15; the .md file is not a word list
+        assertEquals(5, graph.vertexCount());
+        assertTrue(graph.containsEdge("AT", "IT"));
+        assertTrue(graph.containsEdge("STATIONERY", "STATIONARY"));
+        assertTrue(graph.contains("EXTRAORDINARILY"));
+        assertFalse(graph.contains("IGNORED"));
+        assertEquals(Set.of(2, 10, 15), graph.bytesByLength().keySet());
+    }
+
+    @Test
+    void testMemoryBudgetTrimsOrRefusesLengths(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.writeString(file, "CAT\nCOT\nDOG\nCARE\nCART\nCORE\nSTATIONERY\nSTATIONARY\n");
+        GraphService unlimited = new GraphService(EdgeBuilder.BUCKET, "", 1,
+                new DictionarySettings(file.toString(), 2, 15, 0, OverBudget.TRIM));
+        unlimited.init();
+        Map<Integer, Long> bytes = unlimited.getGraph().bytesByLength();
+        assertEquals(Set.of(3, 4, 10), bytes.keySet());
+        assertTrue(bytes.values().stream().allMatch(b -> b > 0));
+
+        // Room for the two shorter lengths only: the longest one is dropped
+        long budget = 2 * (bytes.get(3) + bytes.get(4));
+        GraphService trimmed = new GraphService(EdgeBuilder.BUCKET, "", 1,
+                new DictionarySettings(file.toString(), 2, 15, budget, OverBudget.TRIM));
+        trimmed.init();
+        assertEquals(6, trimmed.getGraph().vertexCount());
+        assertFalse(trimmed.getGraph().contains("STATIONERY"));
+        assertTrue(trimmed.getGraph().containsEdge("CARE", "CORE"));
+        assertTrue(trimmed.getGraph().bytesByLength().values().stream().mapToLong(Long::longValue).sum() <= budget);
+
+        GraphService refused = new GraphService(EdgeBuilder.BUCKET, "", 1,
+                new DictionarySettings(file.toString(), 2, 15, budget, OverBudget.REFUSE));
+        assertThrows(IllegalStateException.class, refused::init);
+    }
+
+    @Test
+    void testIndexedPatternSearchMatchesRegexScan() {
+        for (String pattern : new String[] { "C?T", "?A?", "??", "S???S", "?????", "Q?Z", "CAT" }) {
+            for (int offset : new int[] { 0, 7, 50 }) {
+                assertEquals(
+                        graphService.findWordsByPattern(pattern, offset, GraphService.SearchMode.REGEX),
+                        graphService.findWordsByPattern(pattern, offset, GraphService.SearchMode.INDEX),
+                        pattern + " @" + offset);
+            }
+        }
+    }
+
+    @Test
+    void testPatternSearchPaging() {
+        List<String> firstPage = graphService.findWordsByPattern("?????", 0, GraphService.SearchMode.INDEX);
+        List<String> secondPage = graphService.findWordsByPattern("?????", 50, GraphService.SearchMode.INDEX);
+        assertEquals(GraphService.MAX_PATTERN_RESULTS, firstPage.size());
+        assertEquals(GraphService.MAX_PATTERN_RESULTS, secondPage.size());
+        assertTrue(firstPage.get(49).compareTo(secondPage.get(0)) < 0);
+        assertTrue(graphService.findWordsByPattern("c?t").contains("CAT"));
+        assertThrows(IllegalArgumentException.class, () -> graphService.findWordsByPattern("C.*"));
+    }
+
+    @Test
+    void testDictionaryUpdatesSwapSnapshotsUnderLoad() throws Exception {
+        GraphService service = new GraphService();
+        service.init();
+        RouteFinderService routeFinderService = new RouteFinderService(service, new BidirectionalBfsStrategy());
+        WordGraph original = service.getGraph();
+
+        assertEquals(0, service.addWords(List.of("cot", "Cat")).getAdded());
+        DictionaryUpdate added = service.addWords(List.of("zzq", "zzr", "z3z", ""));
+        assertEquals(2, added.getAdded());
+        assertEquals(2, added.getRejected());
+        assertTrue(service.getGraph().containsEdge("ZZQ", "ZZR"));
+        assertFalse(original.contains("ZZQ")); // earlier snapshots are never modified
+        int edges = service.getGraph().edgeCount();
+
+        // Readers keep routing while a word on the route is removed and re-added
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(readers.submit(() -> {
+                int found = 0;
+                while (running.get()) {
+                    if (routeFinderService.findFastestRoute("CAT", "DOG") != null)
+                        found++;
+                }
+                return found;
+            }));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1, service.removeWords(List.of("COG")).getRemoved());
+            assertEquals(1, service.addWords(List.of("COG")).getAdded());
+        }
+        running.set(false);
+        for (Future<Integer> result : results) {
+            assertTrue(result.get() > 0); // any exception in a reader fails here
+        }
+        readers.shutdown();
+        assertEquals(edges, service.getGraph().edgeCount());
+    }
 }
@@ -0,0 +1,48 @@
+package com.wordmaps.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteAdmissionLimiterTest {
+
+    @Test
+    void testRejectsBeyondConcurrencyAndCounts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RouteAdmissionLimiter limiter = new RouteAdmissionLimiter(2, 0, new RouteMetrics(registry));
+
+        RouteAdmissionLimiter.Permit first = limiter.acquire("fastest");
+        try (RouteAdmissionLimiter.Permit second = limiter.acquire("fastest")) {
+            assertEquals(2, limiter.getStats().get("inFlight"));
+            assertThrows(AdmissionRejectedException.class, () -> limiter.acquire("batch"));
+        }
+        first.close();
+        first.close(); // releasing twice must not add a slot
+
+        assertEquals(0, limiter.getStats().get("inFlight"));
+        assertEquals(1.0, registry.find("wordmaps.route.rejected").tag("endpoint", "batch").counter().count());
+        try (RouteAdmissionLimiter.Permit again = limiter.acquire("fastest")) {
+            assertEquals(1, limiter.getStats().get("inFlight"));
+        }
+    }
+
+    @Test
+    void testQueuedRequestWaitsForSlot() throws Exception {
+        RouteAdmissionLimiter limiter = new RouteAdmissionLimiter(1, 5_000, new RouteMetrics(new SimpleMeterRegistry()));
+        RouteAdmissionLimiter.Permit held = limiter.acquire("fastest");
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            held.close();
+        });
+        releaser.start();
+        try (RouteAdmissionLimiter.Permit permit = limiter.acquire("fastest")) {
+            assertEquals(1, limiter.getStats().get("inFlight"));
+        }
+        releaser.join();
+    }
+}
@@ -1,10 +1,12 @@
 package com.wordmaps.service;
 
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.WordGraph;
 import com.wordmaps.model.Route;
+import com.wordmaps.strategy.BFSStrategy;
 import com.wordmaps.strategy.PathFindingStrategy;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -17,6 +19,9 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class RouteFinderServiceTest {
@@ -28,13 +33,13 @@ class RouteFinderServiceTest {
     private PathFindingStrategy bfsStrategy;
 
     private RouteFinderService routeFinderService;
-    private Graph<String, DefaultEdge> mockGraph;
+    private WordGraph mockGraph;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         routeFinderService = new RouteFinderService(graphService, bfsStrategy);
-        mockGraph = new SimpleGraph<>(DefaultEdge.class);
+        mockGraph = WordGraph.of("CAT", "COT", "COG", "DOG", "ZZZ");
     }
 
     @Test
@@ -45,7 +50,7 @@ class RouteFinderServiceTest {
         when(graphService.getGraph()).thenReturn(mockGraph);
 
         List<String> path = Arrays.asList("CAT", "COT", "COG", "DOG");
-        when(bfsStrategy.findPath(any(), eq("CAT"), eq("DOG"))).thenReturn(path);
+        when(bfsStrategy.findPath(any(), eq("CAT"), eq("DOG"), any())).thenReturn(path);
 
         // Execute
         Route route = routeFinderService.findFastestRoute("CAT", "DOG");
@@ -77,14 +82,95 @@ class RouteFinderServiceTest {
         assertThrows(IllegalArgumentException.class, () -> routeFinderService.findFastestRoute("CAT", "WORD"));
     }
 
+    @Test
+    void testFindFastestRoute_EditModeCrossesLengths() {
+        RouteFinderService service = new RouteFinderService(graphService, new BFSStrategy());
+        when(graphService.wordExists(any())).thenReturn(true);
+        when(graphService.getGraph()).thenReturn(WordGraph.of("AT", "CAT", "COT", "CART", "CARD"));
+
+        Route route = service.findFastestRoute("AT", "CARD", GraphService.LadderMode.EDIT);
+
+        assertEquals(Arrays.asList("AT", "CAT", "CART", "CARD"), route.getPath());
+        assertEquals("Insert 'C' at position 1", route.getTransformations().get(0).getDescription());
+        assertEquals("Insert 'R' at position 3", route.getTransformations().get(1).getDescription());
+        assertEquals("Change 'T' -> 'D' at position 4", route.getTransformations().get(2).getDescription());
+        assertThrows(IllegalArgumentException.class, () -> service.findFastestRoute("AT", "CARD"));
+    }
+
     @Test
     void testFindFastestRoute_NoPath() {
         when(graphService.wordExists("CAT")).thenReturn(true);
         when(graphService.wordExists("DOG")).thenReturn(true);
         when(graphService.getGraph()).thenReturn(mockGraph);
-        when(bfsStrategy.findPath(any(), any(), any())).thenReturn(null);
+        when(bfsStrategy.findPath(any(), any(), any(), any())).thenReturn(null);
 
         Route route = routeFinderService.findFastestRoute("CAT", "DOG");
         assertNull(route);
     }
+
+    @Test
+    void testFindFastestRoute_DifferentComponentsSkipsSearch() {
+        when(graphService.wordExists("CAT")).thenReturn(true);
+        when(graphService.wordExists("ZZZ")).thenReturn(true);
+        when(graphService.getGraph()).thenReturn(mockGraph);
+
+        assertNull(routeFinderService.findFastestRoute("CAT", "ZZZ"));
+        verify(bfsStrategy, never()).findPath(any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindFastestRoute_RepeatedOriginUsesShortestPathTree() {
+        when(graphService.wordExists(any())).thenReturn(true);
+        when(graphService.getGraph()).thenReturn(mockGraph);
+        when(bfsStrategy.findPath(any(), eq("CAT"), eq("DOG"), any())).thenReturn(Arrays.asList("CAT", "COT", "COG", "DOG"));
+
+        routeFinderService.findFastestRoute("CAT", "DOG");
+        Route second = routeFinderService.findFastestRoute("CAT", "COG");
+        Route third = routeFinderService.findFastestRoute("CAT", "DOG");
+
+        assertEquals(Arrays.asList("CAT", "COT", "COG"), second.getPath());
+        assertEquals(3, third.getSteps());
+        verify(bfsStrategy, times(1)).findPath(any(), any(), any(), any());
+        assertEquals(1L, routeFinderService.getCacheStats().get("hits"));
+    }
+
+    @Test
+    void testFindFastestRoute_RecordsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RouteFinderService service = new RouteFinderService(graphService, new BFSStrategy(),
+                new ShortestPathTreeCache(0, 2), new RouteMetrics(registry));
+        when(graphService.wordExists(any())).thenReturn(true);
+        when(graphService.getGraph()).thenReturn(mockGraph);
+
+        service.findFastestRoute("CAT", "DOG");
+        service.findFastestRoute("CAT", "ZZZ");
+
+        Timer found = registry.find("wordmaps.route.latency")
+                .tags("strategy", "BFSStrategy", "found", "true").timer();
+        assertNotNull(found);
+        assertEquals(1, found.count());
+        assertEquals(1, registry.find("wordmaps.route.latency")
+                .tags("strategy", RouteMetrics.COMPONENT_INDEX, "found", "false").timer().count());
+        assertEquals(3.0, registry.find("wordmaps.route.path.length")
+                .tag("strategy", "BFSStrategy").summary().totalAmount());
+        assertTrue(registry.find("wordmaps.route.expanded.nodes")
+                .tag("strategy", "BFSStrategy").summary().totalAmount() >= 4);
+        assertTrue(registry.find("wordmaps.route.frontier.peak")
+                .tag("strategy", "BFSStrategy").summary().max() >= 1);
+    }
+
+    @Test
+    void testFindFastestRoute_BudgetExceeded() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RouteFinderService service = new RouteFinderService(graphService, new BFSStrategy(),
+                new ShortestPathTreeCache(0, 2), new RouteMetrics(registry), 2, 0);
+        when(graphService.wordExists(any())).thenReturn(true);
+        when(graphService.getGraph()).thenReturn(mockGraph);
+
+        assertThrows(SearchBudgetExceededException.class, () -> service.findFastestRoute("CAT", "DOG"));
+        assertEquals(1.0, registry.find("wordmaps.route.budget.exceeded")
+                .tag("strategy", "BFSStrategy").counter().count());
+        assertEquals(1, registry.find("wordmaps.route.latency")
+                .tags("strategy", "BFSStrategy", "found", "false").timer().count());
+    }
 }
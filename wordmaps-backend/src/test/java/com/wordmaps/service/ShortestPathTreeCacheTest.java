@@ -0,0 +1,74 @@
+package com.wordmaps.service;
+
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.ShortestPathTree;
+import com.wordmaps.graph.WordGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathTreeCacheTest {
+
+    private final WordGraph graph = WordGraph.of("CAT", "COT", "COG", "DOG", "ZZZ");
+
+    @Test
+    void testTreeIsBuiltOnRepeatedOriginAndThenHit() {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(1024 * 1024, 2);
+        int cat = graph.id("CAT");
+
+        assertNull(cache.get(graph, cat, SearchContext.unbounded()), "first request should not build a tree");
+        ShortestPathTree tree = cache.get(graph, cat, SearchContext.unbounded());
+        assertNotNull(tree);
+        assertSame(tree, cache.get(graph, cat, SearchContext.unbounded()));
+
+        assertEquals(List.of("CAT", "COT", "COG", "DOG"), tree.pathTo(graph, graph.id("DOG")));
+        assertNull(tree.pathTo(graph, graph.id("ZZZ")));
+        assertEquals(1L, cache.getStats().get("hits"));
+        assertEquals(2L, cache.getStats().get("misses"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedOverBudget() {
+        long treeBytes = ShortestPathTree.build(graph, 0, SearchContext.unbounded()).sizeInBytes();
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(2 * treeBytes, 1);
+        int cat = graph.id("CAT");
+        int cot = graph.id("COT");
+        int dog = graph.id("DOG");
+
+        cache.get(graph, cat, SearchContext.unbounded());
+        cache.get(graph, cot, SearchContext.unbounded());
+        cache.get(graph, cat, SearchContext.unbounded()); // CAT is now most recently used
+        cache.get(graph, dog, SearchContext.unbounded()); // evicts COT
+
+        assertEquals(1L, cache.getStats().get("evictions"));
+        assertEquals(2, cache.getStats().get("entries"));
+        cache.get(graph, cat, SearchContext.unbounded());
+        assertEquals(2L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void testResetsWhenGraphChanges() {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(1024 * 1024, 1);
+        cache.get(graph, 0, SearchContext.unbounded());
+        assertEquals(1, cache.getStats().get("entries"));
+
+        WordGraph other = WordGraph.of("CAT", "COT");
+        cache.get(other, 0, SearchContext.unbounded());
+        assertEquals(1, cache.getStats().get("entries"));
+        assertEquals(0L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void testBuildStopsAtItsBudgetAndCachesNothing() {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(1024 * 1024, 1);
+        int cat = graph.id("CAT");
+
+        assertThrows(SearchBudgetExceededException.class, () -> cache.get(graph, cat, SearchContext.of(2, 0)));
+        assertEquals(0, cache.getStats().get("entries"));
+        assertEquals(0L, cache.getStats().get("builds"));
+        assertNotNull(cache.get(graph, cat, SearchContext.unbounded()));
+    }
+}
@@ -0,0 +1,143 @@
+package com.wordmaps.strategy;
+
+import com.wordmaps.graph.LandmarkIndex;
+import com.wordmaps.graph.SearchBudgetExceededException;
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AStarStrategyTest {
+
+    private static WordGraph graph;
+
+    private final AStarStrategy hamming = new AStarStrategy();
+    private final AltStrategy alt = new AltStrategy();
+    private final BFSStrategy bfs = new BFSStrategy();
+
+    @BeforeAll
+    static void loadGraph() {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        graph = graphService.getGraph();
+    }
+
+    @Test
+    void testMatchesBfsPathLengthsOnRandomPairs() {
+        Random random = new Random(20240202L);
+        LandmarkIndex landmarks = graph.landmarks();
+        for (int i = 0; i < 1000; i++) {
+            int length = 3 + random.nextInt(3);
+            int from = graph.firstIdOfLength(length);
+            int size = graph.endIdOfLength(length) - from;
+            String origin = graph.word(from + random.nextInt(size));
+            String destination = graph.word(from + random.nextInt(size));
+
+            List<String> expected = bfs.findPath(graph, origin, destination);
+            for (AStarStrategy strategy : List.of(hamming, alt)) {
+                List<String> actual = strategy.findPath(graph, origin, destination);
+                if (expected == null) {
+                    assertNull(actual, origin + " -> " + destination);
+                    continue;
+                }
+                assertNotNull(actual, origin + " -> " + destination);
+                assertEquals(expected.size(), actual.size(), origin + " -> " + destination);
+                assertEquals(origin, actual.get(0));
+                assertEquals(destination, actual.get(actual.size() - 1));
+                for (int j = 0; j + 1 < actual.size(); j++) {
+                    assertTrue(graph.containsEdge(actual.get(j), actual.get(j + 1)), actual.toString());
+                }
+            }
+            if (expected != null) {
+                assertTrue(landmarks.lowerBound(graph.id(origin), graph.id(destination)) <= expected.size() - 1,
+                        "landmark bound must not overestimate " + origin + " -> " + destination);
+            }
+        }
+    }
+
+    @Test
+    void testFindsShortestLaddersOnTheEditGraph() {
+        WordGraph edits = graph.editGraph();
+        Random random = new Random(20240303L);
+        int from = edits.firstIdOfLength(3);
+        int size = edits.endIdOfLength(5) - from;
+        int reachable = 0;
+        for (int i = 0; i < 300; i++) {
+            String origin = edits.word(from + random.nextInt(size));
+            String destination = edits.word(from + random.nextInt(size));
+            List<String> expected = bfs.findPath(edits, origin, destination);
+            for (AStarStrategy strategy : List.of(hamming, alt)) {
+                List<String> actual = strategy.findPath(edits, origin, destination);
+                assertEquals(expected == null ? null : expected.size(), actual == null ? null : actual.size(),
+                        origin + " -> " + destination);
+            }
+            if (expected != null) {
+                reachable++;
+            }
+        }
+        assertTrue(reachable > 0, "Corpus should contain reachable pairs");
+        // Same length, yet two steps apart: a Hamming bound of 4 would overestimate
+        WordGraph shifted = WordGraph.of("ABCD", "BCD", "BCDE").editGraph();
+        assertEquals(List.of("ABCD", "BCD", "BCDE"), hamming.findPath(shifted, "ABCD", "BCDE"));
+    }
+
+    @Test
+    void testExpandsFewerNodesThanBfsOnLongLadders() {
+        Random random = new Random(7L);
+        int from = graph.firstIdOfLength(5);
+        int size = graph.endIdOfLength(5) - from;
+        long bfsExpanded = 0;
+        long hammingExpanded = 0;
+        long altExpanded = 0;
+        int ladders = 0;
+        while (ladders < 50) {
+            String origin = graph.word(from + random.nextInt(size));
+            String destination = graph.word(from + random.nextInt(size));
+            SearchContext bfsContext = SearchContext.unbounded();
+            List<String> path = bfs.findPath(graph, origin, destination, bfsContext);
+            if (path == null || path.size() < 7)
+                continue;
+            SearchContext hammingContext = SearchContext.unbounded();
+            SearchContext altContext = SearchContext.unbounded();
+            hamming.findPath(graph, origin, destination, hammingContext);
+            alt.findPath(graph, origin, destination, altContext);
+            bfsExpanded += bfsContext.expanded();
+            hammingExpanded += hammingContext.expanded();
+            altExpanded += altContext.expanded();
+            ladders++;
+        }
+        assertTrue(hammingExpanded < bfsExpanded, hammingExpanded + " vs " + bfsExpanded);
+        assertTrue(altExpanded <= hammingExpanded, altExpanded + " vs " + hammingExpanded);
+    }
+
+    @Test
+    void testSameWordUnknownWordsAndNoPath() {
+        assertEquals(List.of("CAT"), hamming.findPath(graph, "CAT", "CAT"));
+        assertNull(hamming.findPath(graph, "CAT", "QQQ"));
+        WordGraph small = WordGraph.of("CAT", "COT", "ZZZ");
+        assertNull(alt.findPath(small, "CAT", "ZZZ"));
+        assertEquals(List.of("CAT", "COT"), alt.findPath(small, "CAT", "COT"));
+    }
+
+    @Test
+    void testStopsWhenBudgetIsExhausted() {
+        SearchContext context = SearchContext.of(3, 0);
+        assertThrows(SearchBudgetExceededException.class, () -> hamming.findPath(graph, "COLD", "WARM", context));
+        assertTrue(context.exceeded());
+    }
+
+    @Test
+    void testDijkstraReturnsNullWithoutPath() {
+        WordGraph small = WordGraph.of("CAT", "COT", "ZZZ");
+        DijkstraStrategy dijkstra = new DijkstraStrategy();
+        assertNull(dijkstra.findPath(small, "CAT", "ZZZ"));
+        assertNull(dijkstra.findPath(small, "CAT", "QQQ"));
+        assertEquals(List.of("CAT", "COT"), dijkstra.findPath(small, "CAT", "COT"));
+    }
+}
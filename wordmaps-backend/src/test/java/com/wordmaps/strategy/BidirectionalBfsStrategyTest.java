@@ -0,0 +1,104 @@
+package com.wordmaps.strategy;
+
+import com.wordmaps.graph.SearchContext;
+import com.wordmaps.graph.ShortestPathTree;
+import com.wordmaps.graph.WordGraph;
+import com.wordmaps.service.GraphService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidirectionalBfsStrategyTest {
+
+    private static WordGraph graph;
+
+    private final BidirectionalBfsStrategy bidirectional = new BidirectionalBfsStrategy();
+    private final BFSStrategy bfs = new BFSStrategy();
+
+    @BeforeAll
+    static void loadGraph() {
+        GraphService graphService = new GraphService();
+        graphService.init();
+        graph = graphService.getGraph();
+    }
+
+    @Test
+    void testMatchesBfsPathLengthsOnRandomPairs() {
+        Random random = new Random(20240101L);
+        int reachable = 0;
+        for (int i = 0; i < 2000; i++) {
+            int length = 3 + random.nextInt(3);
+            int from = graph.firstIdOfLength(length);
+            int size = graph.endIdOfLength(length) - from;
+            String origin = graph.word(from + random.nextInt(size));
+            String destination = graph.word(from + random.nextInt(size));
+
+            List<String> expected = bfs.findPath(graph, origin, destination);
+            List<String> actual = bidirectional.findPath(graph, origin, destination);
+            if (expected == null) {
+                assertNull(actual, origin + " -> " + destination);
+                continue;
+            }
+            reachable++;
+            assertNotNull(actual, origin + " -> " + destination);
+            assertEquals(expected.size(), actual.size(), origin + " -> " + destination);
+            assertValidLadder(actual, origin, destination);
+        }
+        assertTrue(reachable > 0, "Corpus should contain reachable pairs");
+    }
+
+    @Test
+    void testPicksTheSameLadderAsTheShortestPathTree() {
+        Random random = new Random(20240202L);
+        int compared = 0;
+        for (int i = 0; i < 200; i++) {
+            int length = 3 + random.nextInt(3);
+            int from = graph.firstIdOfLength(length);
+            int size = graph.endIdOfLength(length) - from;
+            int origin = from + random.nextInt(size);
+            ShortestPathTree tree = ShortestPathTree.build(graph, origin, SearchContext.unbounded());
+            for (int j = 0; j < 10; j++) {
+                int destination = from + random.nextInt(size);
+                List<String> expected = tree.pathTo(graph, destination);
+                assertEquals(expected, bidirectional.findPath(graph, graph.word(origin), graph.word(destination)));
+                if (expected != null) {
+                    compared++;
+                }
+            }
+        }
+        assertTrue(compared > 0, "Corpus should contain reachable pairs");
+    }
+
+    @Test
+    void testKnownRoute() {
+        List<String> path = bidirectional.findPath(graph, "CAT", "DOG");
+        assertNotNull(path);
+        assertEquals(4, path.size());
+        assertValidLadder(path, "CAT", "DOG");
+    }
+
+    @Test
+    void testSameWordAndUnknownWords() {
+        assertEquals(List.of("CAT"), bidirectional.findPath(graph, "CAT", "CAT"));
+        assertNull(bidirectional.findPath(graph, "CAT", "QQQ"));
+    }
+
+    @Test
+    void testNoPathOnSmallGraph() {
+        WordGraph small = WordGraph.of("CAT", "COT", "ZZZ");
+        assertNull(bidirectional.findPath(small, "CAT", "ZZZ"));
+        assertEquals(List.of("CAT", "COT"), bidirectional.findPath(small, "CAT", "COT"));
+    }
+
+    private static void assertValidLadder(List<String> path, String origin, String destination) {
+        assertEquals(origin, path.get(0));
+        assertEquals(destination, path.get(path.size() - 1));
+        for (int i = 0; i + 1 < path.size(); i++) {
+            assertTrue(graph.containsEdge(path.get(i), path.get(i + 1)), path.toString());
+        }
+    }
+}